@@ -0,0 +1,87 @@
+package com.example.walletservice.admission;
+
+import com.example.walletservice.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decide a admissão das requisições da API de carteiras: primeiro o bucket do owner, depois o
+ * limite global de concorrência. Cada decisão é contada em
+ * {@code wallet.admission.decisions{limiter, decision}}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControl {
+
+    private final OwnerRateLimiter ownerRateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.ownerRateLimiter = new OwnerRateLimiter(properties.getOwnerRate(), properties.getOwnerBurst(), properties.getOwnerStripes());
+        this.concurrencyLimiter = new ConcurrencyLimiter(
+                properties.getInitialConcurrency(),
+                properties.getMinConcurrency(),
+                properties.getMaxConcurrency(),
+                properties.getLatencyTarget().toNanos(),
+                properties.getBackoffRatio());
+        Gauge.builder("wallet.admission.concurrency.limit", concurrencyLimiter, ConcurrencyLimiter::getLimit)
+                .description("Limite atual de requisições simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("wallet.admission.concurrency.inflight", concurrencyLimiter, ConcurrencyLimiter::getInFlight)
+                .description("Requisições em andamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consome a cota do owner
+     * @param ownerId ID do proprietário
+     * @throws RateLimitExceededException se o owner excedeu sua taxa
+     */
+    public void admitOwner(String ownerId) {
+        long waitNanos = ownerRateLimiter.tryAcquire(ownerId);
+        if (waitNanos > 0) {
+            record("owner", "rejected");
+            throw new RateLimitExceededException("Limite de requisições excedido para o usuário: " + ownerId,
+                    toRetryAfterSeconds(waitNanos));
+        }
+        record("owner", "accepted");
+    }
+
+    /**
+     * Ocupa uma vaga no limite global
+     * @throws RateLimitExceededException se o serviço já está no limite de concorrência
+     */
+    public void acquireGlobal() {
+        if (!concurrencyLimiter.tryAcquire()) {
+            record("global", "rejected");
+            throw new RateLimitExceededException("Serviço sobrecarregado, tente novamente",
+                    toRetryAfterSeconds(properties.getGlobalRetryAfter().toNanos()));
+        }
+        record("global", "accepted");
+    }
+
+    /**
+     * Libera a vaga ocupada por {@link #acquireGlobal()}
+     * @param latencyNanos Duração da requisição
+     * @param failed true se a requisição terminou em erro do servidor
+     */
+    public void releaseGlobal(long latencyNanos, boolean failed) {
+        concurrencyLimiter.release(latencyNanos, failed);
+    }
+
+    private void record(String limiter, String decision) {
+        meterRegistry.counter("wallet.admission.decisions", "limiter", limiter, "decision", decision).increment();
+    }
+
+    private long toRetryAfterSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+}
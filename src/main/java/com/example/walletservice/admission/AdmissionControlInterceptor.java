@@ -0,0 +1,52 @@
+package com.example.walletservice.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Aplica o controle de admissão antes do controller. O owner vem da variável de caminho
+ * {@code ownerId} ou do parâmetro de mesmo nome; transferências pelo corpo são tratadas em
+ * {@link TransferAdmissionAdvice}.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".startedAt";
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String ownerId = resolveOwnerId(request);
+        if (ownerId != null) {
+            admissionControl.admitOwner(ownerId);
+        }
+        admissionControl.acquireGlobal();
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT_ATTRIBUTE);
+        if (startedAt instanceof Long started) {
+            request.removeAttribute(STARTED_AT_ATTRIBUTE);
+            admissionControl.releaseGlobal(System.nanoTime() - started, response.getStatus() >= 500);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String resolveOwnerId(HttpServletRequest request) {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null && pathVariables.get("ownerId") != null) {
+            return pathVariables.get("ownerId");
+        }
+        return request.getParameter("ownerId");
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.walletservice.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do controle de admissão da API de carteiras.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.admission")
+public class AdmissionProperties {
+
+    /** Habilita o controle de admissão em {@code /api/wallets}. */
+    private boolean enabled = true;
+
+    /** Requisições por segundo sustentadas por ownerId. */
+    private double ownerRate = 50;
+
+    /** Rajada máxima aceita por ownerId acima da taxa sustentada. */
+    private int ownerBurst = 100;
+
+    /**
+     * Quantidade de buckets (potência de dois). Owners que colidem no mesmo bucket dividem a
+     * cota, o que limita a memória independentemente da quantidade de owners.
+     */
+    private int ownerStripes = 65536;
+
+    /** Limite inicial de requisições simultâneas. */
+    private int initialConcurrency = 20;
+
+    /** Limite mínimo de requisições simultâneas. */
+    private int minConcurrency = 4;
+
+    /** Limite máximo de requisições simultâneas. */
+    private int maxConcurrency = 200;
+
+    /** Latência acima da qual o limite de concorrência é reduzido. */
+    private Duration latencyTarget = Duration.ofMillis(250);
+
+    /** Fator de redução do limite a cada requisição lenta ou com falha. */
+    private double backoffRatio = 0.9;
+
+    /** Valor de {@code Retry-After} quando a recusa vem do limite global. */
+    private Duration globalRetryAfter = Duration.ofSeconds(1);
+}
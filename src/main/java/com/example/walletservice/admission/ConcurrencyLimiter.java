@@ -0,0 +1,75 @@
+package com.example.walletservice.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite global de requisições simultâneas com ajuste AIMD: cada requisição rápida aumenta o
+ * limite em 1/limite (cerca de +1 por "janela" completa), e cada requisição lenta ou com falha
+ * o multiplica pelo fator de recuo. O limite acompanha a capacidade real do banco, e o excesso
+ * é recusado antes que a fila de conexões faça a latência disparar.
+ */
+public class ConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private volatile double limit;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("O fator de recuo deve estar entre 0 e 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Tenta ocupar uma vaga
+     * @return true se a requisição foi admitida; nesse caso {@link #release} deve ser chamado
+     */
+    public boolean tryAcquire() {
+        int currentLimit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e ajusta o limite com a amostra da requisição
+     * @param latencyNanos Duração da requisição
+     * @param failed true se a requisição falhou por sobrecarga ou erro do servidor
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightBefore * 2 >= limit) {
+                // Só cresce quando o limite está sendo usado; ocioso, não há evidência de folga
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.walletservice.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por ownerId implementado como GCRA (generic cell rate algorithm): cada bucket
+ * guarda apenas o instante teórico da próxima chegada, atualizado por CAS. Os buckets ficam em
+ * um array de tamanho fixo indexado pelo hash do ownerId, sem locks e sem mapa que cresça com
+ * a quantidade de owners.
+ */
+public class OwnerRateLimiter {
+
+    private final AtomicLongArray theoreticalArrival;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    public OwnerRateLimiter(double ratePerSecond, int burst, int stripes, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Taxa e rajada devem ser positivas");
+        }
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("A quantidade de buckets deve ser potência de dois");
+        }
+        this.theoreticalArrival = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    public OwnerRateLimiter(double ratePerSecond, int burst, int stripes) {
+        this(ratePerSecond, burst, stripes, System::nanoTime);
+    }
+
+    /**
+     * Consome uma permissão do bucket do owner
+     * @param ownerId ID do proprietário
+     * @return 0 se a requisição foi admitida; caso contrário, nanossegundos até a próxima permissão
+     */
+    public long tryAcquire(String ownerId) {
+        int index = stripe(ownerId);
+        // Relógio deslocado para ser sempre positivo: 0 no array significa "bucket cheio"
+        long now = nanoClock.getAsLong() - origin + burstToleranceNanos;
+        while (true) {
+            long tat = theoreticalArrival.get(index);
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(index, tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private int stripe(String ownerId) {
+        int hash = ownerId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
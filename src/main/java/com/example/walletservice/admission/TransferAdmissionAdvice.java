@@ -0,0 +1,40 @@
+package com.example.walletservice.admission;
+
+import com.example.walletservice.dto.TransferDTO;
+import com.example.walletservice.controller.WalletController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Consome a cota do owner de origem em transferências cujo owner só aparece no corpo.
+ */
+@ControllerAdvice(assignableTypes = WalletController.class)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TransferAdmissionAdvice extends RequestBodyAdviceAdapter {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return TransferDTO.class.equals(targetType);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        String sourceOwnerId = ((TransferDTO) body).getSourceOwnerId();
+        if (sourceOwnerId != null) {
+            admissionControl.admitOwner(sourceOwnerId);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.walletservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do arquivamento do histórico de transações (tabela quente → arquivo frio).
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.archive")
+public class ArchiveProperties {
+
+    /** Habilita o arquivador agendado. */
+    private boolean enabled = false;
+
+    /** Expressão cron da execução agendada. */
+    private String cron = "0 30 3 * * *";
+
+    /** Janela mantida na tabela quente; transações mais antigas são arquivadas. */
+    private Duration hotRetention = Duration.ofDays(90);
+
+    /** Quantidade de transações movidas por lote (cada lote em sua própria transação). */
+    private int batchSize = 1000;
+
+    /** Limite de lotes por execução, para não monopolizar o banco em uma única janela. */
+    private int maxBatchesPerRun = 100;
+
+    /**
+     * Validade do limite do arquivo em cache por shard; depois dela o próximo acesso relê o
+     * limite, enxergando lotes arquivados por outras instâncias.
+     */
+    private Duration boundaryTtl = Duration.ofMinutes(1);
+}
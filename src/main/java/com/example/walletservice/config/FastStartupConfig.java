@@ -0,0 +1,26 @@
+package com.example.walletservice.config;
+
+import com.example.walletservice.controller.WalletController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Ajustes exclusivos do perfil {@code fast-startup}; o restante está em {@code application-fast-startup.yml}.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    /**
+     * Com a inicialização preguiçosa ligada, mantém o {@link WalletController} ansioso: ele arrasta
+     * serviços, repositórios, o EntityManagerFactory e o Flyway, e o primeiro depósito não paga a
+     * criação desse grafo. Endpoints de atuador, tarefas agendadas e beans de ciclo de vida
+     * continuam sendo criados no refresh pelo próprio Spring.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter depositPathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(WalletController.class);
+    }
+}
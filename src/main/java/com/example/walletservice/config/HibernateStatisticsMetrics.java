@@ -0,0 +1,61 @@
+package com.example.walletservice.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica as estatísticas do Hibernate como métricas {@code hibernate.*}. Só é registrado com
+ * {@code hibernate.generate_statistics=true}, já que a coleta tem custo por statement.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "hibernate.statements", "Prepared statements obtidos", Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.connections.obtained", "Conexões JDBC obtidas pelas sessões", Statistics::getConnectCount);
+        counter(registry, "hibernate.flushes", "Flushes de sessão", Statistics::getFlushCount);
+        counter(registry, "hibernate.query.executions", "Consultas HQL/SQL executadas", Statistics::getQueryExecutionCount);
+        counter(registry, "hibernate.entities.loads", "Entidades carregadas", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entidades buscadas individualmente (indício de N+1)", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.collections.fetches", "Coleções buscadas sob demanda", Statistics::getCollectionFetchCount);
+        counter(registry, "hibernate.optimistic.failures", "Falhas de lock otimista", Statistics::getOptimisticFailureCount);
+        counter(registry, "hibernate.transactions", "Transações concluídas", Statistics::getTransactionCount);
+
+        FunctionCounter.builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .description("Consultas com plano encontrado no cache")
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .description("Consultas que precisaram compilar o plano")
+                .register(registry);
+
+        Gauge.builder("hibernate.query.execution.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Maior tempo de execução de consulta observado")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> function) {
+        FunctionCounter.builder(name, statistics, function)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.walletservice.config;
+
+import com.example.walletservice.datasource.HikariPoolTuner;
+import com.example.walletservice.datasource.PoolTuningProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Ajustes exclusivos do perfil {@code production}; o restante está em {@code application-production.yml}.
+ */
+@Configuration
+@Profile("production")
+public class ProductionConfig {
+
+    /**
+     * Registrado como método estático e com as propriedades lidas direto do Environment,
+     * para que o post-processor não antecipe a criação de outros beans.
+     */
+    @Bean
+    public static HikariPoolTuner hikariPoolTuner(Environment environment) {
+        PoolTuningProperties properties = Binder.get(environment)
+                .bind("wallet.datasource.pool", PoolTuningProperties.class)
+                .orElseGet(PoolTuningProperties::new);
+        return new HikariPoolTuner(properties, Runtime.getRuntime().availableProcessors());
+    }
+}
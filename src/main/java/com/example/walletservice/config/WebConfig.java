@@ -0,0 +1,25 @@
+package com.example.walletservice.config;
+
+import com.example.walletservice.admission.AdmissionControl;
+import com.example.walletservice.admission.AdmissionControlInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Conexões SSE são longas e ficam fora do limite de concorrência
+        registry.addInterceptor(new AdmissionControlInterceptor(admissionControl))
+                .addPathPatterns("/api/wallets", "/api/wallets/**")
+                .excludePathPatterns("/api/wallets/*/stream");
+    }
+}
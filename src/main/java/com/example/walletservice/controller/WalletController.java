@@ -1,27 +1,46 @@
 package com.example.walletservice.controller;
 
+import com.example.walletservice.dto.BalanceLookupDTO;
 import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.TransactionPageDTO;
+import com.example.walletservice.dto.TransactionSearchCriteria;
+import com.example.walletservice.dto.TransactionSortOrder;
 import com.example.walletservice.dto.TransferDTO;
+import com.example.walletservice.dto.WalletBalancesDTO;
 import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.dto.WalletStatsDTO;
+import com.example.walletservice.entity.TransactionType;
 import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletBalanceService;
+import com.example.walletservice.service.WalletETag;
 import com.example.walletservice.service.WalletService;
+import com.example.walletservice.service.WalletStatsService;
+import com.example.walletservice.service.WalletStripeService;
+import com.example.walletservice.stream.WalletUpdateHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/wallets")
@@ -32,6 +51,10 @@ public class WalletController {
     
     private final WalletService walletService;
     private final TransactionService transactionService;
+    private final WalletUpdateHub walletUpdateHub;
+    private final WalletStatsService walletStatsService;
+    private final WalletBalanceService walletBalanceService;
+    private final WalletStripeService walletStripeService;
     
     @PostMapping
     @Operation(summary = "Criar uma nova carteira", description = "Cria uma nova carteira para um usuário")
@@ -41,10 +64,32 @@ public class WalletController {
     }
     
     @GetMapping("/{ownerId}")
-    @Operation(summary = "Obter saldo atual", description = "Obtém o saldo atual da carteira de um usuário")
-    public ResponseEntity<WalletDTO> getWallet(@PathVariable @NotBlank String ownerId) {
+    @Operation(summary = "Obter saldo atual", description = "Obtém o saldo atual da carteira de um usuário; com If-None-Match igual ao ETag atual responde 304 sem montar a carteira")
+    public ResponseEntity<WalletDTO> getWallet(
+            @PathVariable @NotBlank String ownerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = WalletETag.of(walletService.getWalletVersion(ownerId));
+            if (WalletETag.matches(ifNoneMatch, etag, false)) {
+                return notModified(etag);
+            }
+        }
         WalletDTO wallet = walletService.getWalletByOwnerId(ownerId);
-        return ResponseEntity.ok(wallet);
+        return withETag(WalletETag.of(wallet), wallet);
+    }
+    
+    @PostMapping("/balances")
+    @Operation(summary = "Obter saldos em lote", description = "Obtém os saldos de várias carteiras em uma requisição; com asOf, os saldos históricos naquele momento")
+    public ResponseEntity<WalletBalancesDTO> getBalances(@RequestBody @Valid BalanceLookupDTO request) {
+        WalletBalancesDTO balances = walletBalanceService.getBalances(request.getOwnerIds(), request.getAsOf());
+        return ResponseEntity.ok(balances);
+    }
+    
+    @GetMapping(value = "/{ownerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar saldo em tempo real", description = "Abre uma conexão SSE que envia o estado atual da carteira (evento 'wallet') e, a cada lançamento confirmado, o lançamento (evento 'transaction') e o novo saldo")
+    public SseEmitter streamWallet(@PathVariable @NotBlank String ownerId) {
+        WalletDTO wallet = walletService.getWalletByOwnerId(ownerId);
+        return walletUpdateHub.subscribe(ownerId, wallet);
     }
     
     @GetMapping("/{ownerId}/historical")
@@ -61,10 +106,11 @@ public class WalletController {
     public ResponseEntity<WalletDTO> deposit(
             @PathVariable @NotBlank String ownerId,
             @RequestParam @NotNull @DecimalMin("0.01") BigDecimal amount,
-            @RequestParam(required = false) String description) {
+            @RequestParam(required = false) String description,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        WalletDTO wallet = walletService.deposit(ownerId, amount, description);
-        return ResponseEntity.ok(wallet);
+        WalletDTO wallet = walletService.deposit(ownerId, amount, description, ifMatch);
+        return withETag(WalletETag.of(wallet), wallet);
     }
     
     @PostMapping("/{ownerId}/withdraw")
@@ -72,24 +118,28 @@ public class WalletController {
     public ResponseEntity<WalletDTO> withdraw(
             @PathVariable @NotBlank String ownerId,
             @RequestParam @NotNull @DecimalMin("0.01") BigDecimal amount,
-            @RequestParam(required = false) String description) {
+            @RequestParam(required = false) String description,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        WalletDTO wallet = walletService.withdraw(ownerId, amount, description);
-        return ResponseEntity.ok(wallet);
+        WalletDTO wallet = walletService.withdraw(ownerId, amount, description, ifMatch);
+        return withETag(WalletETag.of(wallet), wallet);
     }
     
     @PostMapping("/transfer")
     @Operation(summary = "Transferir fundos", description = "Transfere dinheiro entre carteiras de usuários")
-    public ResponseEntity<WalletDTO> transfer(@RequestBody @Valid TransferDTO transferDTO) {
-        WalletDTO sourceWallet = transactionService.transfer(transferDTO);
-        return ResponseEntity.ok(sourceWallet);
+    public ResponseEntity<WalletDTO> transfer(
+            @RequestBody @Valid TransferDTO transferDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        WalletDTO sourceWallet = transactionService.transfer(transferDTO, ifMatch);
+        return withETag(WalletETag.of(sourceWallet), sourceWallet);
     }
     
     @PostMapping("/{ownerId}/transfer")
     @Operation(summary = "Transferir fundos (endpoint alternativo)", description = "Transfere dinheiro entre carteiras de usuários")
     public ResponseEntity<WalletDTO> transferFromOwner(
             @PathVariable @NotBlank String ownerId,
-            @RequestBody @NotNull Map<String, Object> request) {
+            @RequestBody @NotNull Map<String, Object> request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
         // Validate required fields
         if (!request.containsKey("targetOwnerId") || !request.containsKey("amount")) {
@@ -121,14 +171,90 @@ public class WalletController {
                 .description(description)
                 .build();
         
-        WalletDTO sourceWallet = transactionService.transfer(transferDTO);
-        return ResponseEntity.ok(sourceWallet);
+        WalletDTO sourceWallet = transactionService.transfer(transferDTO, ifMatch);
+        return withETag(WalletETag.of(sourceWallet), sourceWallet);
     }
     
     @GetMapping("/{ownerId}/transactions")
     @Operation(summary = "Listar transações", description = "Lista todas as transações de uma carteira")
-    public ResponseEntity<List<TransactionDTO>> getTransactions(@PathVariable @NotBlank String ownerId) {
+    public ResponseEntity<List<TransactionDTO>> getTransactions(
+            @PathVariable @NotBlank String ownerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // O ETag é lido antes do histórico: uma escrita entre as duas leituras só gera um ETag antigo
+        String etag = WalletETag.of(walletService.getWalletVersion(ownerId));
+        if (WalletETag.matches(ifNoneMatch, etag, false)) {
+            return notModified(etag);
+        }
         List<TransactionDTO> transactions = transactionService.getTransactionsByOwnerId(ownerId);
-        return ResponseEntity.ok(transactions);
+        return withETag(etag, transactions);
+    }
+    
+    @GetMapping("/{ownerId}/transactions/search")
+    @Operation(summary = "Buscar transações", description = "Busca transações por faixa de valor absoluto, tipos, carteira contraparte, trecho da descrição e período (from inclusivo, to exclusivo), com paginação por cursor")
+    public ResponseEntity<TransactionPageDTO> searchTransactions(
+            @PathVariable @NotBlank String ownerId,
+            @RequestParam(required = false) @DecimalMin("0.00") BigDecimal minAmount,
+            @RequestParam(required = false) @DecimalMin("0.00") BigDecimal maxAmount,
+            @RequestParam(name = "type", required = false) Set<TransactionType> types,
+            @RequestParam(required = false) Long relatedWalletId,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NEWEST_FIRST") TransactionSortOrder sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        String etag = WalletETag.of(walletService.getWalletVersion(ownerId));
+        if (WalletETag.matches(ifNoneMatch, etag, false)) {
+            return notModified(etag);
+        }
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .types(types)
+                .relatedWalletId(relatedWalletId)
+                .descriptionContains(description)
+                .from(from)
+                .to(to)
+                .sort(sort)
+                .build();
+        TransactionPageDTO page = transactionService.searchTransactions(ownerId, criteria, cursor, limit);
+        return withETag(etag, page);
+    }
+    
+    @GetMapping("/{ownerId}/stats")
+    @Operation(summary = "Estatísticas diárias", description = "Entradas, saídas e quantidade de transações por dia e tipo em um intervalo de datas (inclusivo), servidas pelos totais diários agregados")
+    public ResponseEntity<WalletStatsDTO> getDailyStats(
+            @PathVariable @NotBlank String ownerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        WalletStatsDTO stats = walletStatsService.getDailyStats(ownerId, from, to);
+        return ResponseEntity.ok(stats);
+    }
+    
+    @PutMapping("/{ownerId}/stripes")
+    @Operation(summary = "Configurar faixas de crédito", description = "Ativa o modo listrado para carteiras que recebem muitas transferências: os créditos passam a ser distribuídos entre 'count' sub-saldos, e débitos e consultas de saldo somam as faixas")
+    public ResponseEntity<WalletDTO> configureStripes(
+            @PathVariable @NotBlank String ownerId,
+            @RequestParam @Min(1) @Max(64) int count) {
+        WalletDTO wallet = walletStripeService.configureStripes(ownerId, count);
+        return ResponseEntity.ok(wallet);
+    }
+    
+    /**
+     * O ETag é a versão da carteira: qualquer lançamento que a envolva muda a carteira e, com
+     * ela, o histórico. Carteiras servidas pelo motor em memória não têm versão nem ETag.
+     */
+    private static <T> ResponseEntity<T> withETag(String etag, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(body);
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
     }
 }
\ No newline at end of file
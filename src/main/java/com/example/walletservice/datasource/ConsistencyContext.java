@@ -0,0 +1,54 @@
+package com.example.walletservice.datasource;
+
+import java.time.Instant;
+
+/**
+ * Estado de consistência da requisição corrente, usado para garantir leitura das próprias
+ * escritas quando as consultas somente leitura são enviadas à réplica.
+ * <p>
+ * O token é o instante (epoch millis) do último commit conhecido pelo cliente: enquanto a
+ * réplica não tiver replicado até esse instante, as leituras continuam no primário.
+ */
+public final class ConsistencyContext {
+
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Instant> REQUIRED_TIMESTAMP = new ThreadLocal<>();
+    private static final ThreadLocal<Instant> LAST_COMMIT_TIMESTAMP = new ThreadLocal<>();
+
+    private ConsistencyContext() {
+    }
+
+    public static void require(Instant timestamp) {
+        REQUIRED_TIMESTAMP.set(timestamp);
+    }
+
+    public static Instant getRequiredTimestamp() {
+        return REQUIRED_TIMESTAMP.get();
+    }
+
+    public static void recordCommit(Instant timestamp) {
+        LAST_COMMIT_TIMESTAMP.set(timestamp);
+    }
+
+    /**
+     * Token a devolver ao cliente: o commit mais recente entre o exigido e o realizado
+     * @return Instante do token, ou nulo se a requisição não envolveu escritas nem token
+     */
+    public static Instant currentToken() {
+        Instant required = REQUIRED_TIMESTAMP.get();
+        Instant committed = LAST_COMMIT_TIMESTAMP.get();
+        if (required == null) {
+            return committed;
+        }
+        if (committed == null) {
+            return required;
+        }
+        return committed.isAfter(required) ? committed : required;
+    }
+
+    public static void clear() {
+        REQUIRED_TIMESTAMP.remove();
+        LAST_COMMIT_TIMESTAMP.remove();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.walletservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Lê o token de consistência enviado pelo cliente e o disponibiliza para o roteamento da requisição.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.datasource.replica", name = "enabled", havingValue = "true")
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(ConsistencyContext.TOKEN_HEADER);
+        if (token != null && !token.isBlank()) {
+            try {
+                ConsistencyContext.require(Instant.ofEpochMilli(Long.parseLong(token.trim())));
+            } catch (NumberFormatException e) {
+                // Token inválido é ignorado: a leitura segue a tolerância de atraso configurada
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConsistencyContext.clear();
+        }
+    }
+}
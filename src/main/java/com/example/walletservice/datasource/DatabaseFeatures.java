@@ -0,0 +1,29 @@
+package com.example.walletservice.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recursos SQL específicos do banco em uso, detectados pelo dialeto do Hibernate. Permite que
+ * os jobs usem caminhos otimizados do PostgreSQL mantendo a versão portável para o H2.
+ */
+@Component
+public class DatabaseFeatures {
+
+    private final boolean postgres;
+
+    public DatabaseFeatures(EntityManagerFactory entityManagerFactory) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.postgres = dialect instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Indica suporte a {@code DELETE ... RETURNING} em CTE combinado com {@code FOR UPDATE SKIP LOCKED}
+     */
+    public boolean supportsSkipLockedMove() {
+        return postgres;
+    }
+}
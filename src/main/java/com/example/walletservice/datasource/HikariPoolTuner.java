@@ -0,0 +1,72 @@
+package com.example.walletservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Ajusta cada pool Hikari antes do primeiro uso: tamanho fixo derivado dos núcleos
+ * ({@code núcleos * 2 + discos}) e cache de prepared statements conforme o driver.
+ * Tamanhos de pool e propriedades de driver já configurados explicitamente não são
+ * sobrescritos. Os pools dos shards não são beans e são ajustados pelo {@code ShardingConfig}.
+ */
+@Slf4j
+public class HikariPoolTuner implements BeanPostProcessor {
+
+    private final PoolTuningProperties properties;
+    private final int availableProcessors;
+
+    public HikariPoolTuner(PoolTuningProperties properties, int availableProcessors) {
+        this.properties = properties;
+        this.availableProcessors = availableProcessors;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            tune(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Aplica o ajuste a um pool ainda não iniciado. O Hikari devolve -1 para tamanhos não
+     * configurados; só esses recebem o valor calculado.
+     */
+    public void tune(HikariDataSource dataSource) {
+        int poolSize = dataSource.getMaximumPoolSize();
+        if (poolSize <= 0) {
+            poolSize = properties.getMaximumPoolSize() > 0
+                    ? properties.getMaximumPoolSize()
+                    : availableProcessors * 2 + properties.getEffectiveSpindleCount();
+            dataSource.setMaximumPoolSize(poolSize);
+        }
+        if (dataSource.getMinimumIdle() < 0) {
+            dataSource.setMinimumIdle(poolSize);
+        }
+
+        String url = dataSource.getJdbcUrl();
+        String cacheSize = String.valueOf(properties.getStatementCacheSize());
+        if (url == null) {
+            return;
+        }
+        if (url.startsWith("jdbc:postgresql:")) {
+            addIfAbsent(dataSource, "prepareThreshold", "1");
+            addIfAbsent(dataSource, "preparedStatementCacheQueries", cacheSize);
+        } else if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            addIfAbsent(dataSource, "cachePrepStmts", "true");
+            addIfAbsent(dataSource, "useServerPrepStmts", "true");
+            addIfAbsent(dataSource, "prepStmtCacheSize", cacheSize);
+            addIfAbsent(dataSource, "prepStmtCacheSqlLimit", "2048");
+        } else if (url.startsWith("jdbc:h2:") && !url.toUpperCase().contains("QUERY_CACHE_SIZE")) {
+            addIfAbsent(dataSource, "QUERY_CACHE_SIZE", cacheSize);
+        }
+        log.info("Pool {} ajustado: {} conexões, cache de {} statements", dataSource.getPoolName(), poolSize, cacheSize);
+    }
+
+    private void addIfAbsent(HikariDataSource dataSource, String name, String value) {
+        if (!dataSource.getDataSourceProperties().containsKey(name)) {
+            dataSource.addDataSourceProperty(name, value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.walletservice.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Dimensionamento dos pools Hikari aplicado pelo perfil {@code production}.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.datasource.pool")
+public class PoolTuningProperties {
+
+    /** Tamanho fixo do pool; 0 calcula a partir dos núcleos disponíveis. */
+    private int maximumPoolSize = 0;
+
+    /** Discos efetivos do servidor de banco, somados ao dobro dos núcleos no cálculo do pool. */
+    private int effectiveSpindleCount = 1;
+
+    /** Quantidade de prepared statements mantidos em cache por conexão, quando o driver suporta. */
+    private int statementCacheSize = 256;
+}
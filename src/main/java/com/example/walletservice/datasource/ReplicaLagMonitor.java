@@ -0,0 +1,71 @@
+package com.example.walletservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mede o atraso da réplica através de uma linha de heartbeat: o primário grava o instante
+ * atual em {@code replication_heartbeat} e a réplica é lida em seguida. O valor visto na
+ * réplica indica até que instante ela já aplicou os commits do primário.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    private volatile Instant replicatedUpTo;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+    }
+
+    /**
+     * Grava um novo heartbeat no primário e atualiza a posição observada na réplica
+     */
+    @Scheduled(fixedDelayString = "${wallet.datasource.replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(Instant.now()));
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar heartbeat de replicação no primário: {}", e.getMessage());
+        }
+        refresh();
+    }
+
+    /**
+     * Lê o último heartbeat aplicado na réplica; a réplica é considerada indisponível se a leitura falhar
+     */
+    public void refresh() {
+        try {
+            Timestamp beatAt = replica.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+            replicatedUpTo = beatAt != null ? beatAt.toInstant() : null;
+        } catch (DataAccessException e) {
+            replicatedUpTo = null;
+            log.debug("Réplica indisponível para leitura de heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return Instante até o qual a réplica aplicou os commits do primário, ou nulo se indisponível
+     */
+    public Instant getReplicatedUpTo() {
+        return replicatedUpTo;
+    }
+
+    /**
+     * @return Atraso atual da réplica em segundos, ou NaN se indisponível
+     */
+    public double getLagSeconds() {
+        Instant upTo = replicatedUpTo;
+        return upTo == null ? Double.NaN : Duration.between(upTo, Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.walletservice.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da réplica de leitura. O pool do primário continua vindo de {@code spring.datasource}.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.datasource.replica")
+public class ReplicaProperties {
+
+    /** Habilita o roteamento de transações somente leitura para a réplica. */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    /** Atraso máximo tolerado antes que as leituras voltem para o primário. */
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    /** Intervalo entre heartbeats de replicação, em milissegundos. */
+    private long heartbeatIntervalMs = 1000;
+}
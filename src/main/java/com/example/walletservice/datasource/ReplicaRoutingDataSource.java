@@ -0,0 +1,79 @@
+package com.example.walletservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Encaminha conexões de transações {@code readOnly} para a réplica e as demais para o primário.
+ * <p>
+ * Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * para que a conexão física só seja obtida depois que a transação já foi marcada como somente leitura.
+ * A réplica só é usada quando seu atraso está dentro da tolerância configurada e quando ela já
+ * replicou o token de consistência enviado pelo cliente.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Duration maxStaleness;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    Duration maxStaleness, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.maxStaleness = maxStaleness;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackCommit();
+            return route(PRIMARY, "read_write");
+        }
+
+        Instant replicatedUpTo = lagMonitor.getReplicatedUpTo();
+        if (replicatedUpTo == null) {
+            return route(PRIMARY, "replica_unavailable");
+        }
+        if (replicatedUpTo.isBefore(Instant.now().minus(maxStaleness))) {
+            return route(PRIMARY, "replica_stale");
+        }
+        Instant required = ConsistencyContext.getRequiredTimestamp();
+        if (required != null && replicatedUpTo.isBefore(required)) {
+            return route(PRIMARY, "read_your_writes");
+        }
+        return route(REPLICA, "read_only");
+    }
+
+    private String route(String pool, String reason) {
+        meterRegistry.counter("wallet.datasource.routing", "pool", pool, "reason", reason).increment();
+        return pool;
+    }
+
+    /**
+     * Registra o instante do commit para que a resposta carregue o token de consistência
+     */
+    private void trackCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ConsistencyContext.recordCommit(Instant.now());
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.walletservice.deadline;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recusa operações do {@code WalletService} cujo prazo venceu antes de começarem, sem abrir
+ * transação nem obter conexão. Durante a operação o prazo vale pelos statements e pelo commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineAspect {
+
+    private final DeadlineMetrics deadlineMetrics;
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.*(..))")
+    public Object checkDeadline(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (RequestDeadline.isExpired()) {
+            throw deadlineMetrics.exceeded(DeadlinePhase.QUEUE);
+        }
+        return joinPoint.proceed();
+    }
+}
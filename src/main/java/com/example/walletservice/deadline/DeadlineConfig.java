@@ -0,0 +1,32 @@
+package com.example.walletservice.deadline;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "wallet.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    /**
+     * Envolve o {@code dataSource} usado pelo JPA com o {@link DeadlineDataSource}. Só o bean
+     * principal é envolvido: os pools por trás dele (shards, réplica) são alcançados por ele. As
+     * métricas são resolvidas só no primeiro prazo vencido, para não antecipar o registro.
+     */
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor(ObjectProvider<DeadlineMetrics> deadlineMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return DeadlineDataSource.wrap(dataSource, deadlineMetrics::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.walletservice.deadline;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Envolve um {@link DataSource} para que cada statement criado em uma requisição com prazo
+ * receba como {@code queryTimeout} o tempo restante, arredondado para cima em segundos. Vale
+ * para consultas JPA, nativas, flush e JDBC, e também limita esperas por lock. Com o prazo
+ * vencido o statement nem é criado: a {@link SQLTimeoutException} vira
+ * {@code QueryTimeoutException} e a transação é desfeita.
+ */
+public final class DeadlineDataSource {
+
+    /** Estado SQL de statement cancelado por timeout (H2, PostgreSQL) */
+    private static final String QUERY_CANCELED = "57014";
+
+    private DeadlineDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target, Supplier<DeadlineMetrics> deadlineMetrics) {
+        List<Class<?>> interfaces = new ArrayList<>(List.of(DataSource.class));
+        if (target instanceof Closeable) {
+            interfaces.add(Closeable.class);
+        }
+        return (DataSource) Proxy.newProxyInstance(
+                DeadlineDataSource.class.getClassLoader(),
+                interfaces.toArray(Class<?>[]::new),
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? wrapConnection(connection, deadlineMetrics) : result;
+                });
+    }
+
+    private static Connection wrapConnection(Connection target, Supplier<DeadlineMetrics> deadlineMetrics) {
+        return (Connection) Proxy.newProxyInstance(
+                DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    boolean createsStatement = Statement.class.isAssignableFrom(method.getReturnType());
+                    long remaining = RequestDeadline.remainingNanos();
+                    if (createsStatement && remaining <= 0) {
+                        deadlineMetrics.get().record(DeadlinePhase.STATEMENT);
+                        throw new SQLTimeoutException("Prazo da requisição esgotado antes do statement", QUERY_CANCELED);
+                    }
+                    Object result = invoke(target, method, args);
+                    if (!createsStatement || remaining == Long.MAX_VALUE) {
+                        return result;
+                    }
+                    Statement statement = (Statement) result;
+                    statement.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L)));
+                    return wrapStatement(statement, deadlineMetrics);
+                });
+    }
+
+    /**
+     * Conta os statements cancelados pelo driver no timeout; o comportamento não muda
+     */
+    private static Statement wrapStatement(Statement target, Supplier<DeadlineMetrics> deadlineMetrics) {
+        Class<?>[] interfaces = target instanceof CallableStatement
+                ? new Class<?>[]{CallableStatement.class}
+                : target instanceof PreparedStatement
+                ? new Class<?>[]{PreparedStatement.class}
+                : new Class<?>[]{Statement.class};
+        return (Statement) Proxy.newProxyInstance(
+                DeadlineDataSource.class.getClassLoader(),
+                interfaces,
+                (proxy, method, args) -> {
+                    try {
+                        return invoke(target, method, args);
+                    } catch (SQLException e) {
+                        if (method.getName().startsWith("execute")
+                                && (e instanceof SQLTimeoutException || QUERY_CANCELED.equals(e.getSQLState()))) {
+                            deadlineMetrics.get().record(DeadlinePhase.STATEMENT);
+                        }
+                        throw e;
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
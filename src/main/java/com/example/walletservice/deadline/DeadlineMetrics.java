@@ -0,0 +1,43 @@
+package com.example.walletservice.deadline;
+
+import com.example.walletservice.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Conta os prazos vencidos em {@code wallet.deadline.exceeded{phase}}. Muitos em {@code queue}
+ * indicam espera antes do serviço; em {@code statement}, banco lento.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineMetrics {
+
+    private final Map<DeadlinePhase, Counter> counters = new EnumMap<>(DeadlinePhase.class);
+
+    public DeadlineMetrics(MeterRegistry meterRegistry) {
+        for (DeadlinePhase phase : DeadlinePhase.values()) {
+            counters.put(phase, Counter.builder("wallet.deadline.exceeded")
+                    .description("Requisições interrompidas por prazo vencido")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public void record(DeadlinePhase phase) {
+        counters.get(phase).increment();
+    }
+
+    /**
+     * Conta o prazo vencido e cria a exceção a lançar
+     */
+    public DeadlineExceededException exceeded(DeadlinePhase phase) {
+        record(phase);
+        return new DeadlineExceededException(phase);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.walletservice.deadline;
+
+/**
+ * Ponto em que o prazo de uma requisição foi constatado vencido.
+ */
+public enum DeadlinePhase {
+    /** Antes de a operação começar: a requisição esperou mais que o prazo para ser atendida. */
+    QUEUE,
+    /** Em um statement: recusado antes de ir ao banco ou cancelado pelo driver no timeout. */
+    STATEMENT,
+    /** Antes do commit: a transação é desfeita em vez de confirmar uma resposta que ninguém lerá. */
+    COMMIT
+}
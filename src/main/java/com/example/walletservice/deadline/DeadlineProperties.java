@@ -0,0 +1,34 @@
+package com.example.walletservice.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração dos prazos das requisições da API de carteiras.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.deadline")
+public class DeadlineProperties {
+
+    /** Aplica prazos às requisições em {@code /api/wallets}. */
+    private boolean enabled = true;
+
+    /** Cabeçalho com o tempo que o cliente ainda espera (ms ou duração, como {@code 1500} ou {@code 2s}). */
+    private String header = RequestDeadline.TIMEOUT_HEADER;
+
+    /** Prazo das requisições sem cabeçalho e sem prazo próprio do endpoint. */
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    /** Limite do prazo pedido pelo cliente. */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Prazo padrão por padrão de caminho (ex.: {@code "[/api/wallets/}&#42;{@code /transactions/search]": 10s}),
+     * usado no lugar de {@code default-timeout}; o primeiro padrão que casar vence.
+     */
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
@@ -0,0 +1,38 @@
+package com.example.walletservice.deadline;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Confere o prazo antes do commit das transações de escrita abertas em uma requisição com
+ * prazo: vencido, a exceção lançada no {@code beforeCommit} faz o gerenciador desfazer a
+ * transação. O Spring Boot registra este listener no gerenciador de transações.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineTransactionListener implements TransactionExecutionListener {
+
+    private final DeadlineMetrics deadlineMetrics;
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || transaction.isReadOnly() || !RequestDeadline.isSet()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (RequestDeadline.isExpired()) {
+                    throw deadlineMetrics.exceeded(DeadlinePhase.COMMIT);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.walletservice.deadline;
+
+import java.time.Duration;
+
+/**
+ * Prazo da requisição corrente, em {@link System#nanoTime()}. Fora de requisições da API não há
+ * prazo e nada é limitado; depois do prazo o cliente já desistiu, então o trabalho restante é
+ * recusado em vez de ocupar uma conexão.
+ */
+public final class RequestDeadline {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(Duration timeout) {
+        DEADLINE.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static boolean isSet() {
+        return DEADLINE.get() != null;
+    }
+
+    /**
+     * Tempo restante até o prazo
+     * @return Nanossegundos restantes (zero ou negativo se vencido), ou {@link Long#MAX_VALUE} sem prazo
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    public static boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+}
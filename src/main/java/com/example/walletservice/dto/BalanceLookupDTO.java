@@ -0,0 +1,26 @@
+package com.example.walletservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceLookupDTO {
+
+    @NotEmpty(message = "Informe ao menos um ID de proprietário")
+    @Size(max = 1000, message = "No máximo 1000 IDs de proprietário por consulta")
+    private List<@NotBlank String> ownerIds;
+
+    /** Momento do saldo histórico; nulo para o saldo atual. */
+    private LocalDateTime asOf;
+}
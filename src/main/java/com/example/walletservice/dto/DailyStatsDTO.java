@@ -0,0 +1,24 @@
+package com.example.walletservice.dto;
+
+import com.example.walletservice.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatsDTO {
+
+    /** Dia dos totais; nulo nos totais do intervalo inteiro. */
+    private LocalDate date;
+    private TransactionType type;
+    private BigDecimal inflow;
+    private BigDecimal outflow;
+    private long count;
+}
@@ -11,6 +11,7 @@ public class ErrorResponse {
     private LocalDateTime timestamp;
     private int status;
     private String error;
+    private String code;
     private String message;
     private Map<String, String> errors;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.walletservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDTO {
+
+    private List<TransactionDTO> items;
+
+    /** Cursor da próxima página; nulo na última. */
+    private String nextCursor;
+}
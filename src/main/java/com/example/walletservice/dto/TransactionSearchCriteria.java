@@ -0,0 +1,44 @@
+package com.example.walletservice.dto;
+
+import com.example.walletservice.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filtros combináveis da busca de transações; campos nulos não filtram.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchCriteria {
+
+    /** Valor absoluto mínimo, inclusive (saques e transferências enviadas são gravados negativos). */
+    private BigDecimal minAmount;
+
+    /** Valor absoluto máximo, inclusive. */
+    private BigDecimal maxAmount;
+
+    private Set<TransactionType> types;
+
+    /** Carteira contraparte de transferências. */
+    private Long relatedWalletId;
+
+    /** Trecho da descrição, sem diferenciar maiúsculas. */
+    private String descriptionContains;
+
+    /** Início do período, inclusive. */
+    private LocalDateTime from;
+
+    /** Fim do período, exclusivo. */
+    private LocalDateTime to;
+
+    @Builder.Default
+    private TransactionSortOrder sort = TransactionSortOrder.NEWEST_FIRST;
+}
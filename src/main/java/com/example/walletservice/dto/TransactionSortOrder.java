@@ -0,0 +1,41 @@
+package com.example.walletservice.dto;
+
+import java.util.Comparator;
+
+/**
+ * Ordenações da busca de transações. Todas desempatam pelo ID, o que torna a ordem total e
+ * permite paginar por cursor (keyset).
+ */
+public enum TransactionSortOrder {
+    NEWEST_FIRST(false, true),
+    OLDEST_FIRST(false, false),
+    LARGEST_FIRST(true, true),
+    SMALLEST_FIRST(true, false);
+
+    private final boolean byAmount;
+    private final boolean descending;
+
+    TransactionSortOrder(boolean byAmount, boolean descending) {
+        this.byAmount = byAmount;
+        this.descending = descending;
+    }
+
+    public boolean isByAmount() {
+        return byAmount;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Ordem em memória equivalente à da consulta, para intercalar resultados de varreduras distintas
+     */
+    public Comparator<TransactionDTO> comparator() {
+        Comparator<TransactionDTO> comparator = byAmount
+                ? Comparator.comparing(TransactionDTO::getAmount)
+                : Comparator.comparing(TransactionDTO::getTimestamp);
+        comparator = comparator.thenComparing(TransactionDTO::getId);
+        return descending ? comparator.reversed() : comparator;
+    }
+}
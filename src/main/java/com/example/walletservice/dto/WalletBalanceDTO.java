@@ -0,0 +1,20 @@
+package com.example.walletservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletBalanceDTO {
+
+    private String ownerId;
+    private Long walletId;
+    private BigDecimal balance;
+    private Integer stripes;
+}
@@ -0,0 +1,24 @@
+package com.example.walletservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletBalancesDTO {
+
+    private LocalDateTime asOf;
+
+    /** Saldos na ordem em que os proprietários foram informados. */
+    private List<WalletBalanceDTO> balances;
+
+    /** Proprietários sem carteira. */
+    private List<String> notFound;
+}
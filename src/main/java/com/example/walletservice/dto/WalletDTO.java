@@ -19,4 +19,6 @@ public class WalletDTO {
     private BigDecimal balance;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Integer stripes;
+    private Long version;
 }
\ No newline at end of file
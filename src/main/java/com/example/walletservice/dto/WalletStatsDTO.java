@@ -0,0 +1,22 @@
+package com.example.walletservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletStatsDTO {
+
+    private String ownerId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<DailyStatsDTO> days;
+    private List<DailyStatsDTO> totals;
+}
@@ -0,0 +1,23 @@
+package com.example.walletservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Estado mínimo para validar uma representação da carteira: a versão da linha e, em carteiras
+ * listradas (cujos créditos não alteram a versão), o saldo total.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletVersionDTO {
+
+    private Long version;
+    private Integer stripes;
+    private BigDecimal balance;
+}
@@ -0,0 +1,130 @@
+package com.example.walletservice.engine;
+
+import java.io.IOException;
+
+/**
+ * Mapa de ID de carteira para saldo em centavos com endereçamento aberto (sondagem linear)
+ * sobre dois arrays de {@code long}: sem boxing nem objetos por entrada. IDs são sempre
+ * positivos, então zero marca uma posição livre. Não é thread-safe; pertence ao processador.
+ */
+final class BalanceMap {
+
+    private static final long FREE = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    BalanceMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 16) / LOAD_FACTOR)));
+    }
+
+    private BalanceMap(BalanceMap source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.mask = source.mask;
+        this.size = source.size;
+        this.resizeAt = source.resizeAt;
+    }
+
+    boolean containsKey(long key) {
+        return key > 0 && keys[slot(key)] == key;
+    }
+
+    /**
+     * @throws IllegalStateException se a carteira não estiver no mapa
+     */
+    long get(long key) {
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            throw new IllegalStateException("Carteira " + key + " não carregada no motor");
+        }
+        return values[slot];
+    }
+
+    void put(long key, long value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("ID de carteira inválido: " + key);
+        }
+        int slot = slot(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Cópia independente, usada para gravar o snapshot fora do processador
+     */
+    BalanceMap copy() {
+        return new BalanceMap(this);
+    }
+
+    void forEach(EntryConsumer consumer) throws IOException {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Posição da chave ou, se ausente, a posição livre onde ela entraria
+     */
+    private int slot(long key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * IDs sequenciais ficariam agrupados; o embaralhamento de Fibonacci os espalha pela tabela
+     */
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, long value) throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.walletservice.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer com vários produtores e um único consumidor, no estilo do Disruptor. Produtores
+ * reservam uma sequência com um incremento atômico, preenchem a posição e a publicam gravando a
+ * sequência em {@code published}; o consumidor processa o maior trecho contíguo publicado e só
+ * então libera as posições. Nenhum lock é usado e nenhuma posição é alocada após a criação.
+ */
+final class CommandRing {
+
+    private final LedgerCommand[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong released = new AtomicLong(-1);
+    private final AtomicLongArray published;
+
+    CommandRing(int requestedSize) {
+        int size = Integer.highestOneBit(Math.max(requestedSize - 1, 1)) << 1;
+        this.slots = new LedgerCommand[size];
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LedgerCommand();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Reserva a próxima sequência, aguardando enquanto o ring estiver cheio
+     */
+    long claim() {
+        long sequence = claimed.incrementAndGet();
+        while (sequence - released.get() > slots.length) {
+            LockSupport.parkNanos(1_000);
+        }
+        return sequence;
+    }
+
+    LedgerCommand slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Torna a posição visível ao consumidor; a escrita ordenada garante que os campos preenchidos
+     * antes dela também estejam visíveis
+     */
+    void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Maior sequência publicada de forma contígua a partir de {@code next}
+     * @return Última sequência disponível, ou {@code next - 1} se nenhuma estiver
+     */
+    long availableUpTo(long next, int maxBatch) {
+        long last = next - 1;
+        while (last - next + 1 < maxBatch && published.get((int) (last + 1) & mask) == last + 1) {
+            last++;
+        }
+        return last;
+    }
+
+    /**
+     * Devolve aos produtores as posições até a sequência informada
+     */
+    void release(long upTo) {
+        released.lazySet(upTo);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long remainingCapacity() {
+        return slots.length - (claimed.get() - released.get());
+    }
+}
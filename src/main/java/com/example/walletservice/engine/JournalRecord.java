@@ -0,0 +1,106 @@
+package com.example.walletservice.engine;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Registro do journal: o efeito de um comando aceito pelo processador, já com os saldos
+ * resultantes. Reaplicar os registros em ordem reconstrói o mapa de saldos de forma
+ * determinística, sem reavaliar regras de negócio; o mesmo registro alimenta o read model.
+ */
+@Value
+@Builder
+class JournalRecord {
+
+    enum Type {
+        /** Carteira carregada no motor com o saldo do banco em {@code amount}. */
+        OPEN,
+        DEPOSIT,
+        WITHDRAWAL,
+        TRANSFER
+    }
+
+    long sequence;
+    Type type;
+    long sourceWalletId;
+    String sourceOwnerId;
+    long targetWalletId;
+    String targetOwnerId;
+    /** Valor em centavos, sempre positivo. */
+    long amount;
+    long sourceBalance;
+    long targetBalance;
+    LocalDateTime timestamp;
+    String description;
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeByte(type.ordinal());
+        out.writeLong(sourceWalletId);
+        writeNullable(out, sourceOwnerId);
+        out.writeLong(targetWalletId);
+        writeNullable(out, targetOwnerId);
+        out.writeLong(amount);
+        out.writeLong(sourceBalance);
+        out.writeLong(targetBalance);
+        out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(timestamp.getNano());
+        writeNullable(out, description);
+    }
+
+    static JournalRecord readFrom(DataInput in) throws IOException {
+        return JournalRecord.builder()
+                .sequence(in.readLong())
+                .type(Type.values()[in.readByte()])
+                .sourceWalletId(in.readLong())
+                .sourceOwnerId(readNullable(in))
+                .targetWalletId(in.readLong())
+                .targetOwnerId(readNullable(in))
+                .amount(in.readLong())
+                .sourceBalance(in.readLong())
+                .targetBalance(in.readLong())
+                .timestamp(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC))
+                .description(readNullable(in))
+                .build();
+    }
+
+    /**
+     * Aplica o efeito do registro ao mapa de saldos
+     */
+    void applyTo(BalanceMap balances) {
+        switch (type) {
+            case OPEN -> {
+                if (!balances.containsKey(sourceWalletId)) {
+                    balances.put(sourceWalletId, amount);
+                }
+            }
+            case DEPOSIT, WITHDRAWAL -> balances.put(sourceWalletId, sourceBalance);
+            case TRANSFER -> {
+                balances.put(sourceWalletId, sourceBalance);
+                balances.put(targetWalletId, targetBalance);
+            }
+        }
+    }
+
+    static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
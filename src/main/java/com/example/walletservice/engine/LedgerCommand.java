@@ -0,0 +1,34 @@
+package com.example.walletservice.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Posição do ring buffer. Os objetos são pré-alocados e reutilizados: o produtor preenche a
+ * entrada, o processador grava o resultado e limpa a posição antes de liberá-la.
+ */
+final class LedgerCommand {
+
+    JournalRecord.Type type;
+    long sourceWalletId;
+    String sourceOwnerId;
+    long targetWalletId;
+    String targetOwnerId;
+    /** Valor em centavos; em {@code OPEN}, o saldo carregado do banco. */
+    long amount;
+    String description;
+    CompletableFuture<LedgerResult> result;
+
+    /** Preenchidos pelo processador. */
+    JournalRecord accepted;
+    RuntimeException rejection;
+
+    void clear() {
+        type = null;
+        sourceOwnerId = null;
+        targetOwnerId = null;
+        description = null;
+        result = null;
+        accepted = null;
+        rejection = null;
+    }
+}
@@ -0,0 +1,526 @@
+package com.example.walletservice.engine;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.Wallet;
+import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.service.WalletStripeService;
+import com.example.walletservice.sharding.ConsistentHashRing;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Motor de livro-razão em memória. Depósitos, saques e transferências entram num ring buffer e
+ * são aplicados por uma única thread sobre um mapa de saldos em centavos, sem locks nem
+ * transações no caminho de escrita. Cada lote de comandos é gravado no journal e sincronizado
+ * uma única vez antes de os chamadores serem liberados; só então os registros seguem para o
+ * {@link LedgerProjector}, que atualiza as tabelas de forma assíncrona.
+ *
+ * <p>Na inicialização o mapa é reconstruído a partir do último snapshot mais o journal
+ * posterior a ele. O motor pressupõe ser o único escritor das carteiras: não pode ser
+ * combinado com sharding nem com outras instâncias escrevendo no mesmo banco.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "wallet.engine", name = "enabled", havingValue = "true")
+public class LedgerEngine implements SmartLifecycle {
+
+    /** Inicia antes e encerra depois do servidor web. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    private final LedgerEngineProperties properties;
+    private final LedgerProjector projector;
+    private final WalletRepository walletRepository;
+    private final WalletStripeService walletStripeService;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+    private final Path directory;
+    private final ExecutorService snapshotWriter;
+
+    /** Carteiras já carregadas no motor, por proprietário. */
+    private final Map<String, EngineWallet> wallets = new ConcurrentHashMap<>();
+
+    // Estado exclusivo da thread do processador após a recuperação
+    private final List<JournalRecord> confirmed = new ArrayList<>();
+    private BalanceMap balances;
+    private LedgerJournal journal;
+    private long sequence;
+    private long lastSnapshotSequence;
+
+    private volatile CommandRing ring;
+    private volatile boolean running;
+    private volatile Throwable failure;
+    private volatile long committedSequence;
+    private volatile long processedCommands;
+    private volatile long rejectedCommands;
+    private Thread processor;
+
+    public LedgerEngine(LedgerEngineProperties properties,
+                        LedgerProjector projector,
+                        WalletRepository walletRepository,
+                        WalletStripeService walletStripeService,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        Optional<ConsistentHashRing> shardRing) {
+        if (shardRing.isPresent()) {
+            throw new IllegalStateException("wallet.engine.enabled não pode ser combinado com wallet.sharding.enabled");
+        }
+        this.properties = properties;
+        this.projector = projector;
+        this.walletRepository = walletRepository;
+        this.walletStripeService = walletStripeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(properties.getDirectory());
+        this.snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizes = DistributionSummary.builder("wallet.engine.batch.size")
+                .description("Comandos processados por lote do motor")
+                .register(meterRegistry);
+
+        Gauge.builder("wallet.engine.sequence", this, engine -> engine.committedSequence)
+                .description("Última sequência confirmada no journal")
+                .register(meterRegistry);
+        Gauge.builder("wallet.engine.projection.lag", this,
+                        engine -> engine.committedSequence - engine.projector.getProjectedSequence())
+                .description("Registros confirmados ainda não refletidos nas tabelas")
+                .register(meterRegistry);
+        Gauge.builder("wallet.engine.ring.remaining", this,
+                        engine -> engine.ring != null ? engine.ring.remainingCapacity() : 0)
+                .description("Posições livres no ring buffer de comandos")
+                .register(meterRegistry);
+        FunctionCounter.builder("wallet.engine.commands", this, engine -> engine.processedCommands)
+                .register(meterRegistry);
+        FunctionCounter.builder("wallet.engine.rejections", this, engine -> engine.rejectedCommands)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deposita dinheiro na carteira de um usuário
+     * @return DTO da carteira com o saldo confirmado pelo motor
+     */
+    public WalletDTO deposit(String ownerId, BigDecimal amount, String description) {
+        long cents = toCents(amount, "O valor do depósito deve ser maior que zero");
+        EngineWallet wallet = load(ownerId);
+        LedgerResult result = submit(JournalRecord.Type.DEPOSIT, wallet, null, cents, description);
+        return wallet.toDTO(result.getSourceBalance(), result.getTimestamp());
+    }
+
+    /**
+     * Saca dinheiro da carteira de um usuário
+     * @return DTO da carteira com o saldo confirmado pelo motor
+     */
+    public WalletDTO withdraw(String ownerId, BigDecimal amount, String description) {
+        long cents = toCents(amount, "O valor do saque deve ser maior que zero");
+        EngineWallet wallet = load(ownerId);
+        LedgerResult result = submit(JournalRecord.Type.WITHDRAWAL, wallet, null, cents, description);
+        return wallet.toDTO(result.getSourceBalance(), result.getTimestamp());
+    }
+
+    /**
+     * Transfere dinheiro entre carteiras de usuários
+     * @return DTO da carteira de origem com o saldo confirmado pelo motor
+     */
+    public WalletDTO transfer(String sourceOwnerId, String targetOwnerId, BigDecimal amount, String description) {
+        long cents = toCents(amount, "O valor da transferência deve ser maior que zero");
+        EngineWallet source = load(sourceOwnerId);
+        EngineWallet target = load(targetOwnerId);
+        LedgerResult result = submit(JournalRecord.Type.TRANSFER, source, target, cents, description);
+        return source.toDTO(result.getSourceBalance(), result.getTimestamp());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao recuperar o motor a partir de " + directory.toAbsolutePath(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recuperação do motor interrompida", e);
+        }
+        ring = new CommandRing(properties.getRingSize());
+        failure = null;
+        running = true;
+        processor = new Thread(this::process, "ledger-engine");
+        processor.setDaemon(true);
+        processor.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        try {
+            if (processor != null) {
+                processor.join();
+                processor = null;
+            }
+            projector.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Reconstrói o mapa de saldos (snapshot + journal) e reenfileira para projeção os registros
+     * posteriores ao checkpoint do projetor
+     */
+    private void recover() throws IOException, InterruptedException {
+        wallets.clear();
+        long projected = projector.start();
+
+        LedgerSnapshots.Snapshot snapshot = LedgerSnapshots.loadLatest(directory);
+        long snapshotSequence = snapshot != null ? snapshot.getSequence() : 0;
+        balances = snapshot != null ? snapshot.getBalances() : new BalanceMap(1024);
+        sequence = snapshotSequence;
+
+        List<Path> files = LedgerJournal.files(directory);
+        List<JournalRecord> pending = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            LedgerJournal.replay(files.get(i), i == files.size() - 1, record -> {
+                if (record.getSequence() > snapshotSequence) {
+                    record.applyTo(balances);
+                    sequence = record.getSequence();
+                }
+                if (record.getSequence() > projected) {
+                    pending.add(record);
+                }
+            });
+        }
+        for (JournalRecord record : pending) {
+            projector.enqueue(record);
+        }
+
+        lastSnapshotSequence = snapshotSequence;
+        committedSequence = sequence;
+        journal = new LedgerJournal(directory, properties.isFsync());
+        journal.open(files.isEmpty() ? sequence + 1 : LedgerJournal.firstSequence(files.get(files.size() - 1)));
+        log.info("Motor recuperado: {} carteiras, sequência {} (snapshot {}, {} registros a projetar)",
+                balances.size(), sequence, snapshotSequence, pending.size());
+    }
+
+    private EngineWallet load(String ownerId) {
+        EngineWallet cached = wallets.get(ownerId);
+        if (cached != null) {
+            return cached;
+        }
+        EngineWallet loaded = transactionTemplate.execute(status -> {
+            Wallet wallet = walletRepository.findByOwnerId(ownerId)
+                    .orElseThrow(() -> new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId));
+            if (wallet.isStriped()) {
+                walletStripeService.sweep(wallet);
+            }
+            return new EngineWallet(wallet.getId(), wallet.getOwnerId(), wallet.getCreatedAt(),
+                    wallet.getStripeCount(), toCents(wallet.getBalance()));
+        });
+        // O saldo do banco só é adotado se o motor ainda não conhece a carteira
+        submit(JournalRecord.Type.OPEN, loaded, null, loaded.getOpeningBalance(), null);
+        EngineWallet previous = wallets.putIfAbsent(ownerId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private LedgerResult submit(JournalRecord.Type type, EngineWallet source, EngineWallet target,
+                                long amount, String description) {
+        if (!running || failure != null) {
+            throw new IllegalStateException("Motor do livro-razão indisponível", failure);
+        }
+        CommandRing commands = ring;
+        CompletableFuture<LedgerResult> result = new CompletableFuture<>();
+        long slot = commands.claim();
+        LedgerCommand command = commands.slot(slot);
+        command.type = type;
+        command.sourceWalletId = source.getId();
+        command.sourceOwnerId = source.getOwnerId();
+        if (target != null) {
+            command.targetWalletId = target.getId();
+            command.targetOwnerId = target.getOwnerId();
+        }
+        command.amount = amount;
+        command.description = description;
+        command.result = result;
+        commands.publish(slot);
+
+        try {
+            return result.get(properties.getCommandTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha no motor do livro-razão", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Tempo esgotado aguardando o motor; o resultado do comando é indeterminado", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o motor; o resultado do comando é indeterminado", e);
+        }
+    }
+
+    private void process() {
+        CommandRing commands = ring;
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            long last = commands.availableUpTo(next, properties.getMaxBatchSize());
+            if (last < next) {
+                if (!running) {
+                    break;
+                }
+                idle = idle(idle);
+                continue;
+            }
+            idle = 0;
+            handleBatch(commands, next, last);
+            commands.release(last);
+            next = last + 1;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar o journal do motor", e);
+        }
+    }
+
+    private void handleBatch(CommandRing commands, long first, long last) {
+        confirmed.clear();
+        for (long slot = first; slot <= last; slot++) {
+            LedgerCommand command = commands.slot(slot);
+            if (failure != null) {
+                command.rejection = new IllegalStateException("Motor do livro-razão indisponível", failure);
+                continue;
+            }
+            try {
+                apply(command);
+            } catch (IOException e) {
+                halt(e);
+                command.rejection = new IllegalStateException("Falha ao gravar o journal", e);
+            }
+        }
+
+        if (failure == null) {
+            try {
+                journal.sync();
+                committedSequence = sequence;
+                for (JournalRecord record : confirmed) {
+                    projector.enqueue(record);
+                }
+            } catch (IOException e) {
+                halt(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                halt(e);
+            }
+        }
+
+        for (long slot = first; slot <= last; slot++) {
+            complete(commands.slot(slot));
+        }
+        batchSizes.record(last - first + 1);
+        processedCommands += last - first + 1;
+
+        if (failure == null && sequence - lastSnapshotSequence >= properties.getSnapshotInterval()) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Valida e aplica um comando. O mapa só é alterado depois que o registro foi aceito pelo
+     * journal, então uma falha de escrita não deixa saldos sem registro correspondente.
+     */
+    private void apply(LedgerCommand command) throws IOException {
+        long sourceBalance;
+        long targetBalance = 0;
+        switch (command.type) {
+            case OPEN -> {
+                if (balances.containsKey(command.sourceWalletId)) {
+                    return;
+                }
+                sourceBalance = command.amount;
+            }
+            case DEPOSIT -> sourceBalance = Math.addExact(balances.get(command.sourceWalletId), command.amount);
+            case WITHDRAWAL -> {
+                long balance = balances.get(command.sourceWalletId);
+                if (balance < command.amount) {
+                    reject(command, new InsufficientFundsException("Saldo insuficiente para realizar o saque"));
+                    return;
+                }
+                sourceBalance = balance - command.amount;
+            }
+            case TRANSFER -> {
+                long balance = balances.get(command.sourceWalletId);
+                if (balance < command.amount) {
+                    reject(command, new InsufficientFundsException("Saldo insuficiente para realizar a transferência"));
+                    return;
+                }
+                sourceBalance = balance - command.amount;
+                targetBalance = Math.addExact(command.targetWalletId == command.sourceWalletId
+                        ? sourceBalance : balances.get(command.targetWalletId), command.amount);
+            }
+            default -> throw new IllegalStateException("Comando desconhecido: " + command.type);
+        }
+
+        JournalRecord record = JournalRecord.builder()
+                .sequence(sequence + 1)
+                .type(command.type)
+                .sourceWalletId(command.sourceWalletId)
+                .sourceOwnerId(command.sourceOwnerId)
+                .targetWalletId(command.targetWalletId)
+                .targetOwnerId(command.targetOwnerId)
+                .amount(command.amount)
+                .sourceBalance(sourceBalance)
+                .targetBalance(targetBalance)
+                .timestamp(LocalDateTime.now())
+                .description(command.description)
+                .build();
+        journal.append(record);
+        record.applyTo(balances);
+        sequence = record.getSequence();
+        command.accepted = record;
+        confirmed.add(record);
+    }
+
+    private void reject(LedgerCommand command, RuntimeException rejection) {
+        command.rejection = rejection;
+        rejectedCommands++;
+    }
+
+    private void complete(LedgerCommand command) {
+        CompletableFuture<LedgerResult> result = command.result;
+        if (command.rejection != null) {
+            result.completeExceptionally(command.rejection);
+        } else if (failure != null) {
+            result.completeExceptionally(new IllegalStateException("Falha ao sincronizar o journal", failure));
+        } else {
+            result.complete(command.accepted != null ? LedgerResult.of(command.accepted) : null);
+        }
+        command.clear();
+    }
+
+    /**
+     * Sem um journal confiável o motor passa a rejeitar todos os comandos; o estado em disco
+     * continua consistente e é recuperado na próxima inicialização
+     */
+    private void halt(Throwable cause) {
+        log.error("Motor do livro-razão interrompido após falha no journal", cause);
+        failure = cause;
+    }
+
+    /**
+     * Rotaciona o journal e grava em segundo plano uma cópia do mapa. Arquivos do journal só são
+     * removidos quando cobertos pelo snapshot e já projetados.
+     */
+    private void snapshot() {
+        long snapshotSequence = sequence;
+        try {
+            journal.rotate(snapshotSequence + 1);
+        } catch (IOException e) {
+            halt(e);
+            return;
+        }
+        BalanceMap copy = balances.copy();
+        lastSnapshotSequence = snapshotSequence;
+        snapshotWriter.execute(() -> {
+            try {
+                LedgerSnapshots.write(directory, snapshotSequence, copy);
+                LedgerSnapshots.deleteOlderThan(directory, snapshotSequence);
+                LedgerJournal.deleteCovered(directory, Math.min(snapshotSequence, projector.getProjectedSequence()));
+                log.info("Snapshot do motor gravado na sequência {}", snapshotSequence);
+            } catch (IOException e) {
+                log.warn("Falha ao gravar o snapshot {}; o journal continua completo", snapshotSequence, e);
+            }
+        });
+    }
+
+    private static int idle(int idleCount) {
+        if (idleCount < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idleCount < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idleCount + 1;
+    }
+
+    private static long toCents(BigDecimal amount, String nonPositiveMessage) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException(nonPositiveMessage);
+        }
+        return toCents(amount);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("O valor deve ter no máximo duas casas decimais", e);
+        }
+    }
+
+    @Value
+    private static class EngineWallet {
+        long id;
+        String ownerId;
+        LocalDateTime createdAt;
+        int stripes;
+        long openingBalance;
+
+        WalletDTO toDTO(BigDecimal balance, LocalDateTime updatedAt) {
+            return WalletDTO.builder()
+                    .id(id)
+                    .ownerId(ownerId)
+                    .balance(balance)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .stripes(stripes)
+                    .build();
+        }
+    }
+}
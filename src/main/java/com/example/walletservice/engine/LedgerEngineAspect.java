@@ -0,0 +1,78 @@
+package com.example.walletservice.engine;
+
+import com.example.walletservice.dto.WalletDTO;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Desvia depósitos, saques e transferências do {@code WalletService} para o {@link LedgerEngine}.
+ * Intercepta todas as sobrecargas, pois as versões sem descrição chamam as completas por
+ * autoinvocação, e executa antes do interceptor transacional para não abrir transações.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.engine", name = "enabled", havingValue = "true")
+public class LedgerEngineAspect {
+
+    private final LedgerEngine ledgerEngine;
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.deposit(..))")
+    public Object deposit(ProceedingJoinPoint joinPoint) {
+        Object[] args = joinPoint.getArgs();
+        rejectPrecondition(args, 3);
+        return adapt(joinPoint, ledgerEngine.deposit((String) args[0], (BigDecimal) args[1], description(args, 2)));
+    }
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.withdraw(..))")
+    public Object withdraw(ProceedingJoinPoint joinPoint) {
+        Object[] args = joinPoint.getArgs();
+        rejectPrecondition(args, 3);
+        return adapt(joinPoint, ledgerEngine.withdraw((String) args[0], (BigDecimal) args[1], description(args, 2)));
+    }
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.transfer(..))")
+    public Object transfer(ProceedingJoinPoint joinPoint) {
+        Object[] args = joinPoint.getArgs();
+        rejectPrecondition(args, 4);
+        return adapt(joinPoint, ledgerEngine.transfer((String) args[0], (String) args[1], (BigDecimal) args[2],
+                description(args, 3)));
+    }
+
+    private static String description(Object[] args, int index) {
+        return args.length > index ? (String) args[index] : null;
+    }
+
+    /**
+     * O motor não mantém a versão das carteiras, então não há como conferir um {@code If-Match}
+     */
+    private static void rejectPrecondition(Object[] args, int index) {
+        if (args.length > index && args[index] != null) {
+            throw new IllegalArgumentException("If-Match não é suportado com o motor em memória");
+        }
+    }
+
+    /**
+     * Converte o resultado para o tipo de retorno da sobrecarga interceptada
+     */
+    private static Object adapt(ProceedingJoinPoint joinPoint, WalletDTO wallet) {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (returnType == BigDecimal.class) {
+            return wallet.getBalance();
+        }
+        if (returnType == void.class) {
+            return null;
+        }
+        return wallet;
+    }
+}
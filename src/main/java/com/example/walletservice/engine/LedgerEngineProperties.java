@@ -0,0 +1,41 @@
+package com.example.walletservice.engine;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do motor de livro-razão em memória.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.engine")
+public class LedgerEngineProperties {
+
+    /** Processa depósitos, saques e transferências no motor em memória em vez do banco. */
+    private boolean enabled = false;
+
+    /** Diretório do journal e dos snapshots; deve ser exclusivo de uma instância. */
+    private String directory = "engine";
+
+    /** Capacidade do ring buffer de comandos; arredondada para a próxima potência de dois. */
+    private int ringSize = 65536;
+
+    /** Máximo de comandos processados por lote, com um único flush do journal por lote. */
+    private int maxBatchSize = 4096;
+
+    /** Força o journal para o disco antes de confirmar cada lote. */
+    private boolean fsync = true;
+
+    /** Quantidade de registros no journal entre snapshots do mapa de saldos. */
+    private long snapshotInterval = 1_000_000;
+
+    /** Tempo máximo de espera pela confirmação de um comando. */
+    private Duration commandTimeout = Duration.ofSeconds(5);
+
+    /** Capacidade da fila de projeção; ao encher, o processador aguarda o projetor. */
+    private int projectionQueueCapacity = 100_000;
+
+    /** Registros gravados nas tabelas {@code wallets}/{@code transactions} por transação. */
+    private int projectionBatchSize = 1000;
+}
@@ -0,0 +1,188 @@
+package com.example.walletservice.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal sequencial do motor. Cada arquivo {@code journal-<primeira sequência>.log} guarda
+ * registros {@code [tamanho][corpo][crc32]}; a escrita é bufferizada e só vai para o disco em
+ * {@link #sync()}, uma vez por lote do processador (group commit). Na leitura, um registro final
+ * incompleto ou com CRC inválido é tratado como escrita interrompida e descartado.
+ */
+final class LedgerJournal implements Closeable {
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final RecordBuffer body = new RecordBuffer();
+    private final DataOutputStream bodyOut = new DataOutputStream(body);
+    private final CRC32 crc = new CRC32();
+    private FileOutputStream file;
+    private DataOutputStream out;
+
+    LedgerJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Abre para escrita, no fim, o arquivo que começa na sequência informada
+     */
+    void open(long firstSequence) throws IOException {
+        Files.createDirectories(directory);
+        file = new FileOutputStream(pathFor(firstSequence).toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+    }
+
+    void append(JournalRecord record) throws IOException {
+        body.reset();
+        record.writeTo(bodyOut);
+        crc.reset();
+        crc.update(body.array(), 0, body.size());
+        out.writeInt(body.size());
+        out.write(body.array(), 0, body.size());
+        out.writeInt((int) crc.getValue());
+    }
+
+    void sync() throws IOException {
+        out.flush();
+        if (fsync) {
+            file.getChannel().force(false);
+        }
+    }
+
+    /**
+     * Fecha o arquivo atual e passa a escrever num novo, que começa na sequência informada
+     */
+    void rotate(long firstSequence) throws IOException {
+        sync();
+        close();
+        open(firstSequence);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Arquivos do journal em ordem de sequência
+     */
+    static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(LedgerJournal::firstSequence))
+                    .toList();
+        }
+    }
+
+    static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Lê os registros de um arquivo em ordem. No último arquivo, uma cauda inválida é truncada;
+     * nos anteriores, indica corrupção.
+     * @return Quantidade de registros válidos
+     */
+    static long replay(Path file, boolean last, Consumer<JournalRecord> consumer) throws IOException {
+        long validLength = 0;
+        long records = 0;
+        CRC32 checksum = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                byte[] payload;
+                int expectedCrc;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    expectedCrc = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(payload);
+                if ((int) checksum.getValue() != expectedCrc) {
+                    break;
+                }
+                consumer.accept(JournalRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+                validLength += Integer.BYTES + payload.length + Integer.BYTES;
+                records++;
+            }
+        }
+
+        if (validLength < Files.size(file)) {
+            if (!last) {
+                throw new IOException("Journal corrompido em " + file + " após " + records + " registros");
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Remove os arquivos cujos registros estão todos até a sequência informada, ou seja,
+     * cobertos por um snapshot e já projetados no read model
+     */
+    static void deleteCovered(Path directory, long upToSequence) throws IOException {
+        List<Path> files = files(directory);
+        for (int i = 0; i + 1 < files.size(); i++) {
+            if (firstSequence(files.get(i + 1)) - 1 <= upToSequence) {
+                Files.deleteIfExists(files.get(i));
+            }
+        }
+    }
+
+    private Path pathFor(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+    }
+
+    /**
+     * Expõe o array interno para calcular o CRC e copiar o corpo sem alocar
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(256);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
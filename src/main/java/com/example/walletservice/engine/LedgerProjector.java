@@ -0,0 +1,234 @@
+package com.example.walletservice.engine;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.JobCheckpoint;
+import com.example.walletservice.entity.Transaction;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.event.WalletLedgerEvent;
+import com.example.walletservice.repository.JobCheckpointRepository;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.repository.WalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém {@code wallets} e {@code transactions} como read model do motor: grava em lotes, numa
+ * thread própria, os registros já confirmados no journal. Cada lote publica os eventos do
+ * livro-razão (outbox e assinaturas) e avança o checkpoint {@value #CHECKPOINT_NAME} na mesma
+ * transação, então após uma queda o motor reprojeta exatamente os registros seguintes.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "wallet.engine", name = "enabled", havingValue = "true")
+public class LedgerProjector {
+
+    static final String CHECKPOINT_NAME = "ledger-engine";
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final BlockingQueue<JournalRecord> queue;
+
+    private volatile boolean running;
+    private volatile long projectedSequence;
+    private Thread thread;
+
+    public LedgerProjector(WalletRepository walletRepository,
+                           TransactionRepository transactionRepository,
+                           JobCheckpointRepository jobCheckpointRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           LedgerEngineProperties properties) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = properties.getProjectionBatchSize();
+        this.queue = new ArrayBlockingQueue<>(properties.getProjectionQueueCapacity());
+    }
+
+    /**
+     * Inicia a thread de projeção a partir do checkpoint persistido
+     * @return Última sequência já projetada
+     */
+    synchronized long start() {
+        projectedSequence = jobCheckpointRepository.findById(CHECKPOINT_NAME)
+                .map(JobCheckpoint::getPosition)
+                .orElse(0L);
+        running = true;
+        thread = new Thread(this::run, "ledger-projector");
+        thread.setDaemon(true);
+        thread.start();
+        return projectedSequence;
+    }
+
+    /**
+     * Projeta o que já está na fila e encerra a thread. Registros não projetados continuam no
+     * journal e são reprojetados na próxima inicialização.
+     */
+    synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+            thread = null;
+        }
+    }
+
+    /**
+     * Enfileira um registro confirmado, aguardando se a fila estiver cheia
+     */
+    void enqueue(JournalRecord record) throws InterruptedException {
+        if (record.getSequence() > projectedSequence) {
+            queue.put(record);
+        }
+    }
+
+    long getProjectedSequence() {
+        return projectedSequence;
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<JournalRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!projectWithRetry(batch)) {
+                    return;
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean projectWithRetry(List<JournalRecord> batch) throws InterruptedException {
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> project(batch));
+                projectedSequence = batch.get(batch.size() - 1).getSequence();
+                meterRegistry.counter("wallet.engine.projected").increment(batch.size());
+                return true;
+            } catch (RuntimeException e) {
+                meterRegistry.counter("wallet.engine.projection.failures").increment();
+                if (!running) {
+                    log.warn("Projeção interrompida no encerramento; {} registros serão reprojetados", batch.size(), e);
+                    return false;
+                }
+                log.warn("Falha ao projetar {} registros do motor; nova tentativa em {} ms", batch.size(), RETRY_DELAY_MS, e);
+                Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void project(List<JournalRecord> batch) {
+        Map<Long, BigDecimal> balances = new LinkedHashMap<>();
+        for (JournalRecord record : batch) {
+            BigDecimal amount = JournalRecord.toDecimal(record.getAmount());
+            String description = record.getDescription();
+            switch (record.getType()) {
+                case OPEN -> {
+                    // O saldo inicial veio do próprio banco
+                }
+                case DEPOSIT -> entry(record, record.getSourceWalletId(), record.getSourceOwnerId(), amount,
+                        TransactionType.DEPOSIT, description, record.getSourceBalance(), balances);
+                case WITHDRAWAL -> entry(record, record.getSourceWalletId(), record.getSourceOwnerId(), amount.negate(),
+                        TransactionType.WITHDRAWAL, description, record.getSourceBalance(), balances);
+                case TRANSFER -> transfer(record, amount, description, balances);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        balances.forEach((walletId, balance) -> walletRepository.updateBalance(walletId, balance, now));
+
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(CHECKPOINT_NAME)
+                .orElseGet(() -> JobCheckpoint.builder().name(CHECKPOINT_NAME).build());
+        checkpoint.setPosition(batch.get(batch.size() - 1).getSequence());
+        checkpoint.setUpdatedAt(now);
+        jobCheckpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Projeta a transferência como um único lançamento, publicando um evento por perna
+     */
+    private void transfer(JournalRecord record, BigDecimal amount, String description, Map<Long, BigDecimal> balances) {
+        BigDecimal sourceBalance = JournalRecord.toDecimal(record.getSourceBalance());
+        BigDecimal targetBalance = JournalRecord.toDecimal(record.getTargetBalance());
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(walletRepository.getReferenceById(record.getSourceWalletId()))
+                .amount(amount.negate())
+                .type(TransactionType.TRANSFER)
+                .description(description)
+                .timestamp(record.getTimestamp())
+                .balanceAfterTransaction(sourceBalance)
+                .relatedWalletId(record.getTargetWalletId())
+                .relatedBalanceAfter(targetBalance)
+                .build());
+        eventPublisher.publishEvent(WalletLedgerEvent.ofTransfer(
+                walletDTO(record, record.getSourceWalletId(), record.getSourceOwnerId(), sourceBalance),
+                transaction, record.getTargetOwnerId()));
+        eventPublisher.publishEvent(WalletLedgerEvent.ofTransfer(
+                walletDTO(record, record.getTargetWalletId(), record.getTargetOwnerId(), targetBalance),
+                transaction, record.getSourceOwnerId()));
+        balances.put(record.getSourceWalletId(), sourceBalance);
+        balances.put(record.getTargetWalletId(), targetBalance);
+    }
+
+    private void entry(JournalRecord record, long walletId, String ownerId, BigDecimal amount, TransactionType type,
+                       String description, long balanceAfter, Map<Long, BigDecimal> balances) {
+        BigDecimal balance = JournalRecord.toDecimal(balanceAfter);
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(walletRepository.getReferenceById(walletId))
+                .amount(amount)
+                .type(type)
+                .description(description)
+                .timestamp(record.getTimestamp())
+                .balanceAfterTransaction(balance)
+                .build());
+        eventPublisher.publishEvent(WalletLedgerEvent.of(walletDTO(record, walletId, ownerId, balance), transaction));
+        balances.put(walletId, balance);
+    }
+
+    private WalletDTO walletDTO(JournalRecord record, long walletId, String ownerId, BigDecimal balance) {
+        return WalletDTO.builder()
+                .id(walletId)
+                .ownerId(ownerId)
+                .balance(balance)
+                .updatedAt(record.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.walletservice.engine;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de um comando confirmado pelo motor: a sequência no journal e os saldos após o
+ * lançamento. O saldo de destino só é preenchido em transferências.
+ */
+@Value
+class LedgerResult {
+
+    long sequence;
+    BigDecimal sourceBalance;
+    BigDecimal targetBalance;
+    LocalDateTime timestamp;
+
+    static LedgerResult of(JournalRecord record) {
+        return new LedgerResult(record.getSequence(),
+                JournalRecord.toDecimal(record.getSourceBalance()),
+                record.getType() == JournalRecord.Type.TRANSFER ? JournalRecord.toDecimal(record.getTargetBalance()) : null,
+                record.getTimestamp());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.walletservice.engine;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshots do mapa de saldos em {@code snapshot-<sequência>.bin}: todas as entradas até a
+ * sequência, seguidas do CRC32 do conteúdo. O arquivo é escrito com outro nome e renomeado
+ * atomicamente, então um snapshot visível está sempre completo.
+ */
+@Slf4j
+final class LedgerSnapshots {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int MAGIC = 0x574C4553;
+
+    private LedgerSnapshots() {
+    }
+
+    static void write(Path directory, long sequence, BalanceMap balances) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            BufferedOutputStream buffered = new BufferedOutputStream(file, 1 << 16);
+            CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(balances.size());
+            balances.forEach((walletId, balance) -> {
+                out.writeLong(walletId);
+                out.writeLong(balance);
+            });
+            out.flush();
+            new DataOutputStream(buffered).writeLong(checked.getChecksum().getValue());
+            buffered.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Carrega o snapshot válido mais recente, ignorando arquivos corrompidos
+     * @return Snapshot carregado, ou nulo se não houver nenhum
+     */
+    static Snapshot loadLatest(Path directory) throws IOException {
+        List<Path> snapshots = files(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                return read(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Snapshot {} ignorado: {}", snapshots.get(i), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove os snapshots anteriores ao informado
+     */
+    static void deleteOlderThan(Path directory, long sequence) throws IOException {
+        for (Path snapshot : files(directory)) {
+            if (sequenceOf(snapshot) < sequence) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    private static Snapshot read(Path snapshot) throws IOException {
+        try (BufferedInputStream buffered = new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16)) {
+            CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Cabeçalho inválido");
+            }
+            long sequence = in.readLong();
+            int size = in.readInt();
+            BalanceMap balances = new BalanceMap(size);
+            for (int i = 0; i < size; i++) {
+                balances.put(in.readLong(), in.readLong());
+            }
+            long computed = checked.getChecksum().getValue();
+            if (new DataInputStream(buffered).readLong() != computed) {
+                throw new IOException("CRC inválido");
+            }
+            return new Snapshot(sequence, balances);
+        }
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(LedgerSnapshots::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    @Value
+    static class Snapshot {
+        long sequence;
+        BalanceMap balances;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.walletservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Transação movida da tabela quente {@code transactions} para o arquivo frio.
+ * Mantém o mesmo id e as mesmas colunas da transação original; a carteira é
+ * referenciada apenas pelo id para que o arquivo não dependa de chaves estrangeiras.
+ */
+@Entity
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_wallet_timestamp", columnList = "wallet_id, timestamp"),
+        @Index(name = "idx_transactions_archive_wallet_amount", columnList = "wallet_id, amount"),
+        @Index(name = "idx_transactions_archive_related_type_timestamp", columnList = "related_wallet_id, type, timestamp")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private Long walletId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(length = 255)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "balance_after_transaction", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balanceAfterTransaction;
+
+    @Column(name = "related_wallet_id")
+    private Long relatedWalletId;
+
+    @Column(name = "related_balance_after", precision = 19, scale = 2)
+    private BigDecimal relatedBalanceAfter;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
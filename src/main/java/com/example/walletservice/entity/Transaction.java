@@ -3,15 +3,28 @@ package com.example.walletservice.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
-@Table(name = "transactions")
-@Data
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_wallet_timestamp", columnList = "wallet_id, timestamp"),
+        @Index(name = "idx_transactions_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_transactions_wallet_amount", columnList = "wallet_id, amount"),
+        @Index(name = "idx_transactions_wallet_type_timestamp", columnList = "wallet_id, type, timestamp"),
+        @Index(name = "idx_transactions_wallet_related_timestamp", columnList = "wallet_id, related_wallet_id, timestamp"),
+        @Index(name = "idx_transactions_related_type_timestamp", columnList = "related_wallet_id, type, timestamp")
+})
+@Getter
+@Setter
+@ToString(exclude = "wallet")
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,4 +56,27 @@ public class Transaction {
     
     @Column(name = "related_wallet_id")
     private Long relatedWalletId;
+    
+    /**
+     * Saldo da carteira creditada após uma {@link TransactionType#TRANSFER}; nulo nos demais tipos
+     */
+    @Column(name = "related_balance_after", precision = 19, scale = 2)
+    private BigDecimal relatedBalanceAfter;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        Transaction other = (Transaction) o;
+        return getId() != null && Objects.equals(getId(), other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
\ No newline at end of file
@@ -4,5 +4,26 @@ public enum TransactionType {
     DEPOSIT,
     WITHDRAWAL,
     TRANSFER_IN,
-    TRANSFER_OUT
-}
\ No newline at end of file
+    TRANSFER_OUT,
+    TRANSFER_REVERSAL,
+    /**
+     * Transferência local gravada como um único lançamento com duas pernas: a linha pertence à
+     * carteira de origem (valor negativo) e {@code related_wallet_id} é a carteira creditada.
+     * Nas leituras por carteira aparece como {@link #TRANSFER_OUT} na origem e
+     * {@link #TRANSFER_IN} no destino.
+     */
+    TRANSFER;
+
+    /**
+     * Descrição exibida para uma perna de transferência gravada sem descrição
+     * @param counterpartyOwnerId Proprietário da outra carteira da transferência
+     * @return Descrição da perna, ou nulo para tipos que não são transferência
+     */
+    public String describeTransfer(String counterpartyOwnerId) {
+        return switch (this) {
+            case TRANSFER_OUT, TRANSFER -> "Transferência para " + counterpartyOwnerId;
+            case TRANSFER_IN -> "Transferência de " + counterpartyOwnerId;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.walletservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de uma transferência entre shards. O shard de origem guarda a saga desde o débito
+ * ({@code PENDING}) até a conclusão ou compensação; o shard de destino guarda uma cópia
+ * {@code CREDITED}, que torna o crédito idempotente em caso de nova tentativa.
+ */
+@Entity
+@Table(name = "transfer_sagas", indexes = {
+        @Index(name = "idx_transfer_sagas_status_created", columnList = "status, created_at")
+})
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferSaga {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "source_owner_id", nullable = false)
+    private String sourceOwnerId;
+
+    @Column(name = "target_owner_id", nullable = false)
+    private String targetOwnerId;
+
+    @Column(name = "source_wallet_id")
+    private Long sourceWalletId;
+
+    @Column(name = "target_wallet_id")
+    private Long targetWalletId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 255)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransferSagaStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
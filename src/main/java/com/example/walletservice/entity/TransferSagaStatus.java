@@ -0,0 +1,8 @@
+package com.example.walletservice.entity;
+
+public enum TransferSagaStatus {
+    PENDING,
+    CREDITED,
+    COMPLETED,
+    COMPENSATED
+}
@@ -3,17 +3,21 @@ package com.example.walletservice.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
 
 @Entity
-@Table(name = "wallets")
-@Data
+@Table(name = "wallets", indexes = @Index(name = "idx_wallets_owner_id", columnList = "owner_id", unique = true))
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,12 +39,16 @@ public class Wallet {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
-    @OneToMany(mappedBy = "wallet", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<Transaction> transactions = new ArrayList<>();
-    
     @Version
     private Long version;
     
+    /**
+     * Quantidade de faixas de crédito (ver {@link WalletStripe}); zero para carteiras comuns
+     */
+    @Column(name = "stripe_count", nullable = false)
+    @Builder.Default
+    private int stripeCount = 0;
+    
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -71,4 +79,29 @@ public class Wallet {
         }
         this.balance = this.balance.subtract(amount);
     }
+    
+    public boolean isStriped() {
+        return stripeCount > 0;
+    }
+    
+    /**
+     * Identidade pelo ID do banco: o histórico é acessado só via TransactionRepository,
+     * e comparar carteiras nunca percorre associações
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        Wallet other = (Wallet) o;
+        return getId() != null && Objects.equals(getId(), other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.example.walletservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais diários de uma carteira por tipo de transação, mantidos incrementalmente pelo
+ * agregador a partir do livro-razão. Entradas e saídas são guardadas como valores positivos.
+ */
+@Entity
+@Table(name = "wallet_daily_stats", indexes = @Index(name = "idx_wallet_daily_stats_date", columnList = "stat_date"))
+@IdClass(WalletDailyStat.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletDailyStat {
+
+    @Id
+    @Column(name = "wallet_id")
+    private Long walletId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate date;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal inflow;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal outflow;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long walletId;
+        private LocalDate date;
+        private TransactionType type;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.walletservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sub-saldo de uma carteira listrada. Os créditos incrementam uma única faixa com um UPDATE
+ * atômico, sem tocar na linha (e na versão) da carteira; o saldo da carteira é a soma do saldo
+ * base com todas as faixas.
+ */
+@Entity
+@Table(name = "wallet_stripes")
+@IdClass(WalletStripe.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletStripe {
+
+    @Id
+    @Column(name = "wallet_id")
+    private Long walletId;
+
+    @Id
+    @Column(name = "stripe_index")
+    private Integer stripeIndex;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long walletId;
+        private Integer stripeIndex;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.walletservice.event;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.Transaction;
+import com.example.walletservice.entity.TransactionType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento publicado para cada lançamento no livro-razão, dentro da transação que alterou o saldo.
+ * Carrega o estado da carteira após o lançamento e o próprio lançamento.
+ */
+@Value
+@Builder
+public class WalletLedgerEvent {
+
+    String eventId;
+    String ownerId;
+    WalletDTO wallet;
+    TransactionDTO transaction;
+    LocalDateTime occurredAt;
+
+    /**
+     * Cria o evento a partir do estado da carteira já atualizada e do lançamento gravado
+     * @param wallet Carteira após o lançamento, com o saldo total (incluindo faixas)
+     * @param transaction Lançamento gravado
+     * @return Evento do livro-razão
+     */
+    public static WalletLedgerEvent of(WalletDTO wallet, Transaction transaction) {
+        return WalletLedgerEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .ownerId(wallet.getOwnerId())
+                .wallet(wallet)
+                .transaction(TransactionDTO.builder()
+                        .id(transaction.getId())
+                        .walletId(wallet.getId())
+                        .amount(transaction.getAmount())
+                        .type(transaction.getType())
+                        .description(transaction.getDescription())
+                        .timestamp(transaction.getTimestamp())
+                        .balanceAfterTransaction(transaction.getBalanceAfterTransaction())
+                        .relatedWalletId(transaction.getRelatedWalletId())
+                        .build())
+                .occurredAt(transaction.getTimestamp())
+                .build();
+    }
+
+    /**
+     * Cria o evento de uma das pernas de uma {@link TransactionType#TRANSFER}, gravada em uma
+     * única linha na carteira de origem
+     * @param wallet Carteira da perna (origem ou destino), já atualizada
+     * @param transfer Lançamento da transferência
+     * @param counterpartyOwnerId Proprietário da outra carteira, para a descrição padrão
+     * @return Evento do livro-razão da perna
+     */
+    public static WalletLedgerEvent ofTransfer(WalletDTO wallet, Transaction transfer, String counterpartyOwnerId) {
+        boolean incoming = !wallet.getId().equals(transfer.getWallet().getId());
+        TransactionType type = incoming ? TransactionType.TRANSFER_IN : TransactionType.TRANSFER_OUT;
+        return WalletLedgerEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .ownerId(wallet.getOwnerId())
+                .wallet(wallet)
+                .transaction(TransactionDTO.builder()
+                        .id(transfer.getId())
+                        .walletId(wallet.getId())
+                        .amount(incoming ? transfer.getAmount().negate() : transfer.getAmount())
+                        .type(type)
+                        .description(transfer.getDescription() != null
+                                ? transfer.getDescription()
+                                : type.describeTransfer(counterpartyOwnerId))
+                        .timestamp(transfer.getTimestamp())
+                        .balanceAfterTransaction(incoming ? transfer.getRelatedBalanceAfter() : transfer.getBalanceAfterTransaction())
+                        .relatedWalletId(incoming ? transfer.getWallet().getId() : transfer.getRelatedWalletId())
+                        .build())
+                .occurredAt(transfer.getTimestamp())
+                .build();
+    }
+}
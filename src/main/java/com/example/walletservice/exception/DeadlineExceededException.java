@@ -0,0 +1,15 @@
+package com.example.walletservice.exception;
+
+import com.example.walletservice.deadline.DeadlinePhase;
+import lombok.Getter;
+
+@Getter
+public class DeadlineExceededException extends DomainException {
+
+    private final DeadlinePhase phase;
+
+    public DeadlineExceededException(DeadlinePhase phase) {
+        super(ErrorCode.DEADLINE_EXCEEDED, "Prazo da requisição esgotado");
+        this.phase = phase;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.walletservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Base das exceções de regra de negócio. São fluxo esperado, lançadas em volume quando
+ * clientes erram ou abusam da API, então não capturam stack trace: o custo de criá-las fica
+ * próximo ao de um objeto comum. A mensagem e o código bastam para diagnosticar.
+ */
+@Getter
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    protected DomainException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.walletservice.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Códigos estáveis devolvidos em {@code ErrorResponse.code}, para que clientes tratem erros sem
+ * depender do texto da mensagem.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ErrorCode {
+    WALLET_NOT_FOUND(HttpStatus.NOT_FOUND),
+    INSUFFICIENT_FUNDS(HttpStatus.BAD_REQUEST),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS),
+    SUBSCRIPTION_LIMIT(HttpStatus.SERVICE_UNAVAILABLE),
+    INVALID_ARGUMENT(HttpStatus.BAD_REQUEST),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED),
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+}
@@ -0,0 +1,18 @@
+package com.example.walletservice.exception;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do log das respostas de erro da API.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.error-log")
+public class ErrorLogProperties {
+
+    /**
+     * Registros por segundo para cada código de erro; o excedente é apenas contado e informado
+     * no próximo registro do mesmo código. Zero desliga o limite.
+     */
+    private int permitsPerSecond = 10;
+}
@@ -0,0 +1,54 @@
+package com.example.walletservice.exception;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita, por código de erro, quantas respostas de erro são registradas em log a cada segundo.
+ * Sem locks: uma janela de um segundo por código com contadores atômicos.
+ */
+@Component
+public class ErrorLogSampler {
+
+    private final int permitsPerSecond;
+    private final Map<ErrorCode, Window> windows = new EnumMap<>(ErrorCode.class);
+
+    public ErrorLogSampler(ErrorLogProperties properties) {
+        this.permitsPerSecond = properties.getPermitsPerSecond();
+        for (ErrorCode code : ErrorCode.values()) {
+            windows.put(code, new Window());
+        }
+    }
+
+    /**
+     * @return Quantidade de registros suprimidos desde o último permitido, ou {@code -1} se
+     * este também deve ser suprimido
+     */
+    public long tryAcquire(ErrorCode code) {
+        if (permitsPerSecond <= 0) {
+            return 0;
+        }
+        Window window = windows.get(code);
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long current = window.second.get();
+        if (second != current && window.second.compareAndSet(current, second)) {
+            window.used.set(0);
+        }
+        if (window.used.incrementAndGet() <= permitsPerSecond) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        final AtomicLong second = new AtomicLong(Long.MIN_VALUE);
+        final AtomicInteger used = new AtomicInteger();
+        final AtomicLong suppressed = new AtomicLong();
+    }
+}
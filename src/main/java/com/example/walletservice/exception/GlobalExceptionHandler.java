@@ -1,7 +1,12 @@
 package com.example.walletservice.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -11,31 +16,90 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.example.walletservice.dto.ErrorResponse;
 
+/**
+ * Converte exceções em {@link ErrorResponse} com código estável. Cada resposta incrementa
+ * {@code wallet.errors{code}}; o log é limitado por código pelo {@link ErrorLogSampler}, para
+ * que uma rajada de erros de cliente não custe mais que o tráfego de sucesso. Erros internos
+ * ficam fora do limite: durante um incidente cada stack trace é registrado.
+ */
 @ControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private final ErrorLogSampler errorLogSampler;
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+    
+    public GlobalExceptionHandler(ErrorLogSampler errorLogSampler, MeterRegistry meterRegistry) {
+        this.errorLogSampler = errorLogSampler;
+        for (ErrorCode code : ErrorCode.values()) {
+            errorCounters.put(code, meterRegistry.counter("wallet.errors", "code", code.name()));
+        }
+    }
+    
     @ExceptionHandler(WalletNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleWalletNotFoundException(WalletNotFoundException ex) {
-        log.error("Carteira não encontrada: {}", ex.getMessage());
-        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+        record(ex.getErrorCode(), Level.WARN, "Carteira não encontrada: ", ex.getMessage(), null);
+        return buildErrorResponse(ex.getErrorCode(), ex.getMessage());
     }
     
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientFundsException(InsufficientFundsException ex) {
-        log.error("Fundos insuficientes: {}", ex.getMessage());
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+        record(ex.getErrorCode(), Level.WARN, "Fundos insuficientes: ", ex.getMessage(), null);
+        return buildErrorResponse(ex.getErrorCode(), ex.getMessage());
+    }
+    
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException ex) {
+        record(ex.getErrorCode(), Level.DEBUG, "Requisição recusada: ", ex.getMessage(), null);
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getErrorCode(), ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+    
+    @ExceptionHandler(SubscriptionLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSubscriptionLimitExceededException(SubscriptionLimitExceededException ex) {
+        record(ex.getErrorCode(), Level.WARN, "Assinatura recusada: ", ex.getMessage(), null);
+        return buildErrorResponse(ex.getErrorCode(), ex.getMessage());
+    }
+    
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        record(ex.getErrorCode(), Level.DEBUG, "Pré-condição falhou: ", ex.getMessage(), null);
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getErrorCode(), ex.getMessage());
+        if (ex.getCurrentETag() == null) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .eTag(ex.getCurrentETag())
+                .body(response.getBody());
+    }
+    
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(DeadlineExceededException ex) {
+        record(ex.getErrorCode(), Level.WARN, "Prazo esgotado na fase ", ex.getPhase(), null);
+        return buildErrorResponse(ex.getErrorCode(), ex.getMessage());
+    }
+    
+    /**
+     * Statement cancelado pelo timeout derivado do prazo da requisição, ou recusado por ele
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(QueryTimeoutException ex) {
+        record(ErrorCode.DEADLINE_EXCEEDED, Level.WARN, "Timeout de statement: ", ex.getMostSpecificCause().getMessage(), null);
+        return buildErrorResponse(ErrorCode.DEADLINE_EXCEEDED, "Prazo da requisição esgotado");
     }
     
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
-        log.error("Argumento inválido: {}", ex.getMessage());
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+        record(ErrorCode.INVALID_ARGUMENT, Level.WARN, "Argumento inválido: ", ex.getMessage(), null);
+        return buildErrorResponse(ErrorCode.INVALID_ARGUMENT, ex.getMessage());
     }
     
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -45,34 +109,54 @@ public class GlobalExceptionHandler {
             errors.put(error.getField(), error.getDefaultMessage())
         );
         
-        log.error("Erro de validação: {}", errors);
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Erro de validação", errors);
+        record(ErrorCode.VALIDATION_FAILED, Level.WARN, "Erro de validação: ", errors, null);
+        return buildErrorResponse(ErrorCode.VALIDATION_FAILED, "Erro de validação", errors);
     }
     
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex) {
-        log.error("Erro de validação: {}", ex.getMessage());
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Erro de validação: " + ex.getMessage());
+        record(ErrorCode.VALIDATION_FAILED, Level.WARN, "Erro de validação: ", ex.getMessage(), null);
+        return buildErrorResponse(ErrorCode.VALIDATION_FAILED, "Erro de validação: " + ex.getMessage());
     }
     
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        log.error("Erro interno do servidor: ", ex);
-        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
+        record(ErrorCode.INTERNAL_ERROR, Level.ERROR, "Erro interno do servidor", "", ex);
+        return buildErrorResponse(ErrorCode.INTERNAL_ERROR, "Erro interno do servidor");
+    }
+    
+    /**
+     * Conta o erro e registra o log se o código ainda tiver cota no segundo atual, informando
+     * quantos registros do mesmo código foram suprimidos desde o último; {@code INTERNAL_ERROR}
+     * é sempre registrado
+     */
+    private void record(ErrorCode code, Level level, String message, Object detail, Throwable cause) {
+        errorCounters.get(code).increment();
+        if (!log.isEnabledForLevel(level)) {
+            return;
+        }
+        long suppressed = code == ErrorCode.INTERNAL_ERROR ? 0 : errorLogSampler.tryAcquire(code);
+        if (suppressed < 0) {
+            return;
+        }
+        String line = suppressed > 0 ? message + detail + " (+" + suppressed + " suprimidos)" : message + detail;
+        log.atLevel(level).setCause(cause).log(line);
     }
     
-    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String message, Map<String, String> errors) {
+    private ResponseEntity<ErrorResponse> buildErrorResponse(ErrorCode code, String message, Map<String, String> errors) {
+        HttpStatus status = code.getStatus();
         return ResponseEntity.status(status)
                 .body(ErrorResponse.builder()
                         .timestamp(LocalDateTime.now())
                         .status(status.value())
                         .error(status.getReasonPhrase())
+                        .code(code.name())
                         .message(message)
                         .errors(errors)
                         .build());
     }
     
-    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String message) {
-        return buildErrorResponse(status, message, null);
+    private ResponseEntity<ErrorResponse> buildErrorResponse(ErrorCode code, String message) {
+        return buildErrorResponse(code, message, null);
     }
 }
\ No newline at end of file
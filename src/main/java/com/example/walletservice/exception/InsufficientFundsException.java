@@ -1,8 +1,8 @@
 package com.example.walletservice.exception;
 
-public class InsufficientFundsException extends RuntimeException {
+public class InsufficientFundsException extends DomainException {
     
     public InsufficientFundsException(String message) {
-        super(message);
+        super(ErrorCode.INSUFFICIENT_FUNDS, message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.example.walletservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PreconditionFailedException extends DomainException {
+
+    /** ETag atual da carteira, quando conhecido, para o cliente reler ou repetir a operação */
+    private final String currentETag;
+
+    public PreconditionFailedException(String currentETag) {
+        super(ErrorCode.PRECONDITION_FAILED, "A carteira foi alterada desde a versão informada em If-Match");
+        this.currentETag = currentETag;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.walletservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends DomainException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(ErrorCode.RATE_LIMITED, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
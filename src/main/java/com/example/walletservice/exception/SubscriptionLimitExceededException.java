@@ -0,0 +1,8 @@
+package com.example.walletservice.exception;
+
+public class SubscriptionLimitExceededException extends DomainException {
+    
+    public SubscriptionLimitExceededException(String message) {
+        super(ErrorCode.SUBSCRIPTION_LIMIT, message);
+    }
+}
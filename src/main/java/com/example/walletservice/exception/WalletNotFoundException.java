@@ -1,8 +1,8 @@
 package com.example.walletservice.exception;
 
-public class WalletNotFoundException extends RuntimeException {
+public class WalletNotFoundException extends DomainException {
     
     public WalletNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.WALLET_NOT_FOUND, message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.example.walletservice.hotspot;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Top-K aproximado sobre um {@link CountMinSketch}. Cada evento incrementa o sketch; só chaves
+ * cuja estimativa alcança o limiar atual entram no mapa de candidatos, e quando ele passa de
+ * {@code 2k} entradas um heap mínimo de tamanho {@code k} recalcula o limiar e descarta o resto.
+ * Quem registra eventos nunca espera: se outra thread já está podando, a poda é pulada.
+ */
+final class HeavyHitters {
+
+    private final int k;
+    private final CountMinSketch sketch;
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    private volatile long threshold;
+
+    HeavyHitters(int k, int sketchWidth, int sketchDepth) {
+        this.k = k;
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    void record(String key) {
+        long estimate = sketch.add(key, 1);
+        if (estimate < threshold) {
+            return;
+        }
+        candidates.put(key, estimate);
+        if (candidates.size() > 2 * k && trimLock.tryLock()) {
+            try {
+                trim();
+            } finally {
+                trimLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Devolve as {@code k} chaves com maior estimativa, em ordem decrescente, e zera a contagem
+     * para a próxima janela
+     */
+    List<Map.Entry<String, Long>> drain() {
+        trimLock.lock();
+        try {
+            List<Map.Entry<String, Long>> top = candidates.keySet().stream()
+                    .map(key -> Map.entry(key, sketch.estimate(key)))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(k)
+                    .toList();
+            sketch.clear();
+            candidates.clear();
+            threshold = 0;
+            return top;
+        } finally {
+            trimLock.unlock();
+        }
+    }
+
+    private void trim() {
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(k + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            heap.offer(Map.entry(candidate.getKey(), candidate.getValue()));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        long kth = heap.isEmpty() ? 0 : heap.peek().getValue();
+        threshold = kth;
+        candidates.values().removeIf(estimate -> estimate < kth);
+    }
+}
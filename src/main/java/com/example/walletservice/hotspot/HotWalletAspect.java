@@ -0,0 +1,58 @@
+package com.example.walletservice.hotspot;
+
+import com.example.walletservice.exception.InsufficientFundsException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alimenta o {@link HotWalletTracker} com depósitos, saques e transferências. Executa fora do
+ * interceptor transacional para ver os conflitos de versão detectados no commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.hot-wallets", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotWalletAspect {
+
+    private final HotWalletTracker hotWalletTracker;
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.deposit(..)) "
+            + "|| execution(public * com.example.walletservice.service.WalletService.withdraw(..))")
+    public Object trackSingleWallet(ProceedingJoinPoint joinPoint) throws Throwable {
+        return track(joinPoint, (String) joinPoint.getArgs()[0], null);
+    }
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.transfer(..))")
+    public Object trackTransfer(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        return track(joinPoint, (String) args[0], (String) args[1]);
+    }
+
+    private Object track(ProceedingJoinPoint joinPoint, String ownerId, String targetOwnerId) throws Throwable {
+        hotWalletTracker.recordOperation(ownerId);
+        if (targetOwnerId != null) {
+            hotWalletTracker.recordOperation(targetOwnerId);
+        }
+        try {
+            return joinPoint.proceed();
+        } catch (InsufficientFundsException e) {
+            hotWalletTracker.recordInsufficientFunds(ownerId);
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            // Não se sabe qual das carteiras conflitou; as duas são contadas
+            hotWalletTracker.recordVersionConflict(ownerId);
+            if (targetOwnerId != null) {
+                hotWalletTracker.recordVersionConflict(targetOwnerId);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.walletservice.hotspot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de atuador {@code /actuator/hotwallets}: ranking da última janela fechada, com as
+ * carteiras de maior taxa de operações, conflitos de versão e recusas por saldo insuficiente.
+ */
+@Component
+@Endpoint(id = "hotwallets")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.hot-wallets", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotWalletEndpoint {
+
+    private final HotWalletTracker hotWalletTracker;
+
+    @ReadOperation
+    public HotWalletReport hotWallets() {
+        return hotWalletTracker.getReport();
+    }
+}
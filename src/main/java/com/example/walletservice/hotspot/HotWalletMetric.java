@@ -0,0 +1,13 @@
+package com.example.walletservice.hotspot;
+
+/**
+ * Eventos contados por carteira na detecção de carteiras quentes.
+ */
+public enum HotWalletMetric {
+    /** Depósitos, saques e transferências (origem e destino), amostrados. */
+    OPERATIONS,
+    /** Operações que falharam por conflito de versão (lock otimista). */
+    VERSION_CONFLICTS,
+    /** Saques e transferências recusados por saldo insuficiente. */
+    INSUFFICIENT_FUNDS
+}
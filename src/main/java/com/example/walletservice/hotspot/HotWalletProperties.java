@@ -0,0 +1,36 @@
+package com.example.walletservice.hotspot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração da detecção de carteiras mais movimentadas.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.hot-wallets")
+public class HotWalletProperties {
+
+    /** Habilita a detecção nas operações do {@code WalletService}. */
+    private boolean enabled = true;
+
+    /**
+     * Fração das operações amostradas. Conflitos de versão e recusas por saldo são sempre
+     * contados, pois são raros e justamente o que se quer encontrar.
+     */
+    private double operationSampleRate = 0.1;
+
+    /** Carteiras mantidas no ranking de cada métrica. */
+    private int topK = 20;
+
+    /** Carteiras do ranking expostas como gauges {@code wallet.hot.rate}. */
+    private int gaugeTop = 5;
+
+    /** Duração de cada janela de medição; o ranking publicado é o da última janela fechada. */
+    private long windowMs = 10_000;
+
+    /** Contadores por linha do sketch; o erro por chave é limitado a {@code eventos / width}. */
+    private int sketchWidth = 4096;
+
+    /** Linhas do sketch; cada linha reduz a probabilidade de a estimativa exceder o limite. */
+    private int sketchDepth = 4;
+}
@@ -0,0 +1,26 @@
+package com.example.walletservice.hotspot;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranking das carteiras mais frequentes em cada métrica durante uma janela de medição.
+ */
+@Value
+public class HotWalletReport {
+
+    LocalDateTime windowStart;
+    LocalDateTime windowEnd;
+    Map<HotWalletMetric, List<HotWallet>> rankings;
+
+    @Value
+    public static class HotWallet {
+        String ownerId;
+        /** Eventos estimados na janela, já corrigidos pela amostragem. */
+        long count;
+        double ratePerSecond;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.walletservice.hotspot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Detecta as carteiras que concentram operações, conflitos de versão e recusas por saldo. Os
+ * eventos entram em sketches de memória fixa, sem locks no caminho das operações; ao fim de
+ * cada janela o ranking é publicado em {@code /actuator/hotwallets} e as primeiras posições
+ * como gauges {@code wallet.hot.rate}, substituindo as da janela anterior.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.hot-wallets", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotWalletTracker {
+
+    private final HotWalletProperties properties;
+    private final Map<HotWalletMetric, HeavyHitters> hitters = new EnumMap<>(HotWalletMetric.class);
+    private final MultiGauge rates;
+
+    private volatile HotWalletReport report;
+    private LocalDateTime windowStart = LocalDateTime.now();
+    private long windowStartNanos = System.nanoTime();
+
+    public HotWalletTracker(HotWalletProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (HotWalletMetric metric : HotWalletMetric.values()) {
+            hitters.put(metric, new HeavyHitters(properties.getTopK(), properties.getSketchWidth(), properties.getSketchDepth()));
+        }
+        this.rates = MultiGauge.builder("wallet.hot.rate")
+                .description("Eventos por segundo das carteiras mais frequentes na última janela")
+                .register(meterRegistry);
+        this.report = new HotWalletReport(windowStart, windowStart, Map.of());
+    }
+
+    public void recordOperation(String ownerId) {
+        double sampleRate = properties.getOperationSampleRate();
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        hitters.get(HotWalletMetric.OPERATIONS).record(ownerId);
+    }
+
+    public void recordVersionConflict(String ownerId) {
+        hitters.get(HotWalletMetric.VERSION_CONFLICTS).record(ownerId);
+    }
+
+    public void recordInsufficientFunds(String ownerId) {
+        hitters.get(HotWalletMetric.INSUFFICIENT_FUNDS).record(ownerId);
+    }
+
+    /**
+     * Ranking da última janela fechada
+     */
+    public HotWalletReport getReport() {
+        return report;
+    }
+
+    /**
+     * Fecha a janela atual: publica o ranking e os gauges e zera os sketches
+     */
+    @Scheduled(fixedDelayString = "${wallet.hot-wallets.window-ms:10000}")
+    public synchronized HotWalletReport closeWindow() {
+        long now = System.nanoTime();
+        LocalDateTime windowEnd = LocalDateTime.now();
+        double seconds = Math.max((now - windowStartNanos) / 1e9, 1e-3);
+
+        Map<HotWalletMetric, List<HotWalletReport.HotWallet>> rankings = new EnumMap<>(HotWalletMetric.class);
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        hitters.forEach((metric, hotWallets) -> {
+            double scale = metric == HotWalletMetric.OPERATIONS ? 1 / properties.getOperationSampleRate() : 1;
+            List<HotWalletReport.HotWallet> ranking = hotWallets.drain().stream()
+                    .map(entry -> {
+                        long count = Math.round(entry.getValue() * scale);
+                        return new HotWalletReport.HotWallet(entry.getKey(), count, count / seconds);
+                    })
+                    .toList();
+            rankings.put(metric, ranking);
+            ranking.stream().limit(properties.getGaugeTop()).forEach(hotWallet -> rows.add(MultiGauge.Row.of(
+                    Tags.of("ownerId", hotWallet.getOwnerId(), "metric", metric.name().toLowerCase(Locale.ROOT)),
+                    hotWallet.getRatePerSecond())));
+        });
+        rates.register(rows, true);
+
+        report = new HotWalletReport(windowStart, windowEnd, rankings);
+        windowStart = windowEnd;
+        windowStartNanos = now;
+        return report;
+    }
+}
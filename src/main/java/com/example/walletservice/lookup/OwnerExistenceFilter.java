@@ -0,0 +1,149 @@
+package com.example.walletservice.lookup;
+
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.sharding.ConsistentHashRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responde, sem consultar o banco, se um proprietário certamente não tem carteira. Um filtro de
+ * Bloom com todos os {@code ownerId} existentes é carregado na inicialização e atualizado a cada
+ * criação local e, periodicamente, com as carteiras criadas por outras instâncias; os falsos
+ * positivos do filtro que o banco confirmar como inexistentes ficam num cache negativo com TTL.
+ *
+ * <p>Carteiras criadas em outra instância podem ser recusadas aqui por até
+ * {@code refresh-interval-ms}. Enquanto a carga inicial não termina, nada é recusado.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "wallet.owner-filter", name = "enabled", havingValue = "true")
+public class OwnerExistenceFilter {
+
+    private final WalletRepository walletRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OwnerFilterProperties properties;
+    private final ScalableBloomFilter owners;
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+    private final Counter bloomRejections;
+    private final Counter cacheRejections;
+
+    private volatile boolean loaded;
+    /** Maior ID abaixo do qual todas as carteiras já estão no filtro. */
+    private long cursor;
+
+    public OwnerExistenceFilter(WalletRepository walletRepository,
+                                TransactionTemplate transactionTemplate,
+                                OwnerFilterProperties properties,
+                                MeterRegistry meterRegistry,
+                                Optional<ConsistentHashRing> shardRing) {
+        if (shardRing.isPresent()) {
+            throw new IllegalStateException("wallet.owner-filter.enabled não pode ser combinado com wallet.sharding.enabled");
+        }
+        this.walletRepository = walletRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.owners = new ScalableBloomFilter(properties.getExpectedOwners(), properties.getFalsePositiveRate());
+        this.bloomRejections = meterRegistry.counter("wallet.owner-filter.rejections", "source", "bloom");
+        this.cacheRejections = meterRegistry.counter("wallet.owner-filter.rejections", "source", "cache");
+        Gauge.builder("wallet.owner-filter.owners", owners, ScalableBloomFilter::size).register(meterRegistry);
+        Gauge.builder("wallet.owner-filter.bits", owners, ScalableBloomFilter::bitSize).register(meterRegistry);
+        Gauge.builder("wallet.owner-filter.negative.size", missing, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Carga inicial do filtro a partir de uma varredura por chave da tabela de carteiras
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        loaded = true;
+        log.info("Filtro de proprietários carregado: {} carteiras, {} bits", owners.size(), owners.bitSize());
+    }
+
+    /**
+     * Acrescenta ao filtro as carteiras com ID após o cursor. O cursor só avança sobre
+     * carteiras mais antigas que {@code settle-delay}; as demais são relidas na próxima execução.
+     */
+    @Scheduled(fixedDelayString = "${wallet.owner-filter.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(properties.getSettleDelay());
+        int batchSize = properties.getScanBatchSize();
+        long position = cursor;
+        boolean settled = true;
+        while (true) {
+            long after = position;
+            // Transação de escrita de propósito: numa réplica atrasada carteiras ficariam de fora
+            List<Object[]> rows = transactionTemplate.execute(status ->
+                    walletRepository.findOwnerIdsAfter(after, PageRequest.of(0, batchSize)));
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                String ownerId = (String) row[1];
+                owners.add(ownerId);
+                missing.remove(ownerId);
+                settled &= ((LocalDateTime) row[2]).isBefore(settledBefore);
+                if (settled) {
+                    cursor = id;
+                }
+                position = id;
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Verdadeiro se o proprietário certamente não tem carteira
+     */
+    public boolean isKnownAbsent(String ownerId) {
+        if (!loaded) {
+            return false;
+        }
+        if (!owners.mightContain(ownerId)) {
+            bloomRejections.increment();
+            return true;
+        }
+        Long expiresAt = missing.get(ownerId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() > 0) {
+            cacheRejections.increment();
+            return true;
+        }
+        missing.remove(ownerId, expiresAt);
+        return false;
+    }
+
+    /**
+     * Registra um proprietário que o banco confirmou não ter carteira
+     */
+    public void recordMissing(String ownerId) {
+        if (missing.size() < properties.getNegativeCacheSize()) {
+            missing.put(ownerId, System.nanoTime() + properties.getNegativeTtl().toNanos());
+        }
+    }
+
+    /**
+     * Registra uma carteira criada por esta instância
+     */
+    public void add(String ownerId) {
+        owners.add(ownerId);
+        missing.remove(ownerId);
+    }
+}
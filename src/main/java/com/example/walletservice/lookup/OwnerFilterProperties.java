@@ -0,0 +1,41 @@
+package com.example.walletservice.lookup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da recusa antecipada de proprietários inexistentes.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.owner-filter")
+public class OwnerFilterProperties {
+
+    /** Recusa operações de proprietários sem carteira sem consultar o banco. */
+    private boolean enabled = false;
+
+    /** Capacidade do primeiro estágio do filtro de Bloom; estágios maiores são criados ao enchê-lo. */
+    private long expectedOwners = 100_000;
+
+    /** Taxa máxima de falsos positivos (proprietários inexistentes que ainda vão ao banco). */
+    private double falsePositiveRate = 0.01;
+
+    /** Tempo em que um proprietário não encontrado no banco é recusado direto pelo cache. */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /** Máximo de proprietários no cache negativo; acima disso novas entradas são descartadas. */
+    private int negativeCacheSize = 100_000;
+
+    /** Intervalo entre leituras das carteiras criadas por outras instâncias. */
+    private long refreshIntervalMs = 5000;
+
+    /** Carteiras lidas por consulta na carga inicial e nas atualizações. */
+    private int scanBatchSize = 10_000;
+
+    /**
+     * Idade mínima de uma carteira para o cursor passar por ela. IDs são reservados antes do
+     * commit, então um ID menor ainda pode aparecer depois de um maior.
+     */
+    private Duration settleDelay = Duration.ofSeconds(2);
+}
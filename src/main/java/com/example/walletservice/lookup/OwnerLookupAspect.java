@@ -0,0 +1,89 @@
+package com.example.walletservice.lookup;
+
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.sharding.ShardKey;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Recusa operações de serviço cujo proprietário ({@link ShardKey}) certamente não tem carteira,
+ * antes de o interceptor transacional obter uma conexão. Executa antes dos demais aspectos para
+ * valer também quando o motor em memória está habilitado.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.owner-filter", name = "enabled", havingValue = "true")
+public class OwnerLookupAspect {
+
+    private final OwnerExistenceFilter ownerExistenceFilter;
+    private final Map<Method, int[]> ownerKeyIndexes = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.walletservice.service..*(..)) "
+            + "&& !execution(* com.example.walletservice.service.WalletService.createWallet(..))")
+    public Object rejectUnknownOwners(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        int[] keyIndexes = ownerKeyIndexes.computeIfAbsent(method, OwnerLookupAspect::findOwnerKeys);
+        if (keyIndexes.length == 0) {
+            return joinPoint.proceed();
+        }
+
+        Object[] args = joinPoint.getArgs();
+        for (int index : keyIndexes) {
+            String ownerId = (String) args[index];
+            if (ownerId != null && ownerExistenceFilter.isKnownAbsent(ownerId)) {
+                throw new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId);
+            }
+        }
+
+        try {
+            return joinPoint.proceed();
+        } catch (WalletNotFoundException e) {
+            // Com mais de um proprietário não se sabe qual deles faltou
+            if (keyIndexes.length == 1 && args[keyIndexes[0]] != null) {
+                ownerExistenceFilter.recordMissing((String) args[keyIndexes[0]]);
+            }
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.example.walletservice.service.WalletService.createWallet(..))")
+    public Object registerCreatedOwner(ProceedingJoinPoint joinPoint) throws Throwable {
+        String ownerId = (String) joinPoint.getArgs()[0];
+        // Entra no filtro antes do commit: um falso positivo temporário é inofensivo, uma recusa não
+        ownerExistenceFilter.add(ownerId);
+        Object wallet = joinPoint.proceed();
+        ownerExistenceFilter.add(ownerId);
+        return wallet;
+    }
+
+    private static int[] findOwnerKeys(Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        return IntStream.range(0, parameterAnnotations.length)
+                .filter(i -> isOwnerKey(parameterAnnotations[i]))
+                .toArray();
+    }
+
+    private static boolean isOwnerKey(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof ShardKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.walletservice.lookup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalável: quando o estágio atual atinge a capacidade, um novo estágio com o
+ * dobro da capacidade e metade da taxa de falsos positivos é criado, mantendo a taxa total
+ * abaixo da configurada sem conhecer o número final de elementos. Não tem falsos negativos.
+ * Leituras não usam locks; inserções concorrentes são serializadas apenas na troca de estágio.
+ */
+final class ScalableBloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final double falsePositiveRate;
+    private volatile List<Stage> stages;
+
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.stages = List.of(new Stage(Math.max(initialCapacity, 64), falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    boolean mightContain(String value) {
+        long hash1 = hash(value, 0);
+        long hash2 = hash(value, 0x9E3779B97F4A7C15L);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(String value) {
+        long hash1 = hash(value, 0);
+        long hash2 = hash(value, 0x9E3779B97F4A7C15L);
+        List<Stage> current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(hash1, hash2)) {
+                return;
+            }
+        }
+        Stage last = current.get(current.size() - 1);
+        if (last.isFull()) {
+            last = grow(last);
+        }
+        last.add(hash1, hash2);
+    }
+
+    /**
+     * Quantidade aproximada de elementos inseridos
+     */
+    long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count;
+        }
+        return size;
+    }
+
+    long bitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        List<Stage> current = stages;
+        Stage last = current.get(current.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        int index = current.size();
+        Stage next = new Stage(full.capacity * GROWTH_FACTOR,
+                falsePositiveRate * (1 - TIGHTENING_RATIO) * Math.pow(TIGHTENING_RATIO, index));
+        List<Stage> grown = new ArrayList<>(current);
+        grown.add(next);
+        stages = List.copyOf(grown);
+        return next;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os caracteres, finalizado com o mix do MurmurHash3
+     */
+    private static long hash(String value, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Stage {
+        final long capacity;
+        final long bits;
+        final int hashes;
+        final AtomicLongArray words;
+        volatile long count;
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.min((optimalBits + 63) / 64, Integer.MAX_VALUE));
+            this.bits = (long) words.length() * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count >= capacity;
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(hash1, hash2, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long hash1, long hash2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(hash1, hash2, i);
+                long mask = 1L << bit;
+                words.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+            }
+            count++;
+        }
+
+        private long index(long hash1, long hash2, int i) {
+            return ((hash1 + i * hash2) & Long.MAX_VALUE) % bits;
+        }
+    }
+}
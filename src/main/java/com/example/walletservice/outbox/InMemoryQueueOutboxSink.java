@@ -0,0 +1,41 @@
+package com.example.walletservice.outbox;
+
+import com.example.walletservice.entity.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Publica os eventos em uma fila limitada em memória, consumida por componentes do próprio
+ * processo. A fila nunca bloqueia o relay: ao encher, o evento mais antigo é descartado e
+ * apenas contado em {@code wallet.outbox.dropped}, sem log por evento.
+ */
+public class InMemoryQueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxEvent> queue;
+    private final Counter droppedEvents;
+
+    public InMemoryQueueOutboxSink(int capacity, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.droppedEvents = meterRegistry.counter("wallet.outbox.dropped");
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            while (!queue.offer(event)) {
+                OutboxEvent dropped = queue.poll();
+                if (dropped != null) {
+                    droppedEvents.increment();
+                }
+            }
+        }
+    }
+
+    public BlockingQueue<OutboxEvent> getQueue() {
+        return queue;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.walletservice.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Seleciona o destino do relay do outbox conforme {@code wallet.outbox.sink}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.outbox", name = "sink", havingValue = "file")
+    public FileOutboxSink fileOutboxSink(OutboxProperties outboxProperties) {
+        return new FileOutboxSink(Path.of(outboxProperties.getFilePath()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public InMemoryQueueOutboxSink inMemoryQueueOutboxSink(OutboxProperties outboxProperties, MeterRegistry meterRegistry) {
+        return new InMemoryQueueOutboxSink(outboxProperties.getQueueCapacity(), meterRegistry);
+    }
+}
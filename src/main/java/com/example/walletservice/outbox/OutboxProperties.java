@@ -0,0 +1,51 @@
+package com.example.walletservice.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do outbox transacional de eventos do livro-razão.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.outbox")
+public class OutboxProperties {
+
+    /**
+     * Grava eventos no outbox e habilita o relay. Desligado por padrão: cada lançamento paga
+     * um INSERT a mais, o que só se justifica com um consumidor para os eventos.
+     */
+    private boolean enabled = false;
+
+    /** Destino dos eventos publicados: {@code queue} (fila em memória) ou {@code file} (JSON lines). */
+    private String sink = "queue";
+
+    /** Intervalo entre execuções do relay, em milissegundos. */
+    private long pollIntervalMs = 500;
+
+    /** Quantidade máxima de eventos lidos e publicados por lote. */
+    private int batchSize = 500;
+
+    /**
+     * Idade mínima de um evento para ser publicado. Os IDs são atribuídos no INSERT, mas as
+     * transações podem confirmar fora de ordem; a espera evita que o checkpoint ultrapasse um
+     * evento de ID menor ainda não confirmado.
+     */
+    private Duration settleDelay = Duration.ofSeconds(2);
+
+    /** Tempo que eventos já publicados permanecem na tabela antes da limpeza. */
+    private Duration retention = Duration.ofDays(1);
+
+    /** Expressão cron da limpeza de eventos publicados. */
+    private String purgeCron = "0 0 * * * *";
+
+    /**
+     * Capacidade da fila em memória; ao encher, os eventos mais antigos são descartados e
+     * contados em {@code wallet.outbox.dropped}.
+     */
+    private int queueCapacity = 10000;
+
+    /** Arquivo de destino do sink {@code file}. */
+    private String filePath = "outbox/ledger-events.jsonl";
+}
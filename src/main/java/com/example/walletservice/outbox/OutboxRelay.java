@@ -0,0 +1,144 @@
+package com.example.walletservice.outbox;
+
+import com.example.walletservice.entity.JobCheckpoint;
+import com.example.walletservice.entity.OutboxEvent;
+import com.example.walletservice.repository.JobCheckpointRepository;
+import com.example.walletservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lê o outbox em lotes, na ordem de gravação, e publica no {@link OutboxSink} configurado.
+ * A posição do último evento publicado fica em {@code job_checkpoints}; a linha do checkpoint
+ * é bloqueada durante o lote, de modo que apenas uma instância publica por vez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "wallet.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    static final String CHECKPOINT_NAME = "outbox-relay";
+
+    private static final int RECENT_EVENT_IDS = 10_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final OutboxSink outboxSink;
+    private final OutboxProperties outboxProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * IDs publicados recentemente. Se o sink aceitou o lote mas o commit do checkpoint
+     * falhou, o lote volta na próxima execução e estes eventos não são reenviados.
+     */
+    private final Set<String> recentlyPublished = Collections.synchronizedSet(Collections.newSetFromMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > RECENT_EVENT_IDS;
+                }
+            }));
+
+    /**
+     * Execução agendada: publica lotes até esvaziar os eventos prontos
+     */
+    @Scheduled(fixedDelayString = "${wallet.outbox.poll-interval-ms:500}")
+    public void relayPending() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed >= outboxProperties.getBatchSize());
+        } catch (RuntimeException e) {
+            meterRegistry.counter("wallet.outbox.failures").increment();
+            log.warn("Falha ao publicar eventos do outbox; o lote será reenviado", e);
+        }
+    }
+
+    /**
+     * Publica um lote de eventos a partir do checkpoint
+     * @return Quantidade de eventos pelos quais o checkpoint avançou
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            JobCheckpoint checkpoint = jobCheckpointRepository.findByNameForUpdate(CHECKPOINT_NAME).orElse(null);
+            if (checkpoint == null) {
+                if (jobCheckpointRepository.existsById(CHECKPOINT_NAME)) {
+                    // Outra instância está publicando este lote
+                    return 0;
+                }
+                checkpoint = jobCheckpointRepository.save(JobCheckpoint.builder()
+                        .name(CHECKPOINT_NAME)
+                        .position(0L)
+                        .updatedAt(now)
+                        .build());
+            }
+
+            List<OutboxEvent> batch = settledPrefix(
+                    outboxEventRepository.findBatchAfter(checkpoint.getPosition(), PageRequest.of(0, outboxProperties.getBatchSize())),
+                    now.minus(outboxProperties.getSettleDelay()));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<OutboxEvent> fresh = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                if (!recentlyPublished.contains(event.getEventId())) {
+                    fresh.add(event);
+                }
+            }
+            if (!fresh.isEmpty()) {
+                outboxSink.publish(fresh);
+                fresh.forEach(event -> recentlyPublished.add(event.getEventId()));
+            }
+
+            checkpoint.setPosition(batch.get(batch.size() - 1).getId());
+            checkpoint.setUpdatedAt(now);
+            meterRegistry.counter("wallet.outbox.published").increment(fresh.size());
+            meterRegistry.counter("wallet.outbox.duplicates").increment(batch.size() - fresh.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    /**
+     * Remove eventos já publicados e mais antigos que a retenção
+     */
+    @Scheduled(cron = "${wallet.outbox.purge-cron:0 0 * * * *}")
+    public void purgePublished() {
+        Integer purged = transactionTemplate.execute(status -> jobCheckpointRepository.findById(CHECKPOINT_NAME)
+                .map(checkpoint -> outboxEventRepository.deletePublished(checkpoint.getPosition(),
+                        LocalDateTime.now().minus(outboxProperties.getRetention())))
+                .orElse(0));
+        log.debug("Limpeza do outbox: {} eventos publicados removidos", purged);
+    }
+
+    /**
+     * Mantém apenas o prefixo do lote com eventos gravados antes do limite. Parar no primeiro
+     * evento recente preserva a ordem e impede que o checkpoint salte um ID menor.
+     */
+    private List<OutboxEvent> settledPrefix(List<OutboxEvent> batch, LocalDateTime settledBefore) {
+        int end = 0;
+        while (end < batch.size() && !batch.get(end).getCreatedAt().isAfter(settledBefore)) {
+            end++;
+        }
+        return batch.subList(0, end);
+    }
+}
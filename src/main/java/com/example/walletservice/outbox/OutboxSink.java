@@ -0,0 +1,18 @@
+package com.example.walletservice.outbox;
+
+import com.example.walletservice.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos publicados pelo relay do outbox. A entrega é "pelo menos uma vez":
+ * uma falha faz o lote inteiro ser reenviado, e consumidores devem deduplicar por {@code eventId}.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publica um lote de eventos, na ordem em que foram gravados
+     * @param events Eventos a publicar
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,46 @@
+package com.example.walletservice.outbox;
+
+import com.example.walletservice.entity.OutboxEvent;
+import com.example.walletservice.event.WalletLedgerEvent;
+import com.example.walletservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Grava cada evento do livro-razão no outbox imediatamente antes do commit, na mesma
+ * transação da alteração de saldo: ou ambos são confirmados, ou nenhum é.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.outbox", name = "enabled", havingValue = "true")
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLedgerEvent(WalletLedgerEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getTransaction().getType().name())
+                .aggregateId(event.getOwnerId())
+                .payload(toJson(event))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private String toJson(WalletLedgerEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento " + event.getEventId(), e);
+        }
+    }
+}
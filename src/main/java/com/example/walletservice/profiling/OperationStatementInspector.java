@@ -0,0 +1,32 @@
+package com.example.walletservice.profiling;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Conta os statements que o Hibernate prepara durante a operação medida, incluindo as
+ * consultas nativas. O SQL segue inalterado; inserts em lote contam uma vez por lote.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.profiling", name = "enabled", havingValue = "true")
+public class OperationStatementInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    @Override
+    public String inspect(String sql) {
+        OperationTrace trace = OperationTrace.current();
+        if (trace != null) {
+            trace.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.walletservice.profiling;
+
+/**
+ * Medições da operação em andamento na thread atual, preenchidas pelos ganchos do Hibernate,
+ * do gerenciador de transações e dos eventos do livro-razão. Só existe enquanto uma gravação
+ * JFR com o {@link WalletOperationEvent} estiver ativa; fora disso {@link #current()} é nulo e
+ * cada gancho custa uma leitura de {@link ThreadLocal}.
+ */
+final class OperationTrace {
+
+    private static final ThreadLocal<OperationTrace> CURRENT = new ThreadLocal<>();
+
+    private final OperationTrace previous;
+
+    int statements;
+    int transactions;
+    long walletId;
+    long targetWalletId;
+
+    private long beginStarted;
+    private long begun;
+    private long completionStarted;
+    private long completed;
+
+    private OperationTrace(OperationTrace previous) {
+        this.previous = previous;
+    }
+
+    static OperationTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Inicia as medições na thread atual; chamadas aninhadas restauram a medição externa em {@link #close()}
+     */
+    static OperationTrace open() {
+        OperationTrace trace = new OperationTrace(CURRENT.get());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void beforeBegin() {
+        transactions++;
+        // Só a primeira transação da operação é dividida em fases
+        if (beginStarted == 0) {
+            beginStarted = System.nanoTime();
+        }
+    }
+
+    void afterBegin() {
+        if (begun == 0) {
+            begun = System.nanoTime();
+        }
+    }
+
+    void beforeCompletion() {
+        if (completionStarted == 0 && begun != 0) {
+            completionStarted = System.nanoTime();
+        }
+    }
+
+    void afterCompletion() {
+        if (completed == 0 && completionStarted != 0) {
+            completed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Registra a carteira de um lançamento: a primeira é a de origem, a seguinte a de destino
+     */
+    void wallet(Long id) {
+        if (id == null) {
+            return;
+        }
+        if (walletId == 0) {
+            walletId = id;
+        } else if (targetWalletId == 0 && id != walletId) {
+            targetWalletId = id;
+        }
+    }
+
+    long beginDuration() {
+        return begun == 0 ? 0 : begun - beginStarted;
+    }
+
+    long workDuration() {
+        return completionStarted == 0 ? 0 : completionStarted - begun;
+    }
+
+    long completionDuration() {
+        return completed == 0 ? 0 : completed - completionStarted;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.walletservice.profiling;
+
+import com.example.walletservice.event.WalletLedgerEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Divide a operação medida em fases da transação (início, trabalho e conclusão) e anota as
+ * carteiras dos lançamentos publicados. O Spring Boot registra este listener no gerenciador de
+ * transações; fora de uma medição os callbacks só consultam {@link OperationTrace#current()}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.profiling", name = "enabled", havingValue = "true")
+public class OperationTraceListener implements TransactionExecutionListener {
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        OperationTrace trace = OperationTrace.current();
+        if (trace != null) {
+            trace.beforeBegin();
+        }
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        OperationTrace trace = OperationTrace.current();
+        if (trace != null) {
+            trace.afterBegin();
+        }
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        beforeCompletion();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        afterCompletion();
+    }
+
+    @Override
+    public void beforeRollback(TransactionExecution transaction) {
+        beforeCompletion();
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        afterCompletion();
+    }
+
+    @EventListener
+    public void onLedgerEvent(WalletLedgerEvent event) {
+        OperationTrace trace = OperationTrace.current();
+        if (trace != null && event.getWallet() != null) {
+            trace.wallet(event.getWallet().getId());
+        }
+    }
+
+    private void beforeCompletion() {
+        OperationTrace trace = OperationTrace.current();
+        if (trace != null) {
+            trace.beforeCompletion();
+        }
+    }
+
+    private void afterCompletion() {
+        OperationTrace trace = OperationTrace.current();
+        if (trace != null) {
+            trace.afterCompletion();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.walletservice.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * Hash de 64 bits dos ownerIds gravados nos eventos (FNV-1a com sal e mistura final), para que
+ * uma gravação possa sair do ambiente sem expor identificadores de clientes e ainda permita
+ * agrupar as operações de um mesmo proprietário.
+ */
+final class OwnerHasher {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Um sal curto deixa os hashes reversíveis por dicionário de ownerIds */
+    static final int MIN_SALT_LENGTH = 16;
+
+    private final long seed;
+
+    /**
+     * @param salt Sal configurado; nulo ou vazio gera 128 bits aleatórios
+     * @throws IllegalArgumentException Se o sal configurado for mais curto que {@link #MIN_SALT_LENGTH}
+     */
+    OwnerHasher(String salt) {
+        long hash = FNV_OFFSET;
+        if (salt == null || salt.isEmpty()) {
+            SecureRandom random = new SecureRandom();
+            hash = mix(hash ^ random.nextLong()) ^ random.nextLong();
+        } else if (salt.length() < MIN_SALT_LENGTH) {
+            throw new IllegalArgumentException("wallet.profiling.owner-hash-salt deve ter ao menos "
+                    + MIN_SALT_LENGTH + " caracteres");
+        } else {
+            hash = fnv(hash, salt);
+        }
+        this.seed = hash;
+    }
+
+    long hash(String ownerId) {
+        return ownerId == null ? 0 : mix(fnv(seed, ownerId));
+    }
+
+    private static long fnv(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.walletservice.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Endpoint de atuador {@code /actuator/profiling}: GET lista as gravações JFR, POST inicia uma
+ * ({@code duration=90s}, {@code maxSize=64MB}, limitados pela configuração), DELETE para a
+ * gravação em andamento e GET {@code /actuator/profiling/{id}} baixa o arquivo {@code .jfr}.
+ */
+@Component
+@Endpoint(id = "profiling")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.profiling", name = "enabled", havingValue = "true")
+public class ProfilingEndpoint {
+
+    private final ProfilingRecorder profilingRecorder;
+
+    @ReadOperation
+    public ProfilingStatus status() {
+        return profilingRecorder.getStatus();
+    }
+
+    @WriteOperation
+    public ProfilingStatus start(@Nullable Duration duration, @Nullable DataSize maxSize) throws IOException, ParseException {
+        try {
+            profilingRecorder.start(duration, maxSize);
+        } catch (IllegalStateException e) {
+            // Já há uma gravação em andamento; o status a mostra
+        }
+        return profilingRecorder.getStatus();
+    }
+
+    @DeleteOperation
+    public ProfilingStatus stop() {
+        return profilingRecorder.stop();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Selector long id) throws IOException {
+        return profilingRecorder.export(id)
+                .<WebEndpointResponse<Resource>>map(file -> new WebEndpointResponse<>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
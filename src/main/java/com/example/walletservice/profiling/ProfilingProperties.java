@@ -0,0 +1,44 @@
+package com.example.walletservice.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuração dos eventos JFR das operações de carteira e das gravações sob demanda.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.profiling")
+public class ProfilingProperties {
+
+    /**
+     * Registra os eventos e o endpoint {@code /actuator/profiling}, que também precisa ser
+     * incluído em {@code management.endpoints.web.exposure.include}. Desligado por padrão: o
+     * endpoint inicia gravações e entrega os arquivos, e deve ficar atrás de autenticação.
+     */
+    private boolean enabled = false;
+
+    /** Configuração JFR da gravação ({@code default} ou {@code profile}, com amostragem de métodos). */
+    private String settings = "profile";
+
+    /** Duração de uma gravação sem duração informada, e limite da duração informada. */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /** Tamanho máximo de uma gravação; ao atingi-lo os dados mais antigos são descartados. */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /** Diretório dos arquivos {@code .jfr}. */
+    private String directory = "recordings";
+
+    /** Gravações concluídas mantidas para download; as mais antigas são apagadas. */
+    private int retainedRecordings = 5;
+
+    /**
+     * Sal do hash dos ownerIds nos eventos, com ao menos 16 caracteres. Vazio gera um sal
+     * aleatório por processo; com o mesmo valor em todas as instâncias os hashes podem ser
+     * correlacionados entre elas.
+     */
+    private String ownerHashSalt = "";
+}
@@ -0,0 +1,150 @@
+package com.example.walletservice.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Gravações JFR sob demanda, uma por vez, sempre limitadas em duração e tamanho para que
+ * possam ficar ligadas em produção. Cada gravação é escrita em um arquivo do diretório
+ * configurado ao parar; só as últimas {@code retainedRecordings} são mantidas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.profiling", name = "enabled", havingValue = "true")
+public class ProfilingRecorder {
+
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.InitialSecurityProperty", "jdk.JVMInformation", "jdk.ProcessStart");
+
+    private final ProfilingProperties properties;
+    private final Deque<Recording> recordings = new ArrayDeque<>();
+
+    public ProfilingRecorder(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Inicia uma gravação com a configuração JFR e o {@link WalletOperationEvent} habilitados
+     * @param duration Duração pedida; nula ou acima de {@code maxDuration} usa {@code maxDuration}
+     * @param maxSize Tamanho pedido; nulo ou acima de {@code maxSize} usa {@code maxSize}
+     * @throws IllegalStateException Se já houver uma gravação em andamento
+     */
+    public synchronized ProfilingStatus.RecordingInfo start(Duration duration, DataSize maxSize)
+            throws IOException, ParseException {
+        Recording running = running();
+        if (running != null) {
+            throw new IllegalStateException("Gravação " + running.getId() + " já está em andamento");
+        }
+        Path directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        Recording recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        recording.setName("wallet-profiling");
+        recording.enable(WalletOperationEvent.class);
+        // Ambiente, propriedades, argumentos da JVM e linhas de comando podem conter credenciais
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        recording.setDuration(duration == null || duration.compareTo(properties.getMaxDuration()) > 0
+                ? properties.getMaxDuration() : duration);
+        recording.setMaxSize(maxSize == null || maxSize.compareTo(properties.getMaxSize()) > 0
+                ? properties.getMaxSize().toBytes() : maxSize.toBytes());
+        recording.setToDisk(true);
+        recording.setDestination(directory.resolve("wallet-" + System.currentTimeMillis() + "-" + recording.getId() + ".jfr"));
+        recording.start();
+        recordings.addFirst(recording);
+        evict();
+        log.info("Gravação JFR {} iniciada por até {} em {}", recording.getId(), recording.getDuration(), recording.getDestination());
+        return info(recording);
+    }
+
+    /**
+     * Para a gravação em andamento, escrevendo o arquivo de destino
+     */
+    public synchronized ProfilingStatus stop() {
+        Recording running = running();
+        if (running != null) {
+            running.stop();
+            log.info("Gravação JFR {} encerrada em {}", running.getId(), running.getDestination());
+        }
+        return getStatus();
+    }
+
+    /**
+     * Arquivo da gravação para download. De uma gravação em andamento é exportado um instantâneo
+     * com os dados até agora, sobrescrito a cada pedido e apagado junto com a gravação.
+     * @return Arquivo da gravação, ou vazio se o id não for conhecido ou a gravação foi descartada
+     */
+    public synchronized Optional<Path> export(long id) throws IOException {
+        for (Recording recording : recordings) {
+            if (recording.getId() != id) {
+                continue;
+            }
+            if (recording.getState() == RecordingState.RUNNING) {
+                Path snapshot = snapshot(recording);
+                recording.dump(snapshot);
+                return Optional.of(snapshot);
+            }
+            Path destination = recording.getDestination();
+            return Files.exists(destination) ? Optional.of(destination) : Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    public synchronized ProfilingStatus getStatus() {
+        return ProfilingStatus.builder()
+                .recordings(recordings.stream().map(ProfilingRecorder::info).toList())
+                .build();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        // Fechar sem parar descartaria os dados; a gravação em andamento ainda é escrita
+        stop();
+        recordings.forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private Recording running() {
+        Recording latest = recordings.peekFirst();
+        return latest != null && (latest.getState() == RecordingState.RUNNING || latest.getState() == RecordingState.DELAYED)
+                ? latest : null;
+    }
+
+    private void evict() throws IOException {
+        while (recordings.size() > Math.max(1, properties.getRetainedRecordings())) {
+            Recording oldest = recordings.removeLast();
+            oldest.close();
+            Files.deleteIfExists(oldest.getDestination());
+            Files.deleteIfExists(snapshot(oldest));
+        }
+    }
+
+    private static Path snapshot(Recording recording) {
+        return recording.getDestination().resolveSibling("snapshot-" + recording.getDestination().getFileName());
+    }
+
+    private static ProfilingStatus.RecordingInfo info(Recording recording) {
+        return ProfilingStatus.RecordingInfo.builder()
+                .id(recording.getId())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .duration(recording.getDuration())
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .file(recording.getDestination().getFileName().toString())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.walletservice.profiling;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Gravações JFR conhecidas pelo {@link ProfilingRecorder}, da mais recente para a mais antiga
+ */
+@Value
+@Builder
+public class ProfilingStatus {
+
+    List<RecordingInfo> recordings;
+
+    @Value
+    @Builder
+    public static class RecordingInfo {
+        long id;
+        String state;
+        Instant startTime;
+        Duration duration;
+        long maxSizeBytes;
+        /** Bytes gravados até agora; o arquivo final só existe depois que a gravação para */
+        long sizeBytes;
+        String file;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.walletservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de uma operação do {@code WalletService}. A duração do evento é a da operação
+ * completa; as fases vêm do gerenciador de transações e a contagem de SQL do Hibernate.
+ * Proprietários aparecem apenas como hash.
+ */
+@Name("com.example.wallet.Operation")
+@Label("Wallet Operation")
+@Category({"Wallet Service"})
+@Description("Operação do WalletService com fases da transação e statements executados")
+@StackTrace(false)
+public class WalletOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Owner Hash")
+    long ownerHash;
+
+    @Label("Target Owner Hash")
+    long targetOwnerHash;
+
+    @Label("Wallet Id")
+    long walletId;
+
+    @Label("Target Wallet Id")
+    long targetWalletId;
+
+    @Label("Outcome")
+    @Description("OK, código de erro da API ou nome da exceção")
+    String outcome;
+
+    @Label("Connection Wait")
+    @Description("Início da transação: obtenção da conexão e configuração")
+    @Timespan(Timespan.NANOSECONDS)
+    long beginDuration;
+
+    @Label("Work")
+    @Description("Da transação aberta até o pedido de commit ou rollback")
+    @Timespan(Timespan.NANOSECONDS)
+    long workDuration;
+
+    @Label("Completion")
+    @Description("Commit (incluindo o flush) ou rollback")
+    @Timespan(Timespan.NANOSECONDS)
+    long completionDuration;
+
+    @Label("Transactions")
+    @Description("Transações iniciadas pela operação; só a primeira é dividida em fases")
+    int transactions;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+}
@@ -0,0 +1,83 @@
+package com.example.walletservice.profiling;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.exception.DomainException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emite um {@link WalletOperationEvent} por chamada ao {@code WalletService}. Executa fora do
+ * interceptor transacional para medir o commit e ver os conflitos de versão. Sem gravação
+ * ativa o evento não é habilitado e a chamada segue direto, sem abrir medições.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "wallet.profiling", name = "enabled", havingValue = "true")
+public class WalletOperationProfilingAspect {
+
+    private final OwnerHasher ownerHasher;
+
+    public WalletOperationProfilingAspect(ProfilingProperties properties) {
+        this.ownerHasher = new OwnerHasher(properties.getOwnerHashSalt());
+    }
+
+    @Around("execution(public * com.example.walletservice.service.WalletService.*(..))")
+    public Object profile(ProceedingJoinPoint joinPoint) throws Throwable {
+        WalletOperationEvent event = new WalletOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        OperationTrace trace = OperationTrace.open();
+        event.begin();
+        String outcome = "OK";
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (DomainException e) {
+            outcome = e.getErrorCode().name();
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            outcome = "VERSION_CONFLICT";
+            throw e;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            trace.close();
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, joinPoint, trace, outcome, result);
+            }
+        }
+    }
+
+    private void commit(WalletOperationEvent event, ProceedingJoinPoint joinPoint, OperationTrace trace,
+                        String outcome, Object result) {
+        Object[] args = joinPoint.getArgs();
+        String operation = joinPoint.getSignature().getName();
+        event.operation = operation;
+        event.ownerHash = ownerHasher.hash((String) args[0]);
+        if ("transfer".equals(operation)) {
+            event.targetOwnerHash = ownerHasher.hash((String) args[1]);
+        }
+        // Leituras não publicam lançamentos; a carteira vem do próprio resultado
+        event.walletId = trace.walletId == 0 && result instanceof WalletDTO wallet && wallet.getId() != null
+                ? wallet.getId() : trace.walletId;
+        event.targetWalletId = trace.targetWalletId;
+        event.outcome = outcome;
+        event.beginDuration = trace.beginDuration();
+        event.workDuration = trace.workDuration();
+        event.completionDuration = trace.completionDuration();
+        event.transactions = trace.transactions;
+        event.sqlStatements = trace.statements;
+        event.commit();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.walletservice.reconciliation;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Espaça o início das faixas para respeitar um limite global de faixas por segundo,
+ * permitindo rodar a reconciliação com o serviço no ar.
+ */
+final class ChunkThrottle {
+
+    private final long intervalNanos;
+    private long nextSlot;
+
+    ChunkThrottle(double chunksPerSecond) {
+        this.intervalNanos = chunksPerSecond > 0 ? (long) (1_000_000_000L / chunksPerSecond) : 0;
+    }
+
+    void acquire() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
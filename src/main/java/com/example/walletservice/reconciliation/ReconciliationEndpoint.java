@@ -0,0 +1,40 @@
+package com.example.walletservice.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de atuador {@code /actuator/reconciliation}: GET consulta o progresso e as divergências,
+ * POST inicia uma execução (com {@code resume=true} retoma do checkpoint) e DELETE a cancela.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+
+    private final ReconciliationService reconciliationService;
+
+    @ReadOperation
+    public ReconciliationReport report() {
+        return reconciliationService.getReport();
+    }
+
+    @WriteOperation
+    public ReconciliationReport start(@Nullable Boolean resume) {
+        try {
+            return reconciliationService.start(Boolean.TRUE.equals(resume));
+        } catch (IllegalStateException e) {
+            return reconciliationService.getReport();
+        }
+    }
+
+    @DeleteOperation
+    public ReconciliationReport cancel() {
+        return reconciliationService.cancel();
+    }
+}
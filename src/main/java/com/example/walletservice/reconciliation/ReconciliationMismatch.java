@@ -0,0 +1,30 @@
+package com.example.walletservice.reconciliation;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Carteira cujo saldo não confere com o livro-razão.
+ */
+@Value
+@Builder
+public class ReconciliationMismatch {
+
+    public enum Reason {
+        /** Saldo diferente da soma dos lançamentos (tabela quente + arquivo). */
+        LEDGER_SUM,
+        /** Saldo diferente do {@code balanceAfterTransaction} do último lançamento. */
+        LAST_BALANCE
+    }
+
+    String shard;
+    Long walletId;
+    String ownerId;
+    BigDecimal balance;
+    BigDecimal ledgerTotal;
+    BigDecimal lastBalanceAfterTransaction;
+    long entries;
+    Reason reason;
+}
@@ -0,0 +1,30 @@
+package com.example.walletservice.reconciliation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração da reconciliação de saldos com o livro-razão.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.reconciliation")
+public class ReconciliationProperties {
+
+    /** Expressão cron da execução agendada; {@code -} desabilita o agendamento. */
+    private String cron = "-";
+
+    /** Faixa de IDs de carteira verificada por consulta. */
+    private int chunkSize = 1000;
+
+    /** Consultas de faixa executadas em paralelo. */
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Limite de faixas por segundo somando todas as threads; 0 para não limitar. */
+    private double maxChunksPerSecond = 0;
+
+    /** Linhas buscadas por ida ao banco ao percorrer o resultado de uma faixa. */
+    private int fetchSize = 500;
+
+    /** Divergências mantidas no relatório; as demais são apenas contadas. */
+    private int maxReportedMismatches = 1000;
+}
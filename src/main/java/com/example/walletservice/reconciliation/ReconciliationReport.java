@@ -0,0 +1,32 @@
+package com.example.walletservice.reconciliation;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Situação de uma execução da reconciliação.
+ */
+@Value
+@Builder
+public class ReconciliationReport {
+
+    public enum Status { IDLE, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    String runId;
+    Status status;
+    LocalDateTime startedAt;
+    LocalDateTime finishedAt;
+    long chunksTotal;
+    long chunksDone;
+    long walletsChecked;
+    long mismatchCount;
+    List<ReconciliationMismatch> mismatches;
+    String error;
+
+    public double getProgress() {
+        return chunksTotal == 0 ? (status == Status.COMPLETED ? 1.0 : 0.0) : (double) chunksDone / chunksTotal;
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.walletservice.reconciliation;
+
+import com.example.walletservice.entity.JobCheckpoint;
+import com.example.walletservice.repository.JobCheckpointRepository;
+import com.example.walletservice.sharding.ConsistentHashRing;
+import com.example.walletservice.sharding.ShardContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Confere o saldo de cada carteira (base mais faixas) com o livro-razão: a soma dos lançamentos
+ * (tabela quente e arquivo frio) e o {@code balanceAfterTransaction} do último lançamento. As
+ * carteiras são percorridas em faixas de ID, cada faixa resolvida por uma única consulta agregada
+ * (um snapshot consistente mesmo com o serviço no ar), em paralelo num {@link ForkJoinPool}.
+ *
+ * <p>O progresso fica em {@code job_checkpoints} como o maior ID tal que todas as faixas até ele
+ * foram verificadas; uma execução interrompida pode ser retomada a partir dele.</p>
+ */
+@Service
+@Slf4j
+public class ReconciliationService {
+
+    static final String CHECKPOINT_NAME = "reconciliation";
+
+    private static final String ID_RANGE_SQL = "SELECT MIN(id), MAX(id) FROM wallets";
+
+    private static final String CHUNK_SQL = "SELECT w.id, w.owner_id, w.balance + COALESCE(s.total_balance, 0) AS balance, w.stripe_count, "
+            + "COALESCE(h.total_amount, 0) + COALESCE(hi.total_amount, 0) "
+            + "+ COALESCE(a.total_amount, 0) + COALESCE(ai.total_amount, 0) AS ledger_total, "
+            + "COALESCE(h.entry_count, 0) + COALESCE(hi.entry_count, 0) "
+            + "+ COALESCE(a.entry_count, 0) + COALESCE(ai.entry_count, 0) AS entry_count, "
+            + "COALESCE(CASE WHEN hi.last_id > COALESCE(h.last_id, 0) THEN hil.related_balance_after ELSE hl.balance_after_transaction END, "
+            + "CASE WHEN ai.last_id > COALESCE(a.last_id, 0) THEN ail.related_balance_after ELSE al.balance_after_transaction END) AS last_balance "
+            + "FROM wallets w "
+            + "LEFT JOIN (SELECT wallet_id, SUM(amount) AS total_amount, COUNT(*) AS entry_count, MAX(id) AS last_id "
+            + "FROM transactions WHERE wallet_id BETWEEN ? AND ? GROUP BY wallet_id) h ON h.wallet_id = w.id "
+            + "LEFT JOIN transactions hl ON hl.id = h.last_id "
+            // Transferências de linha única creditam a carteira pela coluna related_wallet_id
+            + "LEFT JOIN (SELECT related_wallet_id AS wallet_id, SUM(-amount) AS total_amount, COUNT(*) AS entry_count, MAX(id) AS last_id "
+            + "FROM transactions WHERE type = 'TRANSFER' AND related_wallet_id BETWEEN ? AND ? GROUP BY related_wallet_id) hi ON hi.wallet_id = w.id "
+            + "LEFT JOIN transactions hil ON hil.id = hi.last_id "
+            + "LEFT JOIN (SELECT wallet_id, SUM(amount) AS total_amount, COUNT(*) AS entry_count, MAX(id) AS last_id "
+            + "FROM transactions_archive WHERE wallet_id BETWEEN ? AND ? GROUP BY wallet_id) a ON a.wallet_id = w.id "
+            + "LEFT JOIN transactions_archive al ON al.id = a.last_id "
+            + "LEFT JOIN (SELECT related_wallet_id AS wallet_id, SUM(-amount) AS total_amount, COUNT(*) AS entry_count, MAX(id) AS last_id "
+            + "FROM transactions_archive WHERE type = 'TRANSFER' AND related_wallet_id BETWEEN ? AND ? GROUP BY related_wallet_id) ai ON ai.wallet_id = w.id "
+            + "LEFT JOIN transactions_archive ail ON ail.id = ai.last_id "
+            + "LEFT JOIN (SELECT wallet_id, SUM(balance) AS total_balance "
+            + "FROM wallet_stripes WHERE wallet_id BETWEEN ? AND ? GROUP BY wallet_id) s ON s.wallet_id = w.id "
+            + "WHERE w.id BETWEEN ? AND ? "
+            + "ORDER BY w.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final ReconciliationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Optional<ConsistentHashRing> shardRing;
+    private final ExecutorService coordinator;
+    private final AtomicReference<RunState> current = new AtomicReference<>();
+    private volatile ReconciliationReport lastReport = ReconciliationReport.builder()
+            .status(ReconciliationReport.Status.IDLE)
+            .mismatches(List.of())
+            .build();
+
+    public ReconciliationService(DataSource dataSource,
+                                 JobCheckpointRepository jobCheckpointRepository,
+                                 ReconciliationProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 Optional<ConsistentHashRing> shardRing) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.shardRing = shardRing;
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wallet-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("wallet.reconciliation.progress", this, service -> service.getReport().getProgress())
+                .description("Fração das faixas de carteiras verificadas na execução atual")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${wallet.reconciliation.cron:-}")
+    public void runScheduled() {
+        try {
+            run(true);
+        } catch (IllegalStateException e) {
+            log.info("Reconciliação agendada ignorada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia a reconciliação em segundo plano
+     * @param resume true para continuar a partir do último checkpoint
+     * @return Situação inicial da execução
+     * @throws IllegalStateException se já houver uma execução em andamento
+     */
+    public ReconciliationReport start(boolean resume) {
+        RunState state = begin();
+        coordinator.execute(() -> execute(state, resume));
+        return state.snapshot();
+    }
+
+    /**
+     * Executa a reconciliação na thread atual
+     * @param resume true para continuar a partir do último checkpoint
+     * @return Relatório final
+     * @throws IllegalStateException se já houver uma execução em andamento
+     */
+    public ReconciliationReport run(boolean resume) {
+        execute(begin(), resume);
+        return lastReport;
+    }
+
+    /**
+     * Solicita o cancelamento da execução atual; as faixas em andamento terminam normalmente
+     * e o checkpoint permanece para retomada
+     */
+    public ReconciliationReport cancel() {
+        RunState state = current.get();
+        if (state != null) {
+            state.cancelled = true;
+        }
+        return getReport();
+    }
+
+    public ReconciliationReport getReport() {
+        RunState state = current.get();
+        return state != null ? state.snapshot() : lastReport;
+    }
+
+    private RunState begin() {
+        RunState state = new RunState(properties.getMaxReportedMismatches());
+        if (!current.compareAndSet(null, state)) {
+            throw new IllegalStateException("Já existe uma reconciliação em andamento");
+        }
+        return state;
+    }
+
+    private void execute(RunState state, boolean resume) {
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        ChunkThrottle throttle = new ChunkThrottle(properties.getMaxChunksPerSecond());
+        try {
+            for (String shard : shards()) {
+                if (state.cancelled) {
+                    break;
+                }
+                reconcileShard(pool, throttle, state, shard, resume);
+            }
+            state.finish(state.cancelled ? ReconciliationReport.Status.CANCELLED : ReconciliationReport.Status.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Falha na reconciliação {}", state.runId, e);
+            state.finish(ReconciliationReport.Status.FAILED, e.getMessage());
+        } finally {
+            pool.shutdown();
+            lastReport = state.snapshot();
+            current.set(null);
+            meterRegistry.counter("wallet.reconciliation.runs", "status", lastReport.getStatus().name()).increment();
+            log.info("Reconciliação {} finalizada: {} carteiras verificadas, {} divergências ({})",
+                    state.runId, lastReport.getWalletsChecked(), lastReport.getMismatchCount(), lastReport.getStatus());
+        }
+    }
+
+    private void reconcileShard(ForkJoinPool pool, ChunkThrottle throttle, RunState state, String shard, boolean resume) {
+        String checkpointName = shard == null ? CHECKPOINT_NAME : CHECKPOINT_NAME + ":" + shard;
+        Long[] range = inShard(shard, () -> jdbcTemplate.queryForObject(ID_RANGE_SQL,
+                (rs, rowNum) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)}));
+        if (range == null || range[0] == null) {
+            return;
+        }
+
+        long resumeAfter = resume
+                ? inShard(shard, () -> jobCheckpointRepository.findById(checkpointName).map(JobCheckpoint::getPosition).orElse(0L))
+                : 0L;
+        long firstId = Math.max(range[0], resumeAfter + 1);
+        if (firstId > range[1]) {
+            saveCheckpoint(shard, checkpointName, 0L);
+            return;
+        }
+
+        ShardRun shardRun = new ShardRun(shard, checkpointName, firstId, range[1], properties.getChunkSize());
+        state.chunksTotal.addAndGet(shardRun.chunkCount());
+        pool.invoke(new RangeTask(shardRun, state, throttle, 0, shardRun.chunkCount() - 1));
+
+        if (!state.cancelled) {
+            // Execução concluída neste shard: a próxima sem retomada começa do início
+            saveCheckpoint(shard, checkpointName, 0L);
+        }
+    }
+
+    private void reconcileChunk(ShardRun shardRun, RunState state, long chunk) {
+        long fromId = shardRun.firstId + chunk * shardRun.chunkSize;
+        long toId = Math.min(fromId + shardRun.chunkSize - 1, shardRun.lastId);
+        long[] wallets = {0};
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inShard(shardRun.shard, () -> {
+            jdbcTemplate.query(CHUNK_SQL, rs -> {
+                wallets[0]++;
+                BigDecimal balance = rs.getBigDecimal("balance");
+                BigDecimal ledgerTotal = rs.getBigDecimal("ledger_total");
+                BigDecimal lastBalance = rs.getBigDecimal("last_balance");
+                long entries = rs.getLong("entry_count");
+
+                ReconciliationMismatch.Reason reason = null;
+                if (balance.compareTo(ledgerTotal) != 0) {
+                    reason = ReconciliationMismatch.Reason.LEDGER_SUM;
+                } else if (lastBalance != null && rs.getInt("stripe_count") == 0 && balance.compareTo(lastBalance) != 0) {
+                    // Em carteiras listradas o último lançamento pode registrar só o saldo de uma faixa
+                    reason = ReconciliationMismatch.Reason.LAST_BALANCE;
+                }
+                if (reason != null) {
+                    state.addMismatch(ReconciliationMismatch.builder()
+                            .shard(shardRun.shard)
+                            .walletId(rs.getLong("id"))
+                            .ownerId(rs.getString("owner_id"))
+                            .balance(balance)
+                            .ledgerTotal(ledgerTotal)
+                            .lastBalanceAfterTransaction(lastBalance)
+                            .entries(entries)
+                            .reason(reason)
+                            .build());
+                    meterRegistry.counter("wallet.reconciliation.mismatches", "reason", reason.name()).increment();
+                }
+            }, fromId, toId, fromId, toId, fromId, toId, fromId, toId, fromId, toId, fromId, toId);
+            return null;
+        });
+        sample.stop(meterRegistry.timer("wallet.reconciliation.chunk"));
+
+        meterRegistry.counter("wallet.reconciliation.wallets").increment(wallets[0]);
+        state.walletsChecked.addAndGet(wallets[0]);
+        state.chunksDone.incrementAndGet();
+        shardRun.complete(fromId, toId);
+    }
+
+    private void saveCheckpoint(String shard, String name, long position) {
+        inShard(shard, () -> jobCheckpointRepository.save(JobCheckpoint.builder()
+                .name(name)
+                .position(position)
+                .updatedAt(LocalDateTime.now())
+                .build()));
+    }
+
+    private List<String> shards() {
+        return shardRing.map(ConsistentHashRing::getShards).orElse(Collections.singletonList(null));
+    }
+
+    private <T> T inShard(String shard, Supplier<T> work) {
+        return shard == null ? work.get() : ShardContext.callIn(shard, work);
+    }
+
+    /**
+     * Divide a faixa de blocos ao meio até chegar a um bloco, que é verificado pela própria tarefa
+     */
+    private final class RangeTask extends RecursiveAction {
+
+        private final ShardRun shardRun;
+        private final RunState state;
+        private final ChunkThrottle throttle;
+        private final long firstChunk;
+        private final long lastChunk;
+
+        private RangeTask(ShardRun shardRun, RunState state, ChunkThrottle throttle, long firstChunk, long lastChunk) {
+            this.shardRun = shardRun;
+            this.state = state;
+            this.throttle = throttle;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (state.cancelled) {
+                return;
+            }
+            if (firstChunk == lastChunk) {
+                throttle.acquire();
+                reconcileChunk(shardRun, state, firstChunk);
+                return;
+            }
+            long middle = (firstChunk + lastChunk) >>> 1;
+            invokeAll(new RangeTask(shardRun, state, throttle, firstChunk, middle),
+                    new RangeTask(shardRun, state, throttle, middle + 1, lastChunk));
+        }
+    }
+
+    /**
+     * Faixa de IDs de um shard e a marca d'água das faixas concluídas, que só avança sobre
+     * faixas contíguas: faixas terminadas fora de ordem aguardam as anteriores
+     */
+    private final class ShardRun {
+
+        private final String shard;
+        private final String checkpointName;
+        private final long firstId;
+        private final long lastId;
+        private final int chunkSize;
+        private final TreeMap<Long, Long> completed = new TreeMap<>();
+        private long watermark;
+
+        private ShardRun(String shard, String checkpointName, long firstId, long lastId, int chunkSize) {
+            this.shard = shard;
+            this.checkpointName = checkpointName;
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.chunkSize = chunkSize;
+            this.watermark = firstId - 1;
+        }
+
+        long chunkCount() {
+            return (lastId - firstId) / chunkSize + 1;
+        }
+
+        synchronized void complete(long fromId, long toId) {
+            completed.put(fromId, toId);
+            long before = watermark;
+            Long next;
+            while ((next = completed.remove(watermark + 1)) != null) {
+                watermark = next;
+            }
+            if (watermark != before) {
+                saveCheckpoint(shard, checkpointName, watermark);
+            }
+        }
+    }
+
+    private static final class RunState {
+
+        private final String runId = UUID.randomUUID().toString();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final int maxReportedMismatches;
+        private final AtomicLong chunksTotal = new AtomicLong();
+        private final AtomicLong chunksDone = new AtomicLong();
+        private final AtomicLong walletsChecked = new AtomicLong();
+        private final AtomicLong mismatchCount = new AtomicLong();
+        private final List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        private volatile boolean cancelled;
+        private volatile ReconciliationReport.Status status = ReconciliationReport.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private RunState(int maxReportedMismatches) {
+            this.maxReportedMismatches = maxReportedMismatches;
+        }
+
+        void addMismatch(ReconciliationMismatch mismatch) {
+            mismatchCount.incrementAndGet();
+            log.warn("Divergência na carteira {} ({}): saldo {}, lançamentos {}, último saldo {}",
+                    mismatch.getWalletId(), mismatch.getReason(), mismatch.getBalance(),
+                    mismatch.getLedgerTotal(), mismatch.getLastBalanceAfterTransaction());
+            synchronized (mismatches) {
+                if (mismatches.size() < maxReportedMismatches) {
+                    mismatches.add(mismatch);
+                }
+            }
+        }
+
+        void finish(ReconciliationReport.Status finalStatus, String failure) {
+            status = finalStatus;
+            error = failure;
+            finishedAt = LocalDateTime.now();
+        }
+
+        ReconciliationReport snapshot() {
+            List<ReconciliationMismatch> reported;
+            synchronized (mismatches) {
+                reported = List.copyOf(mismatches);
+            }
+            return ReconciliationReport.builder()
+                    .runId(runId)
+                    .status(status)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .chunksTotal(chunksTotal.get())
+                    .chunksDone(chunksDone.get())
+                    .walletsChecked(walletsChecked.get())
+                    .mismatchCount(mismatchCount.get())
+                    .mismatches(reported)
+                    .error(error)
+                    .build();
+        }
+    }
+}
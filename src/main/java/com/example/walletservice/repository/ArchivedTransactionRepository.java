@@ -0,0 +1,68 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.entity.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    List<ArchivedTransaction> findByWalletIdOrderByTimestampDesc(Long walletId);
+
+    default List<TransactionDTO> findDTOsByWalletId(Long walletId) {
+        return LedgerPostings.toDTOs(findHistoryRows(walletId));
+    }
+
+    @Query(value = LedgerPostings.ARCHIVE_HISTORY, nativeQuery = true)
+    List<Object[]> findHistoryRows(@Param("walletId") Long walletId);
+
+    @Query(value = "SELECT balance_after FROM " + LedgerPostings.ARCHIVE_POSTINGS_UP_TO
+            + " ORDER BY timestamp DESC, id DESC LIMIT 1", nativeQuery = true)
+    BigDecimal calculateBalanceAtTime(@Param("walletId") Long walletId, @Param("timestamp") LocalDateTime timestamp);
+
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM " + LedgerPostings.ARCHIVE_POSTINGS_UP_TO, nativeQuery = true)
+    BigDecimal sumAmountsUpTo(@Param("walletId") Long walletId, @Param("timestamp") LocalDateTime timestamp);
+
+    @Query(value = "SELECT wallet_id, SUM(amount) FROM " + LedgerPostings.ARCHIVE_POSTINGS_IN_UP_TO
+            + " GROUP BY wallet_id", nativeQuery = true)
+    List<Object[]> sumAmountsByWalletUpTo(@Param("walletIds") Collection<Long> walletIds, @Param("timestamp") LocalDateTime timestamp);
+
+    @Query(value = "SELECT wallet_id, balance_after FROM ("
+            + "SELECT wallet_id, balance_after, "
+            + "ROW_NUMBER() OVER (PARTITION BY wallet_id ORDER BY timestamp DESC, id DESC) AS entry_rank "
+            + "FROM " + LedgerPostings.ARCHIVE_POSTINGS_IN_UP_TO + ") ranked "
+            + "WHERE entry_rank = 1", nativeQuery = true)
+    List<Object[]> findBalancesAtTime(@Param("walletIds") Collection<Long> walletIds, @Param("timestamp") LocalDateTime timestamp);
+
+    @Query("SELECT MIN(a.timestamp) FROM ArchivedTransaction a")
+    LocalDateTime findOldestTimestamp();
+
+    @Modifying
+    @Query(value = "INSERT INTO transactions_archive (id, wallet_id, amount, type, description, timestamp, balance_after_transaction, related_wallet_id, related_balance_after, archived_at) "
+            + "SELECT id, wallet_id, amount, type, description, timestamp, balance_after_transaction, related_wallet_id, related_balance_after, :archivedAt "
+            + "FROM transactions WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromLedger(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Move um lote em um único comando (PostgreSQL): as linhas são reservadas com SKIP LOCKED,
+     * removidas da tabela quente e inseridas no arquivo a partir do RETURNING do DELETE.
+     * Arquivadores concorrentes recebem lotes disjuntos em vez de esperar pelo mesmo lock.
+     */
+    @Modifying
+    @Query(value = "WITH moved AS ("
+            + "DELETE FROM transactions WHERE id IN ("
+            + "SELECT id FROM transactions WHERE timestamp < :cutoff ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, wallet_id, amount, type, description, timestamp, balance_after_transaction, related_wallet_id, related_balance_after) "
+            + "INSERT INTO transactions_archive (id, wallet_id, amount, type, description, timestamp, balance_after_transaction, related_wallet_id, related_balance_after, archived_at) "
+            + "SELECT id, wallet_id, amount, type, description, timestamp, balance_after_transaction, related_wallet_id, related_balance_after, :archivedAt FROM moved", nativeQuery = true)
+    int moveBatchSkipLocked(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize, @Param("archivedAt") LocalDateTime archivedAt);
+}
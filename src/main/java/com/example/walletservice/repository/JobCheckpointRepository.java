@@ -0,0 +1,34 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.entity.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /**
+     * Bloqueia o checkpoint para o lote atual. Nos bancos com SKIP LOCKED, uma linha já
+     * bloqueada por outra instância é ignorada em vez de aguardada.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM JobCheckpoint c WHERE c.name = :name")
+    Optional<JobCheckpoint> findByNameForUpdate(@Param("name") String name);
+
+    /**
+     * Bloqueia o checkpoint aguardando a liberação, para operações administrativas que precisam
+     * ser serializadas com o job em vez de desistir quando ele está em execução.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JobCheckpoint c WHERE c.name = :name")
+    Optional<JobCheckpoint> findByNameForUpdateWait(@Param("name") String name);
+}
@@ -0,0 +1,113 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pernas de lançamento vistas por uma carteira. Uma {@link TransactionType#TRANSFER} é gravada
+ * uma única vez, na carteira de origem; as consultas por carteira unem as linhas da própria
+ * carteira às transferências que a creditam, e aqui cada linha vira o DTO da perna, com a
+ * descrição das transferências sem texto renderizada a partir da contraparte.
+ */
+final class LedgerPostings {
+
+    /** Tipo da linha vista pela carteira de origem: a transferência aparece como saída */
+    static final String OUTGOING_TYPE = "CASE WHEN type = 'TRANSFER' THEN 'TRANSFER_OUT' ELSE CAST(type AS VARCHAR(50)) END";
+
+    private static final String OUTGOING = "SELECT id, wallet_id, amount, " + OUTGOING_TYPE + " AS type, "
+            + "description, timestamp, balance_after_transaction AS balance_after, related_wallet_id FROM ";
+
+    /** Transferências que creditam a carteira, com o sinal e o saldo do destino */
+    private static final String INCOMING = "SELECT id, related_wallet_id AS wallet_id, -amount AS amount, 'TRANSFER_IN' AS type, "
+            + "description, timestamp, related_balance_after AS balance_after, wallet_id AS related_wallet_id FROM ";
+
+    private static final String HISTORY_COLUMNS = "SELECT p.id, p.wallet_id, p.amount, p.type, p.description, p.timestamp, "
+            + "p.balance_after, p.related_wallet_id, c.owner_id FROM (";
+
+    /** O proprietário da contraparte só é buscado para transferências gravadas sem descrição */
+    private static final String HISTORY_ORDER = ") p LEFT JOIN wallets c ON p.description IS NULL AND c.id = p.related_wallet_id "
+            + "ORDER BY p.timestamp DESC, p.id DESC";
+
+    /** Histórico completo de {@code :walletId} na tabela quente */
+    static final String LEDGER_HISTORY = HISTORY_COLUMNS
+            + OUTGOING + "transactions WHERE wallet_id = :walletId UNION ALL "
+            + INCOMING + "transactions WHERE related_wallet_id = :walletId AND type = 'TRANSFER'"
+            + HISTORY_ORDER;
+
+    /** Pernas de {@code :walletId} até {@code :timestamp} na tabela quente */
+    static final String LEDGER_POSTINGS_UP_TO = "("
+            + OUTGOING + "transactions WHERE wallet_id = :walletId AND timestamp <= :timestamp UNION ALL "
+            + INCOMING + "transactions WHERE related_wallet_id = :walletId AND type = 'TRANSFER' AND timestamp <= :timestamp"
+            + ") postings";
+
+    /** Pernas das carteiras {@code :walletIds} até {@code :timestamp} na tabela quente */
+    static final String LEDGER_POSTINGS_IN_UP_TO = "("
+            + OUTGOING + "transactions WHERE wallet_id IN (:walletIds) AND timestamp <= :timestamp UNION ALL "
+            + INCOMING + "transactions WHERE related_wallet_id IN (:walletIds) AND type = 'TRANSFER' AND timestamp <= :timestamp"
+            + ") postings";
+
+    static final String ARCHIVE_HISTORY = HISTORY_COLUMNS
+            + OUTGOING + "transactions_archive WHERE wallet_id = :walletId UNION ALL "
+            + INCOMING + "transactions_archive WHERE related_wallet_id = :walletId AND type = 'TRANSFER'"
+            + HISTORY_ORDER;
+
+    static final String ARCHIVE_POSTINGS_UP_TO = "("
+            + OUTGOING + "transactions_archive WHERE wallet_id = :walletId AND timestamp <= :timestamp UNION ALL "
+            + INCOMING + "transactions_archive WHERE related_wallet_id = :walletId AND type = 'TRANSFER' AND timestamp <= :timestamp"
+            + ") postings";
+
+    static final String ARCHIVE_POSTINGS_IN_UP_TO = "("
+            + OUTGOING + "transactions_archive WHERE wallet_id IN (:walletIds) AND timestamp <= :timestamp UNION ALL "
+            + INCOMING + "transactions_archive WHERE related_wallet_id IN (:walletIds) AND type = 'TRANSFER' AND timestamp <= :timestamp"
+            + ") postings";
+
+    private LedgerPostings() {
+    }
+
+    /**
+     * Converte as linhas de {@link #LEDGER_HISTORY} ou {@link #ARCHIVE_HISTORY} em DTOs, na ordem recebida
+     */
+    static List<TransactionDTO> toDTOs(List<Object[]> rows) {
+        List<TransactionDTO> postings = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            TransactionType type = TransactionType.valueOf((String) row[3]);
+            String description = (String) row[4];
+            postings.add(TransactionDTO.builder()
+                    .id(((Number) row[0]).longValue())
+                    .walletId(((Number) row[1]).longValue())
+                    .amount((BigDecimal) row[2])
+                    .type(type)
+                    .description(description != null || row[8] == null ? description : type.describeTransfer((String) row[8]))
+                    .timestamp(toLocalDateTime(row[5]))
+                    .balanceAfterTransaction((BigDecimal) row[6])
+                    .relatedWalletId(row[7] == null ? null : ((Number) row[7]).longValue())
+                    .build());
+        }
+        return postings;
+    }
+
+    /**
+     * Renderiza a descrição das transferências sem texto de uma lista de pernas
+     * @param postings Pernas já convertidas para a visão da carteira
+     * @param ownerIds Proprietário por ID das carteiras contraparte
+     */
+    static void describe(List<TransactionDTO> postings, Map<Long, String> ownerIds) {
+        for (TransactionDTO posting : postings) {
+            String counterparty = posting.getRelatedWalletId() == null ? null : ownerIds.get(posting.getRelatedWalletId());
+            if (posting.getDescription() == null && counterparty != null) {
+                posting.setDescription(posting.getType().describeTransfer(counterparty));
+            }
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.walletservice.repository;
 
+import com.example.walletservice.dto.TransactionDTO;
 import com.example.walletservice.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,16 +10,61 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionSearchRepository {
     
     List<Transaction> findByWalletIdOrderByTimestampDesc(Long walletId);
     
+    /**
+     * Histórico de uma carteira, do mais recente para o mais antigo: os lançamentos da própria
+     * carteira unidos às transferências que a creditam
+     */
+    default List<TransactionDTO> findDTOsByWalletId(Long walletId) {
+        return LedgerPostings.toDTOs(findHistoryRows(walletId));
+    }
+    
+    @Query(value = LedgerPostings.LEDGER_HISTORY, nativeQuery = true)
+    List<Object[]> findHistoryRows(@Param("walletId") Long walletId);
+    
     @Query("SELECT t FROM Transaction t WHERE t.wallet.id = :walletId AND t.timestamp <= :timestamp ORDER BY t.timestamp DESC")
     List<Transaction> findTransactionsBeforeTime(@Param("walletId") Long walletId, @Param("timestamp") LocalDateTime timestamp);
     
-    @Query("SELECT COALESCE(t.balanceAfterTransaction, 0) FROM Transaction t WHERE t.wallet.id = :walletId AND t.timestamp <= :timestamp ORDER BY t.timestamp DESC LIMIT 1")
+    @Query(value = "SELECT balance_after FROM " + LedgerPostings.LEDGER_POSTINGS_UP_TO
+            + " ORDER BY timestamp DESC, id DESC LIMIT 1", nativeQuery = true)
     BigDecimal calculateBalanceAtTime(@Param("walletId") Long walletId, @Param("timestamp") LocalDateTime timestamp);
+    
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM " + LedgerPostings.LEDGER_POSTINGS_UP_TO, nativeQuery = true)
+    BigDecimal sumAmountsUpTo(@Param("walletId") Long walletId, @Param("timestamp") LocalDateTime timestamp);
+    
+    /**
+     * Soma dos lançamentos até o momento informado de cada carteira
+     * @return Pares [wallet_id, soma]; carteiras sem transações não aparecem
+     */
+    @Query(value = "SELECT wallet_id, SUM(amount) FROM " + LedgerPostings.LEDGER_POSTINGS_IN_UP_TO
+            + " GROUP BY wallet_id", nativeQuery = true)
+    List<Object[]> sumAmountsByWalletUpTo(@Param("walletIds") Collection<Long> walletIds, @Param("timestamp") LocalDateTime timestamp);
+    
+    /**
+     * Saldo após a última transação até o momento informado de cada carteira, em uma única
+     * consulta com janela por carteira
+     * @return Pares [wallet_id, balance_after_transaction]; carteiras sem transações não aparecem
+     */
+    @Query(value = "SELECT wallet_id, balance_after FROM ("
+            + "SELECT wallet_id, balance_after, "
+            + "ROW_NUMBER() OVER (PARTITION BY wallet_id ORDER BY timestamp DESC, id DESC) AS entry_rank "
+            + "FROM " + LedgerPostings.LEDGER_POSTINGS_IN_UP_TO + ") ranked "
+            + "WHERE entry_rank = 1", nativeQuery = true)
+    List<Object[]> findBalancesAtTime(@Param("walletIds") Collection<Long> walletIds, @Param("timestamp") LocalDateTime timestamp);
+    
+    @Query("SELECT t.id FROM Transaction t WHERE t.timestamp < :cutoff ORDER BY t.timestamp")
+    List<Long> findIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Query("SELECT t.id FROM Transaction t WHERE t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT MIN(t.id) FROM Transaction t WHERE t.id > :afterId AND t.timestamp > :settledBefore")
+    Long findFirstIdAfterRecordedSince(@Param("afterId") Long afterId, @Param("settledBefore") LocalDateTime settledBefore);
 }
\ No newline at end of file
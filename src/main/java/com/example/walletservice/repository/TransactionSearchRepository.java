@@ -0,0 +1,18 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.TransactionSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Busca de transações com filtros montados dinamicamente, projetando direto no DTO.
+ * A paginação é por keyset: {@code after} é a última linha da página anterior, da qual
+ * apenas o ID e a chave de ordenação são usados.
+ */
+public interface TransactionSearchRepository {
+
+    List<TransactionDTO> searchLedger(Long walletId, TransactionSearchCriteria criteria, TransactionDTO after, int limit);
+
+    List<TransactionDTO> searchArchive(Long walletId, TransactionSearchCriteria criteria, TransactionDTO after, int limit);
+}
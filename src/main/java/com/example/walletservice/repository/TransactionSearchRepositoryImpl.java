@@ -0,0 +1,216 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.TransactionSearchCriteria;
+import com.example.walletservice.dto.TransactionSortOrder;
+import com.example.walletservice.entity.ArchivedTransaction;
+import com.example.walletservice.entity.Transaction;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.entity.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionDTO> searchLedger(Long walletId, TransactionSearchCriteria criteria, TransactionDTO after, int limit) {
+        return searchPostings(Transaction.class, root -> root.get("wallet").<Long>get("id"), walletId, criteria, after, limit);
+    }
+
+    @Override
+    public List<TransactionDTO> searchArchive(Long walletId, TransactionSearchCriteria criteria, TransactionDTO after, int limit) {
+        return searchPostings(ArchivedTransaction.class, root -> root.<Long>get("walletId"), walletId, criteria, after, limit);
+    }
+
+    /**
+     * Busca as duas pernas da carteira, cada uma na sua varredura de índice: as linhas da própria
+     * carteira e as transferências que a creditam. A descrição renderizada das transferências
+     * sem texto não participa do filtro por descrição.
+     */
+    private <T> List<TransactionDTO> searchPostings(Class<T> entityClass,
+                                                    Function<Root<T>, Path<Long>> walletIdPath,
+                                                    Long walletId,
+                                                    TransactionSearchCriteria criteria,
+                                                    TransactionDTO after,
+                                                    int limit) {
+        Set<TransactionType> types = criteria.getTypes();
+        boolean anyType = types == null || types.isEmpty();
+        Set<TransactionType> ownTypes = types;
+        if (!anyType && types.contains(TransactionType.TRANSFER_OUT)) {
+            ownTypes = new HashSet<>(types);
+            ownTypes.add(TransactionType.TRANSFER);
+        }
+
+        List<TransactionDTO> postings = new ArrayList<>(search(entityClass, walletIdPath, false, walletId, criteria, ownTypes, after, limit));
+        for (TransactionDTO posting : postings) {
+            if (posting.getType() == TransactionType.TRANSFER) {
+                posting.setType(TransactionType.TRANSFER_OUT);
+            }
+        }
+        if (anyType || types.contains(TransactionType.TRANSFER_IN) || types.contains(TransactionType.TRANSFER)) {
+            List<TransactionDTO> incoming = search(entityClass, walletIdPath, true, walletId, criteria, null, after, limit);
+            if (!incoming.isEmpty()) {
+                incoming.forEach(posting -> posting.setType(TransactionType.TRANSFER_IN));
+                postings.addAll(incoming);
+                postings.sort(criteria.getSort().comparator());
+                if (postings.size() > limit) {
+                    postings = new ArrayList<>(postings.subList(0, limit));
+                }
+            }
+        }
+        describeTransfers(postings);
+        return postings;
+    }
+
+    private <T> List<TransactionDTO> search(Class<T> entityClass,
+                                            Function<Root<T>, Path<Long>> walletIdPath,
+                                            boolean incoming,
+                                            Long walletId,
+                                            TransactionSearchCriteria criteria,
+                                            Set<TransactionType> types,
+                                            TransactionDTO after,
+                                            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDTO> query = cb.createQuery(TransactionDTO.class);
+        Root<T> root = query.from(entityClass);
+        // Na perna de entrada a carteira é a creditada e a contraparte é a de origem
+        Path<Long> walletIdColumn = incoming ? root.get("relatedWalletId") : walletIdPath.apply(root);
+        Path<Long> counterpartyColumn = incoming ? walletIdPath.apply(root) : root.get("relatedWalletId");
+        Path<Long> id = root.get("id");
+        Path<BigDecimal> amountColumn = root.get("amount");
+        Expression<BigDecimal> amount = incoming ? cb.neg(amountColumn) : amountColumn;
+        Path<LocalDateTime> timestamp = root.get("timestamp");
+
+        // Apenas as colunas do DTO; a carteira é lida pela chave estrangeira, sem junção
+        query.select(cb.construct(TransactionDTO.class,
+                id,
+                walletIdColumn,
+                amount,
+                root.get("type"),
+                root.get("description"),
+                timestamp,
+                root.get(incoming ? "relatedBalanceAfter" : "balanceAfterTransaction"),
+                counterpartyColumn));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(walletIdColumn, walletId));
+        if (incoming) {
+            predicates.add(cb.equal(root.get("type"), TransactionType.TRANSFER));
+        }
+        if (criteria.getMinAmount() != null || criteria.getMaxAmount() != null) {
+            predicates.add(absoluteAmountBetween(cb, amountColumn, criteria.getMinAmount(), criteria.getMaxAmount()));
+        }
+        if (types != null && !types.isEmpty()) {
+            predicates.add(root.get("type").in(types));
+        }
+        if (criteria.getRelatedWalletId() != null) {
+            predicates.add(cb.equal(counterpartyColumn, criteria.getRelatedWalletId()));
+        }
+        if (criteria.getDescriptionContains() != null && !criteria.getDescriptionContains().isBlank()) {
+            predicates.add(cb.like(cb.lower(root.<String>get("description")),
+                    "%" + escapeLike(criteria.getDescriptionContains().toLowerCase(Locale.ROOT)) + "%", '\\'));
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(timestamp, criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            predicates.add(cb.lessThan(timestamp, criteria.getTo()));
+        }
+
+        TransactionSortOrder sort = criteria.getSort();
+        if (sort.isByAmount()) {
+            if (after != null) {
+                predicates.add(keysetAfter(cb, amount, after.getAmount(), id, after.getId(), sort.isDescending()));
+            }
+            query.orderBy(order(cb, amount, sort.isDescending()), order(cb, id, sort.isDescending()));
+        } else {
+            if (after != null) {
+                predicates.add(keysetAfter(cb, timestamp, after.getTimestamp(), id, after.getId(), sort.isDescending()));
+            }
+            query.orderBy(order(cb, timestamp, sort.isDescending()), order(cb, id, sort.isDescending()));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Busca de uma vez os proprietários das contrapartes das transferências gravadas sem descrição
+     */
+    private void describeTransfers(List<TransactionDTO> postings) {
+        Set<Long> counterparties = new HashSet<>();
+        for (TransactionDTO posting : postings) {
+            if (posting.getDescription() == null && posting.getRelatedWalletId() != null) {
+                counterparties.add(posting.getRelatedWalletId());
+            }
+        }
+        if (counterparties.isEmpty()) {
+            return;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Wallet> wallet = query.from(Wallet.class);
+        query.multiselect(wallet.get("id"), wallet.get("ownerId")).where(wallet.get("id").in(counterparties));
+        Map<Long, String> ownerIds = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            ownerIds.put((Long) row[0], (String) row[1]);
+        }
+        LedgerPostings.describe(postings, ownerIds);
+    }
+
+    /**
+     * Faixa de valor absoluto escrita como duas faixas sobre a coluna, para continuar
+     * elegível ao índice (wallet_id, amount) em vez de aplicar ABS a cada linha
+     */
+    private Predicate absoluteAmountBetween(CriteriaBuilder cb, Path<BigDecimal> amount, BigDecimal min, BigDecimal max) {
+        BigDecimal lower = min != null ? min.abs() : BigDecimal.ZERO;
+        Predicate credits = cb.greaterThanOrEqualTo(amount, lower);
+        Predicate debits = cb.lessThanOrEqualTo(amount, lower.negate());
+        if (max != null) {
+            credits = cb.and(credits, cb.lessThanOrEqualTo(amount, max.abs()));
+            debits = cb.and(debits, cb.greaterThanOrEqualTo(amount, max.abs().negate()));
+        }
+        return cb.or(credits, debits);
+    }
+
+    private <Y extends Comparable<? super Y>> Predicate keysetAfter(CriteriaBuilder cb,
+                                                                    Expression<Y> key, Y lastKey,
+                                                                    Path<Long> id, Long lastId,
+                                                                    boolean descending) {
+        if (descending) {
+            return cb.or(cb.lessThan(key, lastKey), cb.and(cb.equal(key, lastKey), cb.lessThan(id, lastId)));
+        }
+        return cb.or(cb.greaterThan(key, lastKey), cb.and(cb.equal(key, lastKey), cb.greaterThan(id, lastId)));
+    }
+
+    private Order order(CriteriaBuilder cb, Expression<?> expression, boolean descending) {
+        return descending ? cb.desc(expression) : cb.asc(expression);
+    }
+
+    private String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.entity.TransferSaga;
+import com.example.walletservice.entity.TransferSagaStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, String> {
+
+    List<TransferSaga> findByStatusAndCreatedAtBefore(TransferSagaStatus status, LocalDateTime createdAt);
+}
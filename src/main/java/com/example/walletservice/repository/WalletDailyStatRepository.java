@@ -0,0 +1,71 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.entity.WalletDailyStat;
+import com.example.walletservice.stats.DailyStatDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WalletDailyStatRepository extends JpaRepository<WalletDailyStat, WalletDailyStat.Key> {
+
+    @Query("SELECT s FROM WalletDailyStat s WHERE s.walletId = :walletId AND s.date BETWEEN :from AND :to ORDER BY s.date, s.type")
+    List<WalletDailyStat> findRange(@Param("walletId") Long walletId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Agrega por carteira, dia e tipo as transações da tabela quente na faixa de IDs informada
+     */
+    @Query("SELECT new com.example.walletservice.stats.DailyStatDelta(t.wallet.id, cast(t.timestamp as LocalDate), t.type, "
+            + "SUM(CASE WHEN t.amount > 0 THEN t.amount ELSE 0bd END), "
+            + "SUM(CASE WHEN t.amount < 0 THEN -t.amount ELSE 0bd END), "
+            + "COUNT(t)) "
+            + "FROM Transaction t WHERE t.id > :afterId AND t.id <= :upToId "
+            + "GROUP BY t.wallet.id, cast(t.timestamp as LocalDate), t.type")
+    List<DailyStatDelta> aggregateLedger(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    /**
+     * Agrega por carteira creditada e dia as transferências de linha única na faixa de IDs
+     * informada, com entrada e saída vistas pela perna de destino
+     */
+    @Query("SELECT new com.example.walletservice.stats.DailyStatDelta(t.relatedWalletId, cast(t.timestamp as LocalDate), t.type, "
+            + "SUM(CASE WHEN t.amount < 0 THEN -t.amount ELSE 0bd END), "
+            + "SUM(CASE WHEN t.amount > 0 THEN t.amount ELSE 0bd END), "
+            + "COUNT(t)) "
+            + "FROM Transaction t WHERE t.id > :afterId AND t.id <= :upToId "
+            + "AND t.type = com.example.walletservice.entity.TransactionType.TRANSFER "
+            + "GROUP BY t.relatedWalletId, cast(t.timestamp as LocalDate), t.type")
+    List<DailyStatDelta> aggregateIncomingTransfers(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    @Modifying
+    @Query("DELETE FROM WalletDailyStat s WHERE s.date BETWEEN :from AND :to")
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Recalcula os totais de um intervalo de dias a partir da tabela quente e do arquivo frio,
+     * limitado às transações já cobertas pela marca d'água do agregador
+     */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_daily_stats (wallet_id, stat_date, type, inflow, outflow, entry_count) "
+            + "SELECT wallet_id, CAST(timestamp AS DATE), type, "
+            + "SUM(CASE WHEN amount > 0 THEN amount ELSE 0 END), "
+            + "SUM(CASE WHEN amount < 0 THEN -amount ELSE 0 END), "
+            + "COUNT(*) "
+            + "FROM (SELECT wallet_id, timestamp, " + LedgerPostings.OUTGOING_TYPE + " AS type, amount FROM transactions "
+            + "WHERE id <= :upToId AND timestamp >= :fromTime AND timestamp < :toTime "
+            + "UNION ALL SELECT related_wallet_id, timestamp, 'TRANSFER_IN', -amount FROM transactions "
+            + "WHERE type = 'TRANSFER' AND id <= :upToId AND timestamp >= :fromTime AND timestamp < :toTime "
+            + "UNION ALL SELECT wallet_id, timestamp, " + LedgerPostings.OUTGOING_TYPE + ", amount FROM transactions_archive "
+            + "WHERE id <= :upToId AND timestamp >= :fromTime AND timestamp < :toTime "
+            + "UNION ALL SELECT related_wallet_id, timestamp, 'TRANSFER_IN', -amount FROM transactions_archive "
+            + "WHERE type = 'TRANSFER' AND id <= :upToId AND timestamp >= :fromTime AND timestamp < :toTime) ledger "
+            + "GROUP BY wallet_id, CAST(timestamp AS DATE), type", nativeQuery = true)
+    int insertFromLedger(@Param("upToId") Long upToId,
+                         @Param("fromTime") LocalDateTime fromTime,
+                         @Param("toTime") LocalDateTime toTime);
+}
@@ -1,15 +1,73 @@
 package com.example.walletservice.repository;
 
+import com.example.walletservice.dto.WalletBalanceDTO;
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.dto.WalletVersionDTO;
 import com.example.walletservice.entity.Wallet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
     
+    /**
+     * Saldo base mais as faixas; a subconsulta só é avaliada para carteiras listradas
+     */
+    String EFFECTIVE_BALANCE = "CASE WHEN w.stripeCount = 0 THEN w.balance "
+            + "ELSE w.balance + COALESCE((SELECT SUM(s.balance) FROM WalletStripe s WHERE s.walletId = w.id), 0bd) END";
+    
     Optional<Wallet> findByOwnerId(String ownerId);
     
     boolean existsByOwnerId(String ownerId);
+    
+    /**
+     * Projeções de leitura: devolvem apenas as colunas necessárias, sem entidade gerenciada
+     * (nem snapshot para dirty checking) no contexto de persistência. O saldo de carteiras
+     * listradas inclui a soma das faixas.
+     */
+    @Query("SELECT new com.example.walletservice.dto.WalletDTO(w.id, w.ownerId, " + EFFECTIVE_BALANCE + ", "
+            + "w.createdAt, w.updatedAt, w.stripeCount, w.version) "
+            + "FROM Wallet w WHERE w.ownerId = :ownerId")
+    Optional<WalletDTO> findDTOByOwnerId(@Param("ownerId") String ownerId);
+    
+    /**
+     * Validador das representações da carteira e do seu histórico, sem montar o DTO completo
+     */
+    @Query("SELECT new com.example.walletservice.dto.WalletVersionDTO(w.version, w.stripeCount, " + EFFECTIVE_BALANCE + ") "
+            + "FROM Wallet w WHERE w.ownerId = :ownerId")
+    Optional<WalletVersionDTO> findVersionByOwnerId(@Param("ownerId") String ownerId);
+    
+    @Query("SELECT " + EFFECTIVE_BALANCE + " FROM Wallet w WHERE w.ownerId = :ownerId")
+    Optional<BigDecimal> findBalanceByOwnerId(@Param("ownerId") String ownerId);
+    
+    @Query("SELECT w.id FROM Wallet w WHERE w.ownerId = :ownerId")
+    Optional<Long> findIdByOwnerId(@Param("ownerId") String ownerId);
+    
+    @Query("SELECT new com.example.walletservice.dto.WalletBalanceDTO(w.ownerId, w.id, " + EFFECTIVE_BALANCE + ", w.stripeCount) "
+            + "FROM Wallet w WHERE w.ownerId IN :ownerIds")
+    List<WalletBalanceDTO> findBalancesByOwnerIdIn(@Param("ownerIds") Collection<String> ownerIds);
+    
+    /**
+     * Varredura por chave das carteiras: {@code [id, ownerId, createdAt]} em ordem de ID
+     */
+    @Query("SELECT w.id, w.ownerId, w.createdAt FROM Wallet w WHERE w.id > :afterId ORDER BY w.id")
+    List<Object[]> findOwnerIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Grava o saldo calculado fora do banco (motor em memória), incrementando a versão para que
+     * escritas otimistas concorrentes falhem
+     */
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = :balance, w.updatedAt = :now, w.version = w.version + 1 WHERE w.id = :walletId")
+    int updateBalance(@Param("walletId") Long walletId, @Param("balance") BigDecimal balance, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.walletservice.repository;
+
+import com.example.walletservice.entity.WalletStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WalletStripeRepository extends JpaRepository<WalletStripe, WalletStripe.Key> {
+
+    /**
+     * Incrementa uma faixa no próprio banco; o bloqueio de linha dura só até o fim da transação
+     * e não disputa com créditos nas demais faixas
+     */
+    @Modifying
+    @Query("UPDATE WalletStripe s SET s.balance = s.balance + :amount, s.updatedAt = :now "
+            + "WHERE s.walletId = :walletId AND s.stripeIndex = :stripeIndex")
+    int credit(@Param("walletId") Long walletId, @Param("stripeIndex") Integer stripeIndex,
+               @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT s.balance FROM WalletStripe s WHERE s.walletId = :walletId AND s.stripeIndex = :stripeIndex")
+    BigDecimal findBalance(@Param("walletId") Long walletId, @Param("stripeIndex") Integer stripeIndex);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0bd) FROM WalletStripe s WHERE s.walletId = :walletId")
+    BigDecimal sumBalances(@Param("walletId") Long walletId);
+
+    /**
+     * Bloqueia todas as faixas da carteira, sempre na ordem do índice para que duas varreduras
+     * concorrentes não entrem em deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM WalletStripe s WHERE s.walletId = :walletId ORDER BY s.stripeIndex")
+    List<WalletStripe> findAllForUpdate(@Param("walletId") Long walletId);
+}
@@ -0,0 +1,217 @@
+package com.example.walletservice.service;
+
+import com.example.walletservice.config.ArchiveProperties;
+import com.example.walletservice.datasource.DatabaseFeatures;
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.repository.ArchivedTransactionRepository;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.sharding.ShardContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantém a tabela {@code transactions} restrita aos meses recentes, movendo transações
+ * antigas em lotes para {@code transactions_archive}, e resolve as consultas de histórico
+ * que precisam atravessar o arquivo frio.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerArchiveService {
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final ArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final DatabaseFeatures databaseFeatures;
+
+    /** Chave do datasource principal, usada fora de um shard */
+    private static final String DEFAULT_SHARD = "";
+
+    /**
+     * Limite do arquivo frio por shard. Como só são arquivadas transações anteriores ao corte,
+     * qualquer linha arquivada é mais antiga que todas as que permaneceram na tabela quente.
+     */
+    private final Map<String, ArchiveBoundary> boundaries = new ConcurrentHashMap<>();
+
+    /**
+     * Carrega o limite do datasource principal antes da primeira requisição
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadArchiveBoundary() {
+        oldestArchivedTimestamp();
+    }
+
+    /**
+     * Descarta o limite em cache de todos os shards; o próximo acesso o relê do banco
+     */
+    public void refreshArchiveBoundary() {
+        boundaries.clear();
+    }
+
+    /**
+     * Execução agendada do arquivador
+     */
+    @Scheduled(cron = "${wallet.archive.cron:0 30 3 * * *}")
+    public void runScheduledArchive() {
+        if (archiveProperties.isEnabled()) {
+            archiveOlderThan(LocalDateTime.now().minus(archiveProperties.getHotRetention()));
+        }
+    }
+
+    /**
+     * Move para o arquivo frio as transações anteriores ao corte, em lotes independentes
+     * @param cutoff Transações com timestamp anterior a este momento são arquivadas
+     * @return Quantidade de transações movidas
+     */
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < archiveProperties.getMaxBatchesPerRun(); batch++) {
+            Integer moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+        }
+
+        boundaries.remove(currentShard());
+        meterRegistry.counter("wallet.archive.rows").increment(total);
+        log.info("Arquivamento concluído: {} transações anteriores a {} movidas", total, cutoff);
+        return total;
+    }
+
+    /**
+     * Indica se o arquivo frio pode conter transações até o momento informado
+     * @param upTo Limite superior do intervalo consultado; nulo para todo o histórico
+     * @return true se a consulta precisa atravessar o arquivo
+     */
+    public boolean mayContain(LocalDateTime upTo) {
+        LocalDateTime oldest = oldestArchivedTimestamp();
+        return oldest != null && (upTo == null || !oldest.isAfter(upTo));
+    }
+
+    /**
+     * Timestamp da transação arquivada mais antiga do shard corrente; nulo com o arquivo vazio.
+     * Lido do banco quando o valor em cache passa de {@code wallet.archive.boundary-ttl}, para
+     * enxergar lotes movidos por outras instâncias.
+     */
+    private LocalDateTime oldestArchivedTimestamp() {
+        String shard = currentShard();
+        long now = System.nanoTime();
+        ArchiveBoundary boundary = boundaries.get(shard);
+        if (boundary == null || now - boundary.loadedAt() > archiveProperties.getBoundaryTtl().toNanos()) {
+            boundary = new ArchiveBoundary(archivedTransactionRepository.findOldestTimestamp(), now);
+            boundaries.put(shard, boundary);
+        }
+        return boundary.oldest();
+    }
+
+    private static String currentShard() {
+        String shard = ShardContext.current();
+        return shard == null ? DEFAULT_SHARD : shard;
+    }
+
+    /**
+     * Obtém as transações arquivadas de uma carteira, da mais recente para a mais antiga
+     * @param walletId ID da carteira
+     * @return Transações arquivadas, ou lista vazia se o arquivo não precisar ser consultado
+     */
+    public List<TransactionDTO> findHistory(Long walletId) {
+        if (!mayContain(null)) {
+            return List.of();
+        }
+        return archivedTransactionRepository.findDTOsByWalletId(walletId);
+    }
+
+    /**
+     * Calcula o saldo histórico a partir do arquivo frio
+     * @param walletId ID da carteira
+     * @param timestamp Momento específico para consulta
+     * @return Saldo após a última transação arquivada até o momento, ou nulo se não houver
+     */
+    public BigDecimal calculateBalanceAtTime(Long walletId, LocalDateTime timestamp) {
+        if (!mayContain(timestamp)) {
+            return null;
+        }
+        return archivedTransactionRepository.calculateBalanceAtTime(walletId, timestamp);
+    }
+
+    /**
+     * Calcula o saldo histórico de várias carteiras a partir do arquivo frio
+     * @param walletIds IDs das carteiras
+     * @param timestamp Momento específico para consulta
+     * @return Saldo por carteira; carteiras sem transação arquivada até o momento ficam de fora
+     */
+    public Map<Long, BigDecimal> calculateBalancesAtTime(Collection<Long> walletIds, LocalDateTime timestamp) {
+        if (walletIds.isEmpty() || !mayContain(timestamp)) {
+            return Map.of();
+        }
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        for (Object[] row : archivedTransactionRepository.findBalancesAtTime(walletIds, timestamp)) {
+            balances.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+        }
+        return balances;
+    }
+
+    /**
+     * Soma os lançamentos arquivados de uma carteira até o momento informado
+     * @param walletId ID da carteira
+     * @param timestamp Momento específico para consulta
+     * @return Soma dos lançamentos arquivados, zero se o arquivo não precisar ser consultado
+     */
+    public BigDecimal sumAmountsUpTo(Long walletId, LocalDateTime timestamp) {
+        if (!mayContain(timestamp)) {
+            return BigDecimal.ZERO;
+        }
+        return archivedTransactionRepository.sumAmountsUpTo(walletId, timestamp);
+    }
+
+    /**
+     * Soma os lançamentos arquivados de várias carteiras até o momento informado
+     * @param walletIds IDs das carteiras
+     * @param timestamp Momento específico para consulta
+     * @return Soma por carteira; carteiras sem transação arquivada até o momento ficam de fora
+     */
+    public Map<Long, BigDecimal> sumAmountsByWalletUpTo(Collection<Long> walletIds, LocalDateTime timestamp) {
+        if (walletIds.isEmpty() || !mayContain(timestamp)) {
+            return Map.of();
+        }
+        Map<Long, BigDecimal> sums = new HashMap<>();
+        for (Object[] row : archivedTransactionRepository.sumAmountsByWalletUpTo(walletIds, timestamp)) {
+            sums.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+        }
+        return sums;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        if (databaseFeatures.supportsSkipLockedMove()) {
+            return archivedTransactionRepository.moveBatchSkipLocked(cutoff, archiveProperties.getBatchSize(), LocalDateTime.now());
+        }
+        List<Long> ids = transactionRepository.findIdsOlderThan(cutoff, PageRequest.of(0, archiveProperties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTransactionRepository.copyFromLedger(ids, LocalDateTime.now());
+        transactionRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private record ArchiveBoundary(LocalDateTime oldest, long loadedAt) {
+    }
+}
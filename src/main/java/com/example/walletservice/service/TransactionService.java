@@ -1,73 +1,171 @@
 package com.example.walletservice.service;
 
 import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.TransactionPageDTO;
+import com.example.walletservice.dto.TransactionSearchCriteria;
+import com.example.walletservice.dto.TransactionSortOrder;
 import com.example.walletservice.dto.TransferDTO;
 import com.example.walletservice.dto.WalletDTO;
-import com.example.walletservice.entity.Transaction;
-import com.example.walletservice.entity.Wallet;
 import com.example.walletservice.repository.TransactionRepository;
 import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.sharding.CrossShardTransferSaga;
+import com.example.walletservice.sharding.ShardKey;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
     
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
     private final WalletService walletService;
+    private final LedgerArchiveService ledgerArchiveService;
+    private final Optional<CrossShardTransferSaga> crossShardTransferSaga;
     
     /**
-     * Obtém todas as transações de uma carteira
+     * Obtém todas as transações de uma carteira, incluindo as já movidas para o arquivo frio
      * @param ownerId ID do proprietário da carteira
      * @return Lista de DTOs de transações
      */
-    public List<TransactionDTO> getTransactionsByOwnerId(String ownerId) {
-        Wallet wallet = walletRepository.findByOwnerId(ownerId)
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getTransactionsByOwnerId(@ShardKey String ownerId) {
+        Long walletId = walletRepository.findIdByOwnerId(ownerId)
+                .orElseThrow(() -> new RuntimeException("Carteira não encontrada para o usuário: " + ownerId));
+        
+        List<TransactionDTO> history = transactionRepository.findDTOsByWalletId(walletId);
+        
+        // Transações arquivadas são sempre mais antigas que as da tabela quente
+        List<TransactionDTO> archived = ledgerArchiveService.findHistory(walletId);
+        if (archived.isEmpty()) {
+            return history;
+        }
+        history = new ArrayList<>(history);
+        history.addAll(archived);
+        return history;
+    }
+    
+    /**
+     * Busca transações de uma carteira com filtros combináveis e paginação por cursor. Cada
+     * página é uma varredura por índice a partir da chave da última linha entregue, sem carregar
+     * o histórico completo; o arquivo frio só é consultado se o período puder alcançá-lo.
+     * @param ownerId ID do proprietário da carteira
+     * @param criteria Filtros e ordenação
+     * @param cursor Cursor devolvido pela página anterior; nulo para a primeira página
+     * @param limit Tamanho da página; nulo para o padrão
+     * @return Página de transações e cursor da próxima
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO searchTransactions(@ShardKey String ownerId, TransactionSearchCriteria criteria,
+                                                 String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        Long walletId = walletRepository.findIdByOwnerId(ownerId)
                 .orElseThrow(() -> new RuntimeException("Carteira não encontrada para o usuário: " + ownerId));
-                
-        List<Transaction> transactions = transactionRepository.findByWalletIdOrderByTimestampDesc(wallet.getId());
+        TransactionSortOrder sort = criteria.getSort();
+        TransactionDTO after = decodeCursor(cursor, sort);
+        
+        // Uma linha a mais indica se há próxima página
+        List<TransactionDTO> rows = transactionRepository.searchLedger(walletId, criteria, after, pageSize + 1);
+        if (ledgerArchiveService.mayContain(criteria.getTo())) {
+            List<TransactionDTO> archived = transactionRepository.searchArchive(walletId, criteria, after, pageSize + 1);
+            if (!archived.isEmpty()) {
+                // Os dois resultados já vêm na mesma ordem e os IDs são únicos entre as tabelas
+                rows = new ArrayList<>(rows);
+                rows.addAll(archived);
+                rows.sort(sort.comparator());
+            }
+        }
         
-        return transactions.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        if (rows.size() <= pageSize) {
+            return TransactionPageDTO.builder().items(rows).build();
+        }
+        List<TransactionDTO> page = List.copyOf(rows.subList(0, pageSize));
+        return TransactionPageDTO.builder()
+                .items(page)
+                .nextCursor(encodeCursor(page.get(pageSize - 1), sort))
+                .build();
     }
     
     /**
-     * Transfere dinheiro entre carteiras
+     * Transfere dinheiro entre carteiras. Com sharding habilitado, transferências entre
+     * carteiras de shards diferentes são executadas como saga em vez de uma transação local.
      * @param transferDTO DTO com informações da transferência
      * @return DTO da carteira de origem atualizada
      */
-    @Transactional
     public WalletDTO transfer(TransferDTO transferDTO) {
+        return transfer(transferDTO, null);
+    }
+    
+    /**
+     * Transfere dinheiro entre carteiras se a origem ainda estiver no estado informado pelo cliente.
+     * A saga entre shards debita e credita em transações separadas, então não oferece esse
+     * compare-and-set.
+     * @param transferDTO DTO com informações da transferência
+     * @param ifMatch Cabeçalho {@code If-Match} com o ETag esperado da origem, ou nulo para não conferir
+     * @return DTO da carteira de origem atualizada
+     */
+    public WalletDTO transfer(TransferDTO transferDTO, String ifMatch) {
+        if (crossShardTransferSaga.isPresent()
+                && crossShardTransferSaga.get().isCrossShard(transferDTO.getSourceOwnerId(), transferDTO.getTargetOwnerId())) {
+            if (ifMatch != null) {
+                throw new IllegalArgumentException("If-Match não é suportado em transferências entre shards");
+            }
+            return crossShardTransferSaga.get().transfer(
+                    transferDTO.getSourceOwnerId(),
+                    transferDTO.getTargetOwnerId(),
+                    transferDTO.getAmount(),
+                    transferDTO.getDescription()
+            );
+        }
         return walletService.transfer(
                 transferDTO.getSourceOwnerId(),
                 transferDTO.getTargetOwnerId(),
                 transferDTO.getAmount(),
-                transferDTO.getDescription()
+                transferDTO.getDescription(),
+                ifMatch
         );
     }
     
     /**
-     * Converte uma entidade Transaction para TransactionDTO
-     * @param transaction Entidade Transaction
-     * @return DTO da transação
+     * O cursor carrega a ordenação, a chave de ordenação e o ID da última linha entregue
      */
-    private TransactionDTO convertToDTO(Transaction transaction) {
-        return TransactionDTO.builder()
-                .id(transaction.getId())
-                .walletId(transaction.getWallet().getId())
-                .amount(transaction.getAmount())
-                .type(transaction.getType())
-                .description(transaction.getDescription())
-                .timestamp(transaction.getTimestamp())
-                .balanceAfterTransaction(transaction.getBalanceAfterTransaction())
-                .relatedWalletId(transaction.getRelatedWalletId())
-                .build();
+    private String encodeCursor(TransactionDTO last, TransactionSortOrder sort) {
+        String key = sort.isByAmount() ? last.getAmount().toPlainString() : last.getTimestamp().toString();
+        String raw = sort.name() + "|" + key + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private TransactionDTO decodeCursor(String cursor, TransactionSortOrder sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor não corresponde à ordenação solicitada");
+            }
+            TransactionDTO.TransactionDTOBuilder after = TransactionDTO.builder().id(Long.parseLong(parts[2]));
+            return sort.isByAmount()
+                    ? after.amount(new BigDecimal(parts[1])).build()
+                    : after.timestamp(LocalDateTime.parse(parts[1])).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.example.walletservice.service;
+
+import com.example.walletservice.dto.WalletBalanceDTO;
+import com.example.walletservice.dto.WalletBalancesDTO;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.sharding.ConsistentHashRing;
+import com.example.walletservice.sharding.ShardContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consulta de saldos de várias carteiras em lote: uma consulta por bloco da lista IN em vez de
+ * uma requisição por carteira e, para saldo histórico, uma consulta com janela por bloco em vez
+ * de um cálculo por carteira. Com sharding, cada shard recebe apenas os seus proprietários.
+ */
+@Service
+public class WalletBalanceService {
+
+    /**
+     * Tamanho dos blocos da lista IN; potência de dois para casar com o preenchimento de
+     * parâmetros do Hibernate e reaproveitar os planos de execução
+     */
+    static final int IN_LIST_CHUNK_SIZE = 128;
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerArchiveService ledgerArchiveService;
+    private final Optional<ConsistentHashRing> shardRing;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WalletBalanceService(WalletRepository walletRepository,
+                                TransactionRepository transactionRepository,
+                                LedgerArchiveService ledgerArchiveService,
+                                Optional<ConsistentHashRing> shardRing,
+                                PlatformTransactionManager transactionManager) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerArchiveService = ledgerArchiveService;
+        this.shardRing = shardRing;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Obtém os saldos de várias carteiras
+     * @param ownerIds IDs dos proprietários; repetições são ignoradas
+     * @param asOf Momento do saldo histórico; nulo para o saldo atual. Carteiras sem transações
+     *             até esse momento têm saldo zero
+     * @return Saldos na ordem informada e proprietários sem carteira
+     */
+    public WalletBalancesDTO getBalances(Collection<String> ownerIds, LocalDateTime asOf) {
+        Map<String, List<String>> ownersByShard = new LinkedHashMap<>();
+        for (String ownerId : new LinkedHashSet<>(ownerIds)) {
+            String shard = shardRing.map(ring -> ring.shardFor(ownerId)).orElse(null);
+            ownersByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(ownerId);
+        }
+
+        Map<String, WalletBalanceDTO> found = new HashMap<>();
+        ownersByShard.forEach((shard, owners) -> {
+            List<WalletBalanceDTO> balances = shard == null
+                    ? lookup(owners, asOf)
+                    : ShardContext.callIn(shard, () -> lookup(owners, asOf));
+            balances.forEach(balance -> found.put(balance.getOwnerId(), balance));
+        });
+
+        List<WalletBalanceDTO> balances = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String ownerId : new LinkedHashSet<>(ownerIds)) {
+            WalletBalanceDTO balance = found.get(ownerId);
+            if (balance != null) {
+                balances.add(balance);
+            } else {
+                notFound.add(ownerId);
+            }
+        }
+        return WalletBalancesDTO.builder()
+                .asOf(asOf)
+                .balances(balances)
+                .notFound(notFound)
+                .build();
+    }
+
+    private List<WalletBalanceDTO> lookup(List<String> ownerIds, LocalDateTime asOf) {
+        return readOnlyTransaction.execute(status -> {
+            List<WalletBalanceDTO> wallets = new ArrayList<>(ownerIds.size());
+            for (List<String> chunk : chunks(ownerIds)) {
+                wallets.addAll(walletRepository.findBalancesByOwnerIdIn(chunk));
+            }
+            if (asOf != null && !wallets.isEmpty()) {
+                applyHistoricalBalances(wallets, asOf);
+            }
+            return wallets;
+        });
+    }
+
+    /**
+     * Substitui o saldo atual pelo saldo no momento informado. A tabela quente responde pelas
+     * carteiras com transações recentes; o arquivo frio só é consultado para as demais.
+     * Carteiras listradas usam a soma dos lançamentos, já que o saldo registrado nos créditos
+     * é o da faixa.
+     */
+    private void applyHistoricalBalances(List<WalletBalanceDTO> wallets, LocalDateTime asOf) {
+        List<Long> walletIds = new ArrayList<>(wallets.size());
+        List<Long> stripedIds = new ArrayList<>();
+        for (WalletBalanceDTO wallet : wallets) {
+            if (wallet.getStripes() != null && wallet.getStripes() > 0) {
+                stripedIds.add(wallet.getWalletId());
+            } else {
+                walletIds.add(wallet.getWalletId());
+            }
+        }
+
+        Map<Long, BigDecimal> historical = new HashMap<>();
+        for (List<Long> chunk : chunks(walletIds)) {
+            for (Object[] row : transactionRepository.findBalancesAtTime(chunk, asOf)) {
+                historical.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+            }
+        }
+
+        List<Long> missing = walletIds.stream().filter(id -> !historical.containsKey(id)).toList();
+        for (List<Long> chunk : chunks(missing)) {
+            historical.putAll(ledgerArchiveService.calculateBalancesAtTime(chunk, asOf));
+        }
+
+        for (List<Long> chunk : chunks(stripedIds)) {
+            for (Object[] row : transactionRepository.sumAmountsByWalletUpTo(chunk, asOf)) {
+                historical.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+            }
+            ledgerArchiveService.sumAmountsByWalletUpTo(chunk, asOf)
+                    .forEach((walletId, archived) -> historical.merge(walletId, archived, BigDecimal::add));
+        }
+
+        wallets.forEach(wallet -> wallet.setBalance(historical.getOrDefault(wallet.getWalletId(), BigDecimal.ZERO)));
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>((values.size() + IN_LIST_CHUNK_SIZE - 1) / IN_LIST_CHUNK_SIZE);
+        for (int from = 0; from < values.size(); from += IN_LIST_CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.walletservice.service;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.dto.WalletVersionDTO;
+import org.springframework.http.ETag;
+
+import java.math.BigDecimal;
+
+/**
+ * ETag das representações de uma carteira e do seu histórico. Toda escrita na linha da carteira
+ * incrementa o {@code @Version}; créditos em faixas não tocam a linha, mas sempre aumentam o
+ * saldo total, então em carteiras listradas o par versão e saldo nunca se repete.
+ */
+public final class WalletETag {
+
+    private WalletETag() {
+    }
+
+    /**
+     * @return ETag forte entre aspas, ou nulo se a versão não for conhecida (motor em memória, sagas)
+     */
+    public static String of(Long version, Integer stripes, BigDecimal balance) {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + tag(version, stripes, balance) + "\"";
+    }
+
+    public static String of(WalletDTO wallet) {
+        return of(wallet.getVersion(), wallet.getStripes(), wallet.getBalance());
+    }
+
+    public static String of(WalletVersionDTO wallet) {
+        return of(wallet.getVersion(), wallet.getStripes(), wallet.getBalance());
+    }
+
+    /**
+     * Avalia um cabeçalho {@code If-Match} ou {@code If-None-Match} contra o ETag atual
+     * @param header Valor do cabeçalho; {@code *} casa com qualquer ETag
+     * @param current ETag atual, como devolvido por {@link #of}
+     * @param strong Comparação forte ({@code If-Match}): ETags fracos nunca casam
+     */
+    public static boolean matches(String header, String current, boolean strong) {
+        if (header == null || current == null) {
+            return false;
+        }
+        String currentTag = current.substring(1, current.length() - 1);
+        for (ETag expected : ETag.parse(header)) {
+            if (expected.isWildcard() || (!(strong && expected.weak()) && expected.tag().equals(currentTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tag(long version, Integer stripes, BigDecimal balance) {
+        if (stripes == null || stripes == 0 || balance == null) {
+            return String.valueOf(version);
+        }
+        return version + "-" + balance.stripTrailingZeros().toPlainString();
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.walletservice.service;
 
 import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.dto.WalletVersionDTO;
 import com.example.walletservice.entity.Transaction;
 import com.example.walletservice.entity.TransactionType;
 import com.example.walletservice.entity.Wallet;
+import com.example.walletservice.event.WalletLedgerEvent;
 import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.exception.PreconditionFailedException;
 import com.example.walletservice.exception.WalletNotFoundException;
 import com.example.walletservice.repository.TransactionRepository;
 import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.sharding.ShardKey;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,7 +29,10 @@ public class WalletService {
 
     private final WalletRepository walletRepository;
     private final TransactionRepository transactionRepository;
+    private final LedgerArchiveService ledgerArchiveService;
     private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletStripeService walletStripeService;
 
     /**
      * Cria uma nova carteira para um usuário
@@ -32,7 +41,7 @@ public class WalletService {
      */
     @Transactional
     @Timed(value = "wallet.create", description = "Time taken to create a wallet")
-    public WalletDTO createWallet(String ownerId) {
+    public WalletDTO createWallet(@ShardKey String ownerId) {
         if (walletRepository.existsByOwnerId(ownerId)) {
             throw new IllegalStateException("Usuário já possui uma carteira");
         }
@@ -52,9 +61,21 @@ public class WalletService {
      * @param ownerId ID do proprietário da carteira
      * @return DTO da carteira
      */
-    public WalletDTO getWalletByOwnerId(String ownerId) {
-        Wallet wallet = findWalletByOwnerId(ownerId);
-        return convertToDTO(wallet);
+    @Transactional(readOnly = true)
+    public WalletDTO getWalletByOwnerId(@ShardKey String ownerId) {
+        return walletRepository.findDTOByOwnerId(ownerId)
+                .orElseThrow(() -> walletNotFound(ownerId));
+    }
+
+    /**
+     * Obtém só o necessário para o ETag da carteira e do histórico, sem montar o DTO completo
+     * @param ownerId ID do proprietário da carteira
+     * @return Versão da carteira
+     */
+    @Transactional(readOnly = true)
+    public WalletVersionDTO getWalletVersion(@ShardKey String ownerId) {
+        return walletRepository.findVersionByOwnerId(ownerId)
+                .orElseThrow(() -> walletNotFound(ownerId));
     }
 
     /**
@@ -62,9 +83,10 @@ public class WalletService {
      * @param ownerId ID do proprietário da carteira
      * @return Saldo atual
      */
-    public BigDecimal getWalletBalance(String ownerId) {
-        Wallet wallet = findWalletByOwnerId(ownerId);
-        return wallet.getBalance();
+    @Transactional(readOnly = true)
+    public BigDecimal getWalletBalance(@ShardKey String ownerId) {
+        return walletRepository.findBalanceByOwnerId(ownerId)
+                .orElseThrow(() -> walletNotFound(ownerId));
     }
 
     /**
@@ -73,9 +95,10 @@ public class WalletService {
      * @param timestamp Momento específico para consulta
      * @return Saldo histórico
      */
-    public BigDecimal getHistoricalBalance(String ownerId, LocalDateTime timestamp) {
-        Wallet wallet = findWalletByOwnerId(ownerId);
-        return transactionRepository.calculateBalanceAtTime(wallet.getId(), timestamp);
+    @Transactional(readOnly = true)
+    public BigDecimal getHistoricalBalance(@ShardKey String ownerId, LocalDateTime timestamp) {
+        WalletDTO wallet = getWalletByOwnerId(ownerId);
+        return calculateBalanceAtTime(wallet, timestamp);
     }
 
     /**
@@ -84,19 +107,12 @@ public class WalletService {
      * @param timestamp Momento específico para consulta
      * @return DTO da carteira com saldo histórico
      */
-    public WalletDTO getHistoricalWalletDTO(String ownerId, LocalDateTime timestamp) {
-        Wallet wallet = findWalletByOwnerId(ownerId);
-        BigDecimal historicalBalance = transactionRepository.calculateBalanceAtTime(wallet.getId(), timestamp);
-        
-        Wallet historicalWallet = Wallet.builder()
-                .id(wallet.getId())
-                .ownerId(wallet.getOwnerId())
-                .balance(historicalBalance)
-                .createdAt(wallet.getCreatedAt())
-                .updatedAt(timestamp)
-                .build();
-                
-        return convertToDTO(historicalWallet);
+    @Transactional(readOnly = true)
+    public WalletDTO getHistoricalWalletDTO(@ShardKey String ownerId, LocalDateTime timestamp) {
+        WalletDTO wallet = getWalletByOwnerId(ownerId);
+        wallet.setBalance(calculateBalanceAtTime(wallet, timestamp));
+        wallet.setUpdatedAt(timestamp);
+        return wallet;
     }
 
     /**
@@ -108,9 +124,27 @@ public class WalletService {
      */
     @Transactional
     @Timed(value = "wallet.deposit", description = "Time taken to deposit money")
-    public WalletDTO deposit(String ownerId, BigDecimal amount, String description) {
+    public WalletDTO deposit(@ShardKey String ownerId, BigDecimal amount, String description) {
+        return deposit(ownerId, amount, description, null);
+    }
+
+    /**
+     * Deposita dinheiro na carteira se ela ainda estiver no estado informado pelo cliente
+     * @param ownerId ID do proprietário da carteira
+     * @param amount Valor a ser depositado
+     * @param description Descrição opcional da transação
+     * @param ifMatch Cabeçalho {@code If-Match} com o ETag esperado, ou nulo para não conferir
+     * @return DTO da carteira atualizada
+     */
+    @Transactional
+    @Timed(value = "wallet.deposit", description = "Time taken to deposit money")
+    public WalletDTO deposit(@ShardKey String ownerId, BigDecimal amount, String description, String ifMatch) {
         Wallet wallet = findWalletByOwnerId(ownerId);
-        wallet.deposit(amount);
+        if (ifMatch != null) {
+            sweepStripes(wallet);
+        }
+        checkPrecondition(wallet, ifMatch);
+        BigDecimal balanceAfter = credit(wallet, amount);
         
         Transaction transaction = Transaction.builder()
                 .wallet(wallet)
@@ -118,20 +152,23 @@ public class WalletService {
                 .type(TransactionType.DEPOSIT)
                 .description(description)
                 .timestamp(LocalDateTime.now())
-                .balanceAfterTransaction(wallet.getBalance())
+                .balanceAfterTransaction(balanceAfter)
                 .build();
                 
         transactionRepository.save(transaction);
         walletRepository.save(wallet);
+        flush(ifMatch);
+        WalletDTO walletDTO = convertToDTO(wallet);
+        eventPublisher.publishEvent(WalletLedgerEvent.of(walletDTO, transaction));
         
-        return convertToDTO(wallet);
+        return walletDTO;
     }
 
     /**
      * Método de depósito sem descrição para compatibilidade com testes
      */
     @Transactional
-    public BigDecimal deposit(String ownerId, BigDecimal amount) {
+    public BigDecimal deposit(@ShardKey String ownerId, BigDecimal amount) {
         WalletDTO walletDTO = deposit(ownerId, amount, null);
         return walletDTO.getBalance();
     }
@@ -145,8 +182,24 @@ public class WalletService {
      */
     @Transactional
     @Timed(value = "wallet.withdraw", description = "Time taken to withdraw money")
-    public WalletDTO withdraw(String ownerId, BigDecimal amount, String description) {
+    public WalletDTO withdraw(@ShardKey String ownerId, BigDecimal amount, String description) {
+        return withdraw(ownerId, amount, description, null);
+    }
+
+    /**
+     * Saca dinheiro da carteira se ela ainda estiver no estado informado pelo cliente
+     * @param ownerId ID do proprietário da carteira
+     * @param amount Valor a ser sacado
+     * @param description Descrição opcional da transação
+     * @param ifMatch Cabeçalho {@code If-Match} com o ETag esperado, ou nulo para não conferir
+     * @return DTO da carteira atualizada
+     */
+    @Transactional
+    @Timed(value = "wallet.withdraw", description = "Time taken to withdraw money")
+    public WalletDTO withdraw(@ShardKey String ownerId, BigDecimal amount, String description, String ifMatch) {
         Wallet wallet = findWalletByOwnerId(ownerId);
+        sweepStripes(wallet);
+        checkPrecondition(wallet, ifMatch);
         
         if (wallet.getBalance().compareTo(amount) < 0) {
             throw new InsufficientFundsException("Saldo insuficiente para realizar o saque");
@@ -165,15 +218,18 @@ public class WalletService {
                 
         transactionRepository.save(transaction);
         walletRepository.save(wallet);
+        flush(ifMatch);
+        WalletDTO walletDTO = convertToDTO(wallet);
+        eventPublisher.publishEvent(WalletLedgerEvent.of(walletDTO, transaction));
         
-        return convertToDTO(wallet);
+        return walletDTO;
     }
 
     /**
      * Método de saque sem descrição para compatibilidade com testes
      */
     @Transactional
-    public BigDecimal withdraw(String ownerId, BigDecimal amount) {
+    public BigDecimal withdraw(@ShardKey String ownerId, BigDecimal amount) {
         WalletDTO walletDTO = withdraw(ownerId, amount, null);
         return walletDTO.getBalance();
     }
@@ -188,53 +244,143 @@ public class WalletService {
      */
     @Transactional
     @Timed(value = "wallet.transfer", description = "Time taken to transfer money")
-    public WalletDTO transfer(String sourceOwnerId, String targetOwnerId, BigDecimal amount, String description) {
+    public WalletDTO transfer(@ShardKey String sourceOwnerId, @ShardKey String targetOwnerId, BigDecimal amount, String description) {
+        return transfer(sourceOwnerId, targetOwnerId, amount, description, null);
+    }
+
+    /**
+     * Transfere dinheiro se a carteira de origem ainda estiver no estado informado pelo cliente
+     * @param sourceOwnerId ID do proprietário da carteira de origem
+     * @param targetOwnerId ID do proprietário da carteira de destino
+     * @param amount Valor a ser transferido
+     * @param description Descrição opcional da transação
+     * @param ifMatch Cabeçalho {@code If-Match} com o ETag esperado da origem, ou nulo para não conferir
+     * @return DTO da carteira de origem atualizada
+     */
+    @Transactional
+    @Timed(value = "wallet.transfer", description = "Time taken to transfer money")
+    public WalletDTO transfer(@ShardKey String sourceOwnerId, @ShardKey String targetOwnerId, BigDecimal amount,
+                              String description, String ifMatch) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("O valor da transferência deve ser maior que zero");
+        }
         Wallet sourceWallet = findWalletByOwnerId(sourceOwnerId);
         Wallet targetWallet = findWalletByOwnerId(targetOwnerId);
+        sweepStripes(sourceWallet);
+        checkPrecondition(sourceWallet, ifMatch);
         
         if (sourceWallet.getBalance().compareTo(amount) < 0) {
             throw new InsufficientFundsException("Saldo insuficiente para realizar a transferência");
         }
         
         sourceWallet.withdraw(amount);
-        targetWallet.deposit(amount);
+        BigDecimal targetBalanceAfter = credit(targetWallet, amount);
         
-        Transaction sourceTransaction = Transaction.builder()
+        // Um único lançamento com as duas pernas; a descrição padrão é montada na leitura
+        Transaction transfer = Transaction.builder()
                 .wallet(sourceWallet)
                 .amount(amount.negate())
-                .type(TransactionType.TRANSFER_OUT)
-                .description(description != null ? description : "Transferência para " + targetOwnerId)
+                .type(TransactionType.TRANSFER)
+                .description(description)
                 .timestamp(LocalDateTime.now())
                 .balanceAfterTransaction(sourceWallet.getBalance())
                 .relatedWalletId(targetWallet.getId())
+                .relatedBalanceAfter(targetBalanceAfter)
                 .build();
                 
-        Transaction targetTransaction = Transaction.builder()
-                .wallet(targetWallet)
-                .amount(amount)
-                .type(TransactionType.TRANSFER_IN)
-                .description(description != null ? description : "Transferência de " + sourceOwnerId)
-                .timestamp(LocalDateTime.now())
-                .balanceAfterTransaction(targetWallet.getBalance())
-                .relatedWalletId(sourceWallet.getId())
-                .build();
-                
-        transactionRepository.save(sourceTransaction);
-        transactionRepository.save(targetTransaction);
+        transactionRepository.save(transfer);
         walletRepository.save(sourceWallet);
         walletRepository.save(targetWallet);
+        flush(ifMatch);
+        WalletDTO sourceDTO = convertToDTO(sourceWallet);
+        eventPublisher.publishEvent(WalletLedgerEvent.ofTransfer(sourceDTO, transfer, targetOwnerId));
+        eventPublisher.publishEvent(WalletLedgerEvent.ofTransfer(convertToDTO(targetWallet), transfer, sourceOwnerId));
         
-        return convertToDTO(sourceWallet);
+        return sourceDTO;
     }
 
     /**
      * Método de transferência sem descrição para compatibilidade com testes
      */
     @Transactional
-    public void transfer(String sourceOwnerId, String targetOwnerId, BigDecimal amount) {
+    public void transfer(@ShardKey String sourceOwnerId, @ShardKey String targetOwnerId, BigDecimal amount) {
         transfer(sourceOwnerId, targetOwnerId, amount, null);
     }
 
+    /**
+     * Calcula o saldo em um momento específico, consultando o arquivo frio apenas quando
+     * a tabela quente não tem transações até esse momento. Em carteiras listradas o saldo
+     * após um crédito é o da faixa, então o saldo histórico é a soma dos lançamentos.
+     * @param wallet Carteira
+     * @param timestamp Momento específico para consulta
+     * @return Saldo histórico
+     */
+    private BigDecimal calculateBalanceAtTime(WalletDTO wallet, LocalDateTime timestamp) {
+        if (wallet.getStripes() != null && wallet.getStripes() > 0) {
+            return transactionRepository.sumAmountsUpTo(wallet.getId(), timestamp)
+                    .add(ledgerArchiveService.sumAmountsUpTo(wallet.getId(), timestamp));
+        }
+        BigDecimal balance = transactionRepository.calculateBalanceAtTime(wallet.getId(), timestamp);
+        if (balance == null) {
+            balance = ledgerArchiveService.calculateBalanceAtTime(wallet.getId(), timestamp);
+        }
+        return balance;
+    }
+
+    /**
+     * Credita a carteira: no saldo base ou, em carteiras listradas, em uma das faixas
+     * @param wallet Carteira de destino
+     * @param amount Valor a creditar
+     * @return Saldo a registrar no lançamento (o da faixa, em carteiras listradas)
+     */
+    private BigDecimal credit(Wallet wallet, BigDecimal amount) {
+        if (wallet.isStriped()) {
+            return walletStripeService.credit(wallet, amount);
+        }
+        wallet.deposit(amount);
+        return wallet.getBalance();
+    }
+
+    /**
+     * Compare-and-set do {@code If-Match}. O chamador incorpora as faixas antes da comparação:
+     * ficam bloqueadas até o commit e a linha da carteira passa a refletir o saldo total, então
+     * o {@code @Version} conferido no flush cobre também os créditos concorrentes.
+     */
+    private void checkPrecondition(Wallet wallet, String ifMatch) {
+        if (ifMatch == null) {
+            return;
+        }
+        String current = WalletETag.of(wallet.getVersion(), wallet.getStripeCount(), wallet.getBalance());
+        if (!WalletETag.matches(ifMatch, current, true)) {
+            throw new PreconditionFailedException(current);
+        }
+    }
+
+    /**
+     * Aplica as escritas antes de montar o DTO, para que ele leve a versão gravada (e o ETag
+     * da resposta valha para o próximo {@code If-Match}). Com {@code If-Match}, uma escrita
+     * concorrente detectada aqui é uma pré-condição falha.
+     */
+    private void flush(String ifMatch) {
+        try {
+            walletRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(null);
+        }
+    }
+
+    /**
+     * Antes de um débito, incorpora as faixas ao saldo base para conferir o saldo total
+     */
+    private void sweepStripes(Wallet wallet) {
+        if (wallet.isStriped()) {
+            walletStripeService.sweep(wallet);
+        }
+    }
+
     /**
      * Encontra uma carteira pelo ID do proprietário
      * @param ownerId ID do proprietário da carteira
@@ -243,7 +389,11 @@ public class WalletService {
      */
     private Wallet findWalletByOwnerId(String ownerId) {
         return walletRepository.findByOwnerId(ownerId)
-                .orElseThrow(() -> new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId));
+                .orElseThrow(() -> walletNotFound(ownerId));
+    }
+
+    private WalletNotFoundException walletNotFound(String ownerId) {
+        return new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId);
     }
 
     /**
@@ -255,9 +405,11 @@ public class WalletService {
         return WalletDTO.builder()
                 .id(wallet.getId())
                 .ownerId(wallet.getOwnerId())
-                .balance(wallet.getBalance())
+                .balance(wallet.isStriped() ? walletStripeService.effectiveBalance(wallet) : wallet.getBalance())
                 .createdAt(wallet.getCreatedAt())
                 .updatedAt(wallet.getUpdatedAt())
+                .stripes(wallet.getStripeCount())
+                .version(wallet.getVersion())
                 .build();
     }
 }
\ No newline at end of file
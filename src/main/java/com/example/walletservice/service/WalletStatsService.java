@@ -0,0 +1,77 @@
+package com.example.walletservice.service;
+
+import com.example.walletservice.dto.DailyStatsDTO;
+import com.example.walletservice.dto.WalletStatsDTO;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.entity.WalletDailyStat;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.repository.WalletDailyStatRepository;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.sharding.ShardKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class WalletStatsService {
+
+    private final WalletRepository walletRepository;
+    private final WalletDailyStatRepository walletDailyStatRepository;
+
+    /**
+     * Obtém entradas, saídas e quantidade de transações por dia e tipo a partir dos totais
+     * diários, sem percorrer o histórico. Transações mais recentes que a marca d'água do
+     * agregador ainda não aparecem.
+     * @param ownerId ID do proprietário da carteira
+     * @param from Primeiro dia, inclusive
+     * @param to Último dia, inclusive
+     * @return Totais diários e totais do intervalo por tipo
+     */
+    @Transactional(readOnly = true)
+    public WalletStatsDTO getDailyStats(@ShardKey String ownerId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Data inicial posterior à data final");
+        }
+        Long walletId = walletRepository.findIdByOwnerId(ownerId)
+                .orElseThrow(() -> new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId));
+
+        List<WalletDailyStat> stats = walletDailyStatRepository.findRange(walletId, from, to);
+
+        Map<TransactionType, DailyStatsDTO> totals = new EnumMap<>(TransactionType.class);
+        for (WalletDailyStat stat : stats) {
+            DailyStatsDTO total = totals.computeIfAbsent(stat.getType(), type -> DailyStatsDTO.builder()
+                    .type(type)
+                    .inflow(BigDecimal.ZERO)
+                    .outflow(BigDecimal.ZERO)
+                    .build());
+            total.setInflow(total.getInflow().add(stat.getInflow()));
+            total.setOutflow(total.getOutflow().add(stat.getOutflow()));
+            total.setCount(total.getCount() + stat.getEntryCount());
+        }
+
+        return WalletStatsDTO.builder()
+                .ownerId(ownerId)
+                .from(from)
+                .to(to)
+                .days(stats.stream().map(this::convertToDTO).toList())
+                .totals(List.copyOf(totals.values()))
+                .build();
+    }
+
+    private DailyStatsDTO convertToDTO(WalletDailyStat stat) {
+        return DailyStatsDTO.builder()
+                .date(stat.getDate())
+                .type(stat.getType())
+                .inflow(stat.getInflow())
+                .outflow(stat.getOutflow())
+                .count(stat.getEntryCount())
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.walletservice.service;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.Wallet;
+import com.example.walletservice.entity.WalletStripe;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.repository.WalletStripeRepository;
+import com.example.walletservice.sharding.ShardKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carteiras listradas: para destinos que recebem quase todas as transferências, os créditos são
+ * espalhados por N sub-saldos em {@code wallet_stripes} em vez de disputarem a linha da carteira
+ * e o seu {@code @Version}. Débitos varrem as faixas para o saldo base antes de conferir o saldo,
+ * de modo que só os créditos escalam com N.
+ *
+ * <p>No livro-razão, o {@code balanceAfterTransaction} de um crédito listrado é o saldo da faixa
+ * creditada; os débitos continuam registrando o saldo total da carteira.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class WalletStripeService {
+
+    static final int MAX_STRIPES = 64;
+
+    private final WalletRepository walletRepository;
+    private final WalletStripeRepository walletStripeRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Round-robin entre as faixas; o ponto de partida aleatório evita que instâncias recém
+     * iniciadas comecem todas pela mesma faixa
+     */
+    private final AtomicInteger nextStripe = new AtomicInteger(ThreadLocalRandom.current().nextInt());
+
+    /**
+     * Ativa o modo listrado ou altera a quantidade de faixas. O saldo acumulado nas faixas
+     * atuais é incorporado ao saldo base antes de redimensioná-las.
+     * @param ownerId ID do proprietário da carteira
+     * @param stripes Quantidade de faixas, entre 1 e {@value #MAX_STRIPES}
+     * @return DTO da carteira atualizada
+     */
+    @Transactional
+    public WalletDTO configureStripes(@ShardKey String ownerId, int stripes) {
+        if (stripes < 1 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("A quantidade de faixas deve estar entre 1 e " + MAX_STRIPES);
+        }
+        Wallet wallet = walletRepository.findByOwnerId(ownerId)
+                .orElseThrow(() -> new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WalletStripe> current = walletStripeRepository.findAllForUpdate(wallet.getId());
+        BigDecimal swept = BigDecimal.ZERO;
+        for (WalletStripe stripe : current) {
+            swept = swept.add(stripe.getBalance());
+            if (stripe.getStripeIndex() < stripes) {
+                stripe.setBalance(BigDecimal.ZERO);
+                stripe.setUpdatedAt(now);
+            } else {
+                walletStripeRepository.delete(stripe);
+            }
+        }
+        if (swept.signum() > 0) {
+            wallet.deposit(swept);
+        }
+
+        List<WalletStripe> created = new ArrayList<>();
+        for (int index = current.size(); index < stripes; index++) {
+            created.add(WalletStripe.builder()
+                    .walletId(wallet.getId())
+                    .stripeIndex(index)
+                    .balance(BigDecimal.ZERO)
+                    .updatedAt(now)
+                    .build());
+        }
+        walletStripeRepository.saveAll(created);
+        wallet.setStripeCount(stripes);
+        walletRepository.save(wallet);
+
+        return WalletDTO.builder()
+                .id(wallet.getId())
+                .ownerId(wallet.getOwnerId())
+                .balance(wallet.getBalance())
+                .createdAt(wallet.getCreatedAt())
+                .updatedAt(wallet.getUpdatedAt())
+                .stripes(stripes)
+                .build();
+    }
+
+    /**
+     * Credita uma das faixas da carteira, sem alterar a linha da carteira
+     * @param wallet Carteira listrada
+     * @param amount Valor positivo a creditar
+     * @return Saldo da faixa creditada após o crédito
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal credit(Wallet wallet, BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("O valor do depósito deve ser maior que zero");
+        }
+        int stripe = Math.floorMod(nextStripe.getAndIncrement(), wallet.getStripeCount());
+        if (walletStripeRepository.credit(wallet.getId(), stripe, amount, LocalDateTime.now()) == 0) {
+            // A quantidade de faixas foi reduzida depois que a carteira foi lida
+            throw new OptimisticLockingFailureException("Faixa " + stripe + " removida da carteira " + wallet.getId());
+        }
+        meterRegistry.counter("wallet.stripes.credits").increment();
+        // A linha da faixa está bloqueada por esta transação: o saldo lido já inclui o crédito
+        return walletStripeRepository.findBalance(wallet.getId(), stripe);
+    }
+
+    /**
+     * Incorpora todas as faixas ao saldo base da carteira. As faixas ficam bloqueadas até o fim
+     * da transação, então nenhum crédito concorrente se perde entre a varredura e o débito.
+     * @param wallet Carteira listrada
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sweep(Wallet wallet) {
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal swept = BigDecimal.ZERO;
+        for (WalletStripe stripe : walletStripeRepository.findAllForUpdate(wallet.getId())) {
+            if (stripe.getBalance().signum() != 0) {
+                swept = swept.add(stripe.getBalance());
+                stripe.setBalance(BigDecimal.ZERO);
+                stripe.setUpdatedAt(now);
+            }
+        }
+        if (swept.signum() > 0) {
+            wallet.deposit(swept);
+            meterRegistry.counter("wallet.stripes.sweeps").increment();
+        }
+    }
+
+    /**
+     * Saldo total da carteira: o saldo base mais as faixas, lidas sem bloqueio
+     * @param wallet Carteira
+     * @return Saldo total
+     */
+    public BigDecimal effectiveBalance(Wallet wallet) {
+        if (!wallet.isStriped()) {
+            return wallet.getBalance();
+        }
+        return wallet.getBalance().add(walletStripeRepository.sumBalances(wallet.getId()));
+    }
+}
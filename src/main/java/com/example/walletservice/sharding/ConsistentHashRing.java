@@ -0,0 +1,81 @@
+package com.example.walletservice.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Anel de hash consistente com nós virtuais. Ao adicionar um shard, apenas as chaves que
+ * passam a cair nos nós virtuais do novo shard mudam de lugar (~1/N das chaves).
+ * <p>
+ * Leituras não usam lock: cada alteração publica uma nova cópia do anel.
+ */
+public class ConsistentHashRing {
+
+    private final int virtualNodes;
+    private final List<String> shards = new CopyOnWriteArrayList<>();
+    private volatile NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("O número de nós virtuais deve ser maior que zero");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    public synchronized void addShard(String shard) {
+        if (shards.contains(shard)) {
+            return;
+        }
+        TreeMap<Long, String> copy = new TreeMap<>(ring);
+        for (int node = 0; node < virtualNodes; node++) {
+            copy.put(hash(shard + "#" + node), shard);
+        }
+        shards.add(shard);
+        ring = copy;
+    }
+
+    public synchronized void removeShard(String shard) {
+        if (!shards.remove(shard)) {
+            return;
+        }
+        TreeMap<Long, String> copy = new TreeMap<>(ring);
+        copy.values().removeIf(shard::equals);
+        ring = copy;
+    }
+
+    /**
+     * Obtém o shard responsável pela chave
+     * @param key Chave de sharding (ownerId)
+     * @return Nome do shard
+     */
+    public String shardFor(String key) {
+        NavigableMap<Long, String> current = ring;
+        if (current.isEmpty()) {
+            throw new IllegalStateException("Nenhum shard configurado");
+        }
+        Map.Entry<Long, String> entry = current.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : current.firstEntry().getValue();
+    }
+
+    public List<String> getShards() {
+        return List.copyOf(shards);
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido do finalizador do SplitMix64, para espalhar chaves parecidas
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.walletservice.sharding;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.TransferSaga;
+import com.example.walletservice.entity.TransferSagaStatus;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.repository.TransferSagaRepository;
+import com.example.walletservice.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Coordena transferências entre carteiras de shards diferentes como uma saga:
+ * débito na origem (saga pendente), crédito idempotente no destino e conclusão na origem.
+ * <p>
+ * Falhas de negócio no crédito disparam o estorno imediato. Falhas de infraestrutura deixam a
+ * saga pendente, pois o crédito pode ter sido aplicado; a recuperação agendada retoma o crédito
+ * (idempotente) e só então conclui ou compensa.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "wallet.sharding", name = "enabled", havingValue = "true")
+public class CrossShardTransferSaga {
+
+    private final ConsistentHashRing shardRing;
+    private final WalletService walletService;
+    private final TransferSagaSteps transferSagaSteps;
+    private final TransferSagaRepository transferSagaRepository;
+    private final ShardingProperties shardingProperties;
+    private final MeterRegistry meterRegistry;
+
+    public boolean isCrossShard(String sourceOwnerId, String targetOwnerId) {
+        return !shardRing.shardFor(sourceOwnerId).equals(shardRing.shardFor(targetOwnerId));
+    }
+
+    /**
+     * Transfere dinheiro entre carteiras de shards diferentes
+     * @param sourceOwnerId ID do proprietário da carteira de origem
+     * @param targetOwnerId ID do proprietário da carteira de destino
+     * @param amount Valor a ser transferido
+     * @param description Descrição opcional da transação
+     * @return DTO da carteira de origem atualizada
+     */
+    public WalletDTO transfer(String sourceOwnerId, String targetOwnerId, BigDecimal amount, String description) {
+        WalletDTO targetWallet = walletService.getWalletByOwnerId(targetOwnerId);
+
+        TransferSaga saga = TransferSaga.builder()
+                .id(UUID.randomUUID().toString())
+                .sourceOwnerId(sourceOwnerId)
+                .targetOwnerId(targetOwnerId)
+                .targetWalletId(targetWallet.getId())
+                .amount(amount)
+                .description(description)
+                .build();
+
+        WalletDTO sourceWallet = transferSagaSteps.debit(sourceOwnerId, saga);
+        saga.setSourceWalletId(sourceWallet.getId());
+
+        try {
+            transferSagaSteps.credit(targetOwnerId, saga);
+        } catch (WalletNotFoundException | IllegalArgumentException e) {
+            compensate(saga);
+            throw e;
+        }
+
+        transferSagaSteps.complete(sourceOwnerId, saga.getId());
+        meterRegistry.counter("wallet.sharding.saga", "outcome", "completed").increment();
+        return sourceWallet;
+    }
+
+    /**
+     * Retoma sagas que ficaram pendentes além do tempo limite em qualquer shard
+     */
+    @Scheduled(fixedDelayString = "${wallet.sharding.saga-recovery-interval-ms:60000}")
+    public void recoverPendingSagas() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(shardingProperties.getSagaTimeout());
+        for (String shard : shardRing.getShards()) {
+            List<TransferSaga> pending = ShardContext.callIn(shard,
+                    () -> transferSagaRepository.findByStatusAndCreatedAtBefore(TransferSagaStatus.PENDING, cutoff));
+            pending.forEach(this::resume);
+        }
+    }
+
+    private void resume(TransferSaga saga) {
+        try {
+            transferSagaSteps.credit(saga.getTargetOwnerId(), saga);
+            transferSagaSteps.complete(saga.getSourceOwnerId(), saga.getId());
+            meterRegistry.counter("wallet.sharding.saga", "outcome", "recovered").increment();
+        } catch (WalletNotFoundException | IllegalArgumentException e) {
+            compensate(saga);
+        } catch (RuntimeException e) {
+            log.warn("Saga {} continua pendente, nova tentativa na próxima recuperação: {}", saga.getId(), e.getMessage());
+        }
+    }
+
+    private void compensate(TransferSaga saga) {
+        try {
+            transferSagaSteps.compensate(saga.getSourceOwnerId(), saga.getId());
+            meterRegistry.counter("wallet.sharding.saga", "outcome", "compensated").increment();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("wallet.sharding.saga", "outcome", "compensation_failed").increment();
+            log.error("Falha ao compensar a saga {}; ela permanece pendente para a recuperação", saga.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.walletservice.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard selecionado para a thread corrente, lido pelo {@link ShardRoutingDataSource}
+ * quando a conexão física é obtida.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Executa o trabalho no shard informado, restaurando o shard anterior ao final
+     * @param shard Nome do shard
+     * @param work Trabalho a executar
+     * @return Resultado do trabalho
+     */
+    public static <T> T callIn(String shard, Supplier<T> work) {
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static void set(String shard) {
+        CURRENT_SHARD.set(shard);
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(previous);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.walletservice.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o parâmetro {@code ownerId} que determina o shard de uma operação de serviço.
+ * Quando o sharding está habilitado, a chamada é executada no shard desse proprietário.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
@@ -0,0 +1,80 @@
+package com.example.walletservice.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Seleciona o shard das operações de serviço a partir do parâmetro {@link ShardKey}.
+ * Executa antes do interceptor transacional, para que a transação local já nasça no shard certo.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.sharding", name = "enabled", havingValue = "true")
+public class ShardRoutingAspect {
+
+    private final ConsistentHashRing shardRing;
+    private final Map<Method, int[]> shardKeyIndexes = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.walletservice.service..*(..)) "
+            + "|| execution(public * com.example.walletservice.sharding.TransferSagaSteps.*(..))")
+    public Object routeToShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        int[] keyIndexes = shardKeyIndexes.computeIfAbsent(method, ShardRoutingAspect::findShardKeys);
+        Object[] args = joinPoint.getArgs();
+        if (keyIndexes.length == 0 || args[keyIndexes[0]] == null) {
+            return joinPoint.proceed();
+        }
+
+        String shard = shardRing.shardFor((String) args[keyIndexes[0]]);
+        for (int i = 1; i < keyIndexes.length; i++) {
+            Object otherKey = args[keyIndexes[i]];
+            if (otherKey != null && !shard.equals(shardRing.shardFor((String) otherKey))) {
+                throw new IllegalStateException("Operação envolve carteiras em shards diferentes; transferências entre shards devem passar pelo TransactionService");
+            }
+        }
+
+        String previous = ShardContext.current();
+        if (previous != null && !previous.equals(shard) && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Uma transação local não pode atravessar shards");
+        }
+
+        ShardContext.set(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static int[] findShardKeys(Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        return IntStream.range(0, parameterAnnotations.length)
+                .filter(i -> isShardKey(parameterAnnotations[i]))
+                .toArray();
+    }
+
+    private static boolean isShardKey(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof ShardKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.walletservice.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Encaminha cada conexão para o shard do {@link ShardContext}. Sem shard selecionado
+ * (migrações, health check) a conexão vai para o shard padrão.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
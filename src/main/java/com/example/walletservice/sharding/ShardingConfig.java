@@ -0,0 +1,93 @@
+package com.example.walletservice.sharding;
+
+import com.example.walletservice.datasource.HikariPoolTuner;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Um pool Hikari por shard, migrado com Flyway na inicialização, atrás de um
+ * {@link ShardRoutingDataSource}. Não pode ser combinado com a réplica de leitura:
+ * ambos definem o {@code dataSource} primário.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties shardingProperties) {
+        ConsistentHashRing ring = new ConsistentHashRing(shardingProperties.getVirtualNodes());
+        shardingProperties.getShards().forEach(shard -> ring.addShard(shard.getName()));
+        return ring;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardingProperties shardingProperties,
+                                 MeterRegistry meterRegistry,
+                                 ObjectProvider<HikariPoolTuner> poolTuner,
+                                 @Value("${spring.flyway.locations:classpath:db/migration}") String[] migrationLocations) {
+        if (shardingProperties.getShards().isEmpty()) {
+            throw new IllegalStateException("wallet.sharding.enabled exige ao menos um shard em wallet.sharding.shards");
+        }
+
+        Map<Object, Object> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build();
+            dataSource.setPoolName("wallet-shard-" + shard.getName());
+            if (shard.getMaximumPoolSize() > 0) {
+                dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            }
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            // Os pools dos shards não passam pelos post-processors: o ajuste do perfil é aplicado aqui
+            poolTuner.ifAvailable(tuner -> tuner.tune(dataSource));
+
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations(resolveVendor(migrationLocations, shard.getUrl()))
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+
+            shards.put(shard.getName(), dataSource);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(shards);
+        routingDataSource.setDefaultTargetDataSource(shards.values().iterator().next());
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Substitui {@code {vendor}} nas locations, como a auto-configuração do Flyway faz para o
+     * datasource principal
+     */
+    private String[] resolveVendor(String[] locations, String url) {
+        String vendor = DatabaseDriver.fromJdbcUrl(url).getId();
+        return Arrays.stream(locations)
+                .map(location -> location.replace("{vendor}", vendor))
+                .toArray(String[]::new);
+    }
+}
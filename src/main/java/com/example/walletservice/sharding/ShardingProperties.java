@@ -0,0 +1,47 @@
+package com.example.walletservice.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do sharding de carteiras por ownerId. O primeiro shard da lista é o padrão,
+ * usado por operações que não têm proprietário (migrações, health check).
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /** Nós virtuais por shard no anel de hash consistente. */
+    private int virtualNodes = 160;
+
+    /** Tempo após o qual uma saga ainda pendente é retomada pela recuperação. */
+    private Duration sagaTimeout = Duration.ofMinutes(1);
+
+    /** Intervalo da recuperação de sagas pendentes, em milissegundos. */
+    private long sagaRecoveryIntervalMs = 60000;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        /** Tamanho do pool do shard; 0 deixa o valor para o ajuste do perfil ou para o padrão do Hikari. */
+        private int maximumPoolSize = 0;
+    }
+}
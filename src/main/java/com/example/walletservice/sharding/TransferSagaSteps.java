@@ -0,0 +1,197 @@
+package com.example.walletservice.sharding;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.Transaction;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.entity.TransferSaga;
+import com.example.walletservice.entity.TransferSagaStatus;
+import com.example.walletservice.entity.Wallet;
+import com.example.walletservice.event.WalletLedgerEvent;
+import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.repository.TransferSagaRepository;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.service.WalletStripeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Passos locais de uma transferência entre shards. Cada passo é uma transação local no shard
+ * do proprietário anotado com {@link ShardKey}, e grava o estado da saga junto com o lançamento.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.sharding", name = "enabled", havingValue = "true")
+public class TransferSagaSteps {
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferSagaRepository transferSagaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletStripeService walletStripeService;
+
+    /**
+     * Debita a origem e registra a saga como pendente no shard de origem
+     * @param sourceOwnerId ID do proprietário da carteira de origem
+     * @param saga Dados da transferência
+     * @return DTO da carteira de origem atualizada
+     */
+    @Transactional
+    public WalletDTO debit(@ShardKey String sourceOwnerId, TransferSaga saga) {
+        Wallet wallet = findWalletByOwnerId(sourceOwnerId);
+        if (wallet.isStriped()) {
+            walletStripeService.sweep(wallet);
+        }
+        if (wallet.getBalance().compareTo(saga.getAmount()) < 0) {
+            throw new InsufficientFundsException("Saldo insuficiente para realizar a transferência");
+        }
+        wallet.withdraw(saga.getAmount());
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(wallet)
+                .amount(saga.getAmount().negate())
+                .type(TransactionType.TRANSFER_OUT)
+                .description(saga.getDescription() != null ? saga.getDescription() : "Transferência para " + saga.getTargetOwnerId())
+                .timestamp(now)
+                .balanceAfterTransaction(wallet.getBalance())
+                .relatedWalletId(saga.getTargetWalletId())
+                .build());
+        walletRepository.save(wallet);
+        WalletDTO walletDTO = toDTO(wallet);
+        eventPublisher.publishEvent(WalletLedgerEvent.of(walletDTO, transaction));
+
+        transferSagaRepository.save(saga.toBuilder()
+                .sourceWalletId(wallet.getId())
+                .status(TransferSagaStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        return walletDTO;
+    }
+
+    /**
+     * Credita o destino no shard de destino. É idempotente: se a saga já foi creditada
+     * neste shard, nada é feito.
+     * @param targetOwnerId ID do proprietário da carteira de destino
+     * @param saga Dados da transferência
+     * @return true se o crédito foi aplicado nesta chamada
+     */
+    @Transactional
+    public boolean credit(@ShardKey String targetOwnerId, TransferSaga saga) {
+        if (transferSagaRepository.existsById(saga.getId())) {
+            return false;
+        }
+
+        Wallet wallet = findWalletByOwnerId(targetOwnerId);
+        BigDecimal balanceAfter = credit(wallet, saga.getAmount());
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(wallet)
+                .amount(saga.getAmount())
+                .type(TransactionType.TRANSFER_IN)
+                .description(saga.getDescription() != null ? saga.getDescription() : "Transferência de " + saga.getSourceOwnerId())
+                .timestamp(now)
+                .balanceAfterTransaction(balanceAfter)
+                .relatedWalletId(saga.getSourceWalletId())
+                .build());
+        walletRepository.save(wallet);
+        eventPublisher.publishEvent(WalletLedgerEvent.of(toDTO(wallet), transaction));
+
+        transferSagaRepository.save(saga.toBuilder()
+                .targetWalletId(wallet.getId())
+                .status(TransferSagaStatus.CREDITED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        return true;
+    }
+
+    /**
+     * Marca a saga como concluída no shard de origem
+     * @param sourceOwnerId ID do proprietário da carteira de origem
+     * @param sagaId ID da saga
+     */
+    @Transactional
+    public void complete(@ShardKey String sourceOwnerId, String sagaId) {
+        transferSagaRepository.findById(sagaId)
+                .filter(saga -> saga.getStatus() == TransferSagaStatus.PENDING)
+                .ifPresent(saga -> {
+                    saga.setStatus(TransferSagaStatus.COMPLETED);
+                    saga.setUpdatedAt(LocalDateTime.now());
+                });
+    }
+
+    /**
+     * Estorna o débito na origem com um lançamento compensatório
+     * @param sourceOwnerId ID do proprietário da carteira de origem
+     * @param sagaId ID da saga
+     * @return true se a compensação foi aplicada nesta chamada
+     */
+    @Transactional
+    public boolean compensate(@ShardKey String sourceOwnerId, String sagaId) {
+        TransferSaga saga = transferSagaRepository.findById(sagaId)
+                .filter(pending -> pending.getStatus() == TransferSagaStatus.PENDING)
+                .orElse(null);
+        if (saga == null) {
+            return false;
+        }
+
+        Wallet wallet = findWalletByOwnerId(sourceOwnerId);
+        BigDecimal balanceAfter = credit(wallet, saga.getAmount());
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(wallet)
+                .amount(saga.getAmount())
+                .type(TransactionType.TRANSFER_REVERSAL)
+                .description("Estorno da transferência para " + saga.getTargetOwnerId())
+                .timestamp(now)
+                .balanceAfterTransaction(balanceAfter)
+                .relatedWalletId(saga.getTargetWalletId())
+                .build());
+        walletRepository.save(wallet);
+        eventPublisher.publishEvent(WalletLedgerEvent.of(toDTO(wallet), transaction));
+
+        saga.setStatus(TransferSagaStatus.COMPENSATED);
+        saga.setUpdatedAt(now);
+        return true;
+    }
+
+    /**
+     * Credita o saldo base ou, em carteiras listradas, uma das faixas
+     * @return Saldo a registrar no lançamento
+     */
+    private BigDecimal credit(Wallet wallet, BigDecimal amount) {
+        if (wallet.isStriped()) {
+            return walletStripeService.credit(wallet, amount);
+        }
+        wallet.deposit(amount);
+        return wallet.getBalance();
+    }
+
+    private WalletDTO toDTO(Wallet wallet) {
+        return WalletDTO.builder()
+                .id(wallet.getId())
+                .ownerId(wallet.getOwnerId())
+                .balance(walletStripeService.effectiveBalance(wallet))
+                .createdAt(wallet.getCreatedAt())
+                .updatedAt(wallet.getUpdatedAt())
+                .stripes(wallet.getStripeCount())
+                .build();
+    }
+
+    private Wallet findWalletByOwnerId(String ownerId) {
+        return walletRepository.findByOwnerId(ownerId)
+                .orElseThrow(() -> new WalletNotFoundException("Carteira não encontrada para o usuário: " + ownerId));
+    }
+}
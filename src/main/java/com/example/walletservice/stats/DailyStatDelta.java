@@ -0,0 +1,20 @@
+package com.example.walletservice.stats;
+
+import com.example.walletservice.entity.TransactionType;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de um lote do livro-razão para uma carteira, dia e tipo, a somar na estatística diária.
+ */
+@Value
+public class DailyStatDelta {
+    Long walletId;
+    LocalDate date;
+    TransactionType type;
+    BigDecimal inflow;
+    BigDecimal outflow;
+    Long entryCount;
+}
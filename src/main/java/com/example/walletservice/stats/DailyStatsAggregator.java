@@ -0,0 +1,222 @@
+package com.example.walletservice.stats;
+
+import com.example.walletservice.entity.JobCheckpoint;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.entity.WalletDailyStat;
+import com.example.walletservice.repository.JobCheckpointRepository;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.repository.WalletDailyStatRepository;
+import com.example.walletservice.sharding.ConsistentHashRing;
+import com.example.walletservice.sharding.ShardContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém {@code wallet_daily_stats} a partir do livro-razão. Cada lote lê as transações após a
+ * marca d'água salva em {@code job_checkpoints}, agrupa por carteira, dia e tipo e soma o
+ * resultado nas linhas existentes, na mesma transação que avança a marca d'água. Consultas por
+ * intervalo de datas passam a custar uma linha por dia e tipo em vez de uma por transação.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyStatsAggregator {
+
+    static final String CHECKPOINT_NAME = "daily-stats";
+
+    private final TransactionRepository transactionRepository;
+    private final WalletDailyStatRepository walletDailyStatRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final DailyStatsProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Optional<ConsistentHashRing> shardRing;
+
+    /**
+     * Execução agendada: agrega lotes até alcançar as transações ainda não assentadas
+     */
+    @Scheduled(fixedDelayString = "${wallet.stats.poll-interval-ms:5000}")
+    public void aggregatePending() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String shard : shards()) {
+            try {
+                int aggregated;
+                do {
+                    aggregated = inShard(shard, this::aggregateBatch);
+                } while (aggregated >= properties.getBatchSize());
+            } catch (RuntimeException e) {
+                meterRegistry.counter("wallet.stats.failures").increment();
+                log.warn("Falha ao agregar estatísticas diárias{}; o lote será refeito",
+                        shard == null ? "" : " no shard " + shard, e);
+            }
+        }
+    }
+
+    /**
+     * Agrega um lote de transações a partir da marca d'água
+     * @return Quantidade de transações pelas quais a marca d'água avançou
+     */
+    public int aggregateBatch() {
+        Integer aggregated = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            JobCheckpoint checkpoint = jobCheckpointRepository.findByNameForUpdate(CHECKPOINT_NAME).orElse(null);
+            if (checkpoint == null) {
+                if (jobCheckpointRepository.existsById(CHECKPOINT_NAME)) {
+                    // Outra instância está agregando este lote
+                    return 0;
+                }
+                checkpoint = jobCheckpointRepository.save(newCheckpoint(now));
+            }
+
+            List<Long> ids = settledIds(checkpoint.getPosition(), now.minus(properties.getSettleDelay()));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            Long upToId = ids.get(ids.size() - 1);
+            merge(walletDailyStatRepository.aggregateLedger(checkpoint.getPosition(), upToId), TransactionType.TRANSFER_OUT);
+            merge(walletDailyStatRepository.aggregateIncomingTransfers(checkpoint.getPosition(), upToId), TransactionType.TRANSFER_IN);
+
+            checkpoint.setPosition(upToId);
+            checkpoint.setUpdatedAt(now);
+            meterRegistry.counter("wallet.stats.aggregated").increment(ids.size());
+            return ids.size();
+        });
+        return aggregated == null ? 0 : aggregated;
+    }
+
+    /**
+     * Recalcula os totais de um intervalo de dias a partir do livro-razão completo (tabela quente
+     * e arquivo frio), para corrigir linhas divergentes. Aguarda o lote em andamento do agregador,
+     * de modo que as transações após a marca d'água continuam a cargo dele.
+     * @param from Primeiro dia, inclusive
+     * @param to Último dia, inclusive
+     * @return Quantidade de linhas diárias regravadas
+     */
+    public int recompute(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Data inicial posterior à data final");
+        }
+        int total = 0;
+        for (String shard : shards()) {
+            total += inShard(shard, () -> recomputeInShard(from, to));
+        }
+        meterRegistry.counter("wallet.stats.recomputed").increment(total);
+        log.info("Estatísticas diárias recalculadas de {} a {}: {} linhas", from, to, total);
+        return total;
+    }
+
+    /**
+     * Marca d'água do agregador (ID da última transação incorporada) por shard; sem sharding,
+     * uma única entrada {@code default}
+     */
+    public Map<String, Long> getWatermarks() {
+        Map<String, Long> watermarks = new LinkedHashMap<>();
+        for (String shard : shards()) {
+            watermarks.put(shard == null ? "default" : shard, inShard(shard, () -> jobCheckpointRepository.findById(CHECKPOINT_NAME)
+                    .map(JobCheckpoint::getPosition)
+                    .orElse(0L)));
+        }
+        return watermarks;
+    }
+
+    private int recomputeInShard(LocalDate from, LocalDate to) {
+        Integer rows = transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = jobCheckpointRepository.findByNameForUpdateWait(CHECKPOINT_NAME)
+                    .orElseGet(() -> jobCheckpointRepository.save(newCheckpoint(LocalDateTime.now())));
+            walletDailyStatRepository.deleteRange(from, to);
+            return walletDailyStatRepository.insertFromLedger(checkpoint.getPosition(),
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * IDs do lote seguinte à marca d'água, interrompidos na primeira transação recente demais
+     * para preservar a ordem e não saltar um ID cujo commit ainda não apareceu
+     */
+    private List<Long> settledIds(Long afterId, LocalDateTime settledBefore) {
+        List<Long> ids = transactionRepository.findIdsAfter(afterId, PageRequest.of(0, properties.getBatchSize()));
+        Long firstUnsettled = transactionRepository.findFirstIdAfterRecordedSince(afterId, settledBefore);
+        if (firstUnsettled == null) {
+            return ids;
+        }
+        int end = 0;
+        while (end < ids.size() && ids.get(end) < firstUnsettled) {
+            end++;
+        }
+        return ids.subList(0, end);
+    }
+
+    /**
+     * Soma os totais do lote às linhas diárias
+     * @param deltas Totais por carteira, dia e tipo
+     * @param transferType Tipo sob o qual as transferências de linha única entram nesta perna
+     */
+    private void merge(List<DailyStatDelta> deltas, TransactionType transferType) {
+        Map<WalletDailyStat.Key, WalletDailyStat> existing = walletDailyStatRepository.findAllById(deltas.stream()
+                        .map(delta -> key(delta, transferType))
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(stat -> new WalletDailyStat.Key(stat.getWalletId(), stat.getDate(), stat.getType()),
+                        Function.identity()));
+
+        for (DailyStatDelta delta : deltas) {
+            WalletDailyStat.Key key = key(delta, transferType);
+            WalletDailyStat stat = existing.get(key);
+            if (stat == null) {
+                // Transferências de linha única e legadas do mesmo dia caem na mesma linha
+                existing.put(key, walletDailyStatRepository.save(WalletDailyStat.builder()
+                        .walletId(key.getWalletId())
+                        .date(key.getDate())
+                        .type(key.getType())
+                        .inflow(delta.getInflow())
+                        .outflow(delta.getOutflow())
+                        .entryCount(delta.getEntryCount())
+                        .build()));
+            } else {
+                stat.setInflow(stat.getInflow().add(delta.getInflow()));
+                stat.setOutflow(stat.getOutflow().add(delta.getOutflow()));
+                stat.setEntryCount(stat.getEntryCount() + delta.getEntryCount());
+            }
+        }
+    }
+
+    private WalletDailyStat.Key key(DailyStatDelta delta, TransactionType transferType) {
+        TransactionType type = delta.getType() == TransactionType.TRANSFER ? transferType : delta.getType();
+        return new WalletDailyStat.Key(delta.getWalletId(), delta.getDate(), type);
+    }
+
+    private JobCheckpoint newCheckpoint(LocalDateTime now) {
+        return JobCheckpoint.builder()
+                .name(CHECKPOINT_NAME)
+                .position(0L)
+                .updatedAt(now)
+                .build();
+    }
+
+    private List<String> shards() {
+        return shardRing.map(ConsistentHashRing::getShards).orElse(Collections.singletonList(null));
+    }
+
+    private <T> T inShard(String shard, Supplier<T> work) {
+        return shard == null ? work.get() : ShardContext.callIn(shard, work);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.walletservice.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Endpoint de atuador {@code /actuator/dailystats}: GET mostra a marca d'água do agregador e
+ * POST com {@code from} e {@code to} (ISO, inclusivos) recalcula o intervalo a partir do livro-razão.
+ */
+@Component
+@Endpoint(id = "dailystats")
+@RequiredArgsConstructor
+public class DailyStatsEndpoint {
+
+    private final DailyStatsAggregator dailyStatsAggregator;
+
+    @ReadOperation
+    public Map<String, Long> watermarks() {
+        return dailyStatsAggregator.getWatermarks();
+    }
+
+    @WriteOperation
+    public Map<String, Object> recompute(String from, String to) {
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        int rows = dailyStatsAggregator.recompute(fromDate, toDate);
+        return Map.of("from", fromDate, "to", toDate, "rows", rows);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.walletservice.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do agregador de estatísticas diárias das carteiras.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.stats")
+public class DailyStatsProperties {
+
+    /** Habilita o agregador agendado. */
+    private boolean enabled = true;
+
+    /** Intervalo entre execuções do agregador. */
+    private long pollIntervalMs = 5000;
+
+    /** Transações agregadas por lote (cada lote em sua própria transação). */
+    private int batchSize = 5000;
+
+    /**
+     * Idade mínima de uma transação para ser agregada. IDs são reservados antes do commit,
+     * então um ID menor ainda pode aparecer depois de um maior; a espera evita pulá-lo.
+     */
+    private Duration settleDelay = Duration.ofSeconds(2);
+}
@@ -0,0 +1,29 @@
+package com.example.walletservice.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da assinatura de atualizações de carteira via SSE.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.stream")
+public class WalletStreamProperties {
+
+    /** Tempo máximo de uma conexão; o cliente (EventSource) reconecta ao expirar. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** Lançamentos pendentes por assinante; ao exceder, o assinante lento é desconectado. */
+    private int bufferSize = 64;
+
+    /** Limite de assinantes simultâneos na instância. */
+    private int maxSubscribers = 10000;
+
+    /** Threads que escrevem nas conexões abertas. */
+    private int dispatcherThreads = 4;
+
+    /** Intervalo entre comentários de keep-alive, em milissegundos. */
+    private long heartbeatIntervalMs = 15000;
+}
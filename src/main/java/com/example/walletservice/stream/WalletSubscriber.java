@@ -0,0 +1,98 @@
+package com.example.walletservice.stream;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.WalletDTO;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Conexão SSE de um assinante com seu buffer de pendências. Lançamentos são entregues
+ * todos, em ordem, até o limite do buffer; do saldo só interessa o mais recente, então
+ * atualizações da carteira em sequência são agrupadas em um único evento.
+ */
+class WalletSubscriber {
+
+    private final String ownerId;
+    private final SseEmitter emitter;
+    private final int bufferSize;
+    private final ArrayDeque<TransactionDTO> pendingTransactions;
+    private WalletDTO pendingWallet;
+    private boolean heartbeatDue;
+
+    /** Indica que há uma drenagem agendada ou em andamento para este assinante. */
+    final AtomicBoolean scheduled = new AtomicBoolean();
+
+    WalletSubscriber(String ownerId, SseEmitter emitter, int bufferSize) {
+        this.ownerId = ownerId;
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+        this.pendingTransactions = new ArrayDeque<>(bufferSize);
+    }
+
+    String getOwnerId() {
+        return ownerId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Enfileira uma atualização
+     * @return false se o buffer estiver cheio, isto é, o assinante não acompanha o ritmo
+     */
+    synchronized boolean offer(WalletDTO wallet, TransactionDTO transaction) {
+        if (transaction != null) {
+            if (pendingTransactions.size() >= bufferSize) {
+                return false;
+            }
+            pendingTransactions.add(transaction);
+        }
+        pendingWallet = wallet;
+        return true;
+    }
+
+    synchronized void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+
+    synchronized boolean hasPending() {
+        return pendingWallet != null || !pendingTransactions.isEmpty() || heartbeatDue;
+    }
+
+    /**
+     * Envia tudo o que estava pendente no momento da chamada
+     * @return false se não havia nada a enviar
+     */
+    boolean flush() throws IOException {
+        List<TransactionDTO> transactions;
+        WalletDTO wallet;
+        boolean heartbeat;
+        synchronized (this) {
+            if (!hasPending()) {
+                return false;
+            }
+            transactions = List.copyOf(pendingTransactions);
+            pendingTransactions.clear();
+            wallet = pendingWallet;
+            pendingWallet = null;
+            heartbeat = heartbeatDue;
+            heartbeatDue = false;
+        }
+
+        for (TransactionDTO transaction : transactions) {
+            emitter.send(SseEmitter.event().name("transaction").data(transaction, MediaType.APPLICATION_JSON));
+        }
+        if (wallet != null) {
+            emitter.send(SseEmitter.event().name("wallet").data(wallet, MediaType.APPLICATION_JSON));
+        } else if (heartbeat && transactions.isEmpty()) {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.walletservice.stream;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.event.WalletLedgerEvent;
+import com.example.walletservice.exception.SubscriptionLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui atualizações de carteira para os assinantes SSE de cada ownerId. As atualizações
+ * chegam depois do commit e são apenas enfileiradas no buffer de cada assinante; a escrita nas
+ * conexões acontece em um pool próprio, de modo que um cliente lento nunca atrasa quem publicou
+ * nem os demais assinantes.
+ */
+@Component
+@Slf4j
+public class WalletUpdateHub {
+
+    private final WalletStreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<WalletSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    public WalletUpdateHub(WalletStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(properties.getDispatcherThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "wallet-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("wallet.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Assinantes SSE conectados")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre uma assinatura para a carteira, enviando o estado atual como primeiro evento
+     * @param ownerId ID do proprietário da carteira
+     * @param current Estado atual da carteira
+     * @return Emitter SSE da conexão
+     */
+    public SseEmitter subscribe(String ownerId, WalletDTO current) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            meterRegistry.counter("wallet.stream.rejected").increment();
+            throw new SubscriptionLimitExceededException("Limite de assinaturas simultâneas atingido");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        WalletSubscriber subscriber = new WalletSubscriber(ownerId, emitter, properties.getBufferSize());
+        subscribers.compute(ownerId, (key, walletSubscribers) -> {
+            Set<WalletSubscriber> updated = walletSubscribers != null ? walletSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        subscriber.offer(current, null);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Repassa aos assinantes um lançamento já confirmado
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerEvent(WalletLedgerEvent event) {
+        Set<WalletSubscriber> walletSubscribers = subscribers.get(event.getOwnerId());
+        if (walletSubscribers == null) {
+            return;
+        }
+        for (WalletSubscriber subscriber : walletSubscribers) {
+            if (subscriber.offer(event.getWallet(), event.getTransaction())) {
+                schedule(subscriber);
+            } else {
+                drop(subscriber, "slow_consumer");
+            }
+        }
+    }
+
+    /**
+     * Envia keep-alive às conexões, o que também detecta clientes que já desconectaram
+     */
+    @Scheduled(fixedDelayString = "${wallet.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(walletSubscribers -> walletSubscribers.forEach(subscriber -> {
+            subscriber.requestHeartbeat();
+            schedule(subscriber);
+        }));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(walletSubscribers -> walletSubscribers.forEach(subscriber -> subscriber.getEmitter().complete()));
+    }
+
+    private void schedule(WalletSubscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(WalletSubscriber subscriber) {
+        try {
+            while (subscriber.flush()) {
+                meterRegistry.counter("wallet.stream.flushes").increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Assinante de {} desconectado: {}", subscriber.getOwnerId(), e.getMessage());
+            drop(subscriber, "disconnected");
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(WalletSubscriber subscriber, String reason) {
+        if (unsubscribe(subscriber)) {
+            meterRegistry.counter("wallet.stream.dropped", "reason", reason).increment();
+            subscriber.getEmitter().complete();
+        }
+    }
+
+    private boolean unsubscribe(WalletSubscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.getOwnerId(), (ownerId, walletSubscribers) -> {
+            removed[0] = walletSubscribers.remove(subscriber);
+            return walletSubscribers.isEmpty() ? null : walletSubscribers;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+        return removed[0];
+    }
+}
@@ -0,0 +1,5 @@
+-- Índices da busca de transações: cada filtro comum vira uma varredura de faixa dentro da carteira.
+CREATE INDEX idx_transactions_wallet_amount ON transactions (wallet_id, amount);
+CREATE INDEX idx_transactions_wallet_type_timestamp ON transactions (wallet_id, type, timestamp);
+CREATE INDEX idx_transactions_wallet_related_timestamp ON transactions (wallet_id, related_wallet_id, timestamp);
+CREATE INDEX idx_transactions_archive_wallet_amount ON transactions_archive (wallet_id, amount);
@@ -0,0 +1,10 @@
+ALTER TABLE wallets ADD COLUMN stripe_count INT DEFAULT 0 NOT NULL;
+
+CREATE TABLE wallet_stripes (
+    wallet_id BIGINT NOT NULL,
+    stripe_index INT NOT NULL,
+    balance DECIMAL(19, 2) DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (wallet_id, stripe_index),
+    FOREIGN KEY (wallet_id) REFERENCES wallets(id)
+);
@@ -0,0 +1,6 @@
+-- Transferências locais passam a ser um único lançamento: a linha da origem guarda também o
+-- saldo da carteira creditada, e as leituras por carteira unem as duas pernas por índice.
+ALTER TABLE transactions ADD COLUMN related_balance_after DECIMAL(19, 2);
+ALTER TABLE transactions_archive ADD COLUMN related_balance_after DECIMAL(19, 2);
+CREATE INDEX idx_transactions_related_type_timestamp ON transactions (related_wallet_id, type, timestamp);
+CREATE INDEX idx_transactions_archive_related_type_timestamp ON transactions_archive (related_wallet_id, type, timestamp);
@@ -1,10 +1,10 @@
 CREATE TABLE transactions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     wallet_id BIGINT NOT NULL,
     amount DECIMAL(19, 2) NOT NULL,
     type VARCHAR(50) NOT NULL,
     description VARCHAR(255),
     reference_id VARCHAR(255),
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     FOREIGN KEY (wallet_id) REFERENCES wallets(id)
-);
\ No newline at end of file
+);
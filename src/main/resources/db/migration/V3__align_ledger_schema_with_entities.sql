@@ -0,0 +1,12 @@
+ALTER TABLE wallets ADD COLUMN version BIGINT;
+
+ALTER TABLE transactions ADD COLUMN timestamp TIMESTAMP;
+UPDATE transactions SET timestamp = created_at;
+ALTER TABLE transactions ALTER COLUMN timestamp SET NOT NULL;
+ALTER TABLE transactions DROP COLUMN created_at;
+ALTER TABLE transactions DROP COLUMN reference_id;
+ALTER TABLE transactions ADD COLUMN balance_after_transaction DECIMAL(19, 2) DEFAULT 0.00 NOT NULL;
+ALTER TABLE transactions ADD COLUMN related_wallet_id BIGINT;
+
+CREATE INDEX idx_transactions_wallet_timestamp ON transactions (wallet_id, timestamp);
+CREATE INDEX idx_transactions_timestamp ON transactions (timestamp);
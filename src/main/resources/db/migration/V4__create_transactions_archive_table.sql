@@ -0,0 +1,13 @@
+CREATE TABLE transactions_archive (
+    id BIGINT PRIMARY KEY,
+    wallet_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    timestamp TIMESTAMP NOT NULL,
+    balance_after_transaction DECIMAL(19, 2) NOT NULL,
+    related_wallet_id BIGINT,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_transactions_archive_wallet_timestamp ON transactions_archive (wallet_id, timestamp);
@@ -0,0 +1,14 @@
+CREATE TABLE transfer_sagas (
+    id VARCHAR(36) PRIMARY KEY,
+    source_owner_id VARCHAR(255) NOT NULL,
+    target_owner_id VARCHAR(255) NOT NULL,
+    source_wallet_id BIGINT,
+    target_wallet_id BIGINT,
+    amount DECIMAL(19, 2) NOT NULL,
+    description VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_transfer_sagas_status_created ON transfer_sagas (status, created_at);
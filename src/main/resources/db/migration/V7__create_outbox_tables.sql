@@ -0,0 +1,14 @@
+CREATE TABLE outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL UNIQUE,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE job_checkpoints (
+    name VARCHAR(100) PRIMARY KEY,
+    checkpoint_position BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX idx_wallets_owner_id ON wallets (owner_id);
@@ -0,0 +1,11 @@
+CREATE TABLE wallet_daily_stats (
+    wallet_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    inflow DECIMAL(19, 2) DEFAULT 0 NOT NULL,
+    outflow DECIMAL(19, 2) DEFAULT 0 NOT NULL,
+    entry_count BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (wallet_id, stat_date, type)
+);
+
+CREATE INDEX idx_wallet_daily_stats_date ON wallet_daily_stats (stat_date);
@@ -0,0 +1,58 @@
+package com.example.walletservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long TARGET = 100_000_000L;
+
+    @Test
+    void rejectsBeyondLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, TARGET, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(TARGET / 2, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void slowOrFailedRequestsShrinkLimitDownToMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 2, 10, TARGET, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(TARGET * 2, false);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(1, true);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(1, true);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void fastRequestsGrowLimitOnlyWhenSaturated() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, TARGET, 0.5);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(1, false);
+            limiter.release(1, false);
+        }
+        assertEquals(3, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(1, false);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+}
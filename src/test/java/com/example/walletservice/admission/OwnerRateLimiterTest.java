@@ -0,0 +1,42 @@
+package com.example.walletservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void allowsBurstThenRejectsUntilRefill() {
+        OwnerRateLimiter limiter = new OwnerRateLimiter(10, 3, 1024, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("owner"));
+        assertEquals(0, limiter.tryAcquire("owner"));
+        assertEquals(0, limiter.tryAcquire("owner"));
+
+        long wait = limiter.tryAcquire("owner");
+        assertEquals(100_000_000L, wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("owner"));
+        assertTrue(limiter.tryAcquire("owner") > 0);
+    }
+
+    @Test
+    void ownersHaveIndependentBuckets() {
+        OwnerRateLimiter limiter = new OwnerRateLimiter(1, 1, 1024, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("owner-a"));
+        assertTrue(limiter.tryAcquire("owner-a") > 0);
+        assertEquals(0, limiter.tryAcquire("owner-b"));
+    }
+
+    @Test
+    void rejectsStripeCountThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new OwnerRateLimiter(1, 1, 1000));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.walletservice.benchmark;
+
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga mista de depósitos, saques e transferências executada contra o contexto de cada
+ * subclasse, para comparar configurações com o mesmo roteiro. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+abstract class AbstractLedgerLoadBenchmark {
+
+    private static final int WALLETS = 200;
+    private static final int THREADS = 16;
+    private static final int WARMUP_OPERATIONS = 2_000;
+    private static final int MEASURED_OPERATIONS = 20_000;
+
+    @Autowired
+    private WalletService walletService;
+
+    protected abstract String profileName();
+
+    @Test
+    void mixedLedgerLoad() throws Exception {
+        String prefix = profileName() + "-bench-";
+        for (int i = 0; i < WALLETS; i++) {
+            walletService.createWallet(prefix + i);
+            walletService.deposit(prefix + i, new BigDecimal("1000000.00"), null);
+        }
+
+        run(prefix, WARMUP_OPERATIONS);
+        long start = System.nanoTime();
+        long[] latencies = run(prefix, MEASURED_OPERATIONS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        double throughput = MEASURED_OPERATIONS / (elapsedNanos / 1e9);
+        System.out.printf("[benchmark] perfil=%s ops=%d threads=%d throughput=%.0f ops/s p50=%.2fms p99=%.2fms%n",
+                profileName(), MEASURED_OPERATIONS, THREADS, throughput,
+                percentile(latencies, 0.50), percentile(latencies, 0.99));
+        assertEquals(MEASURED_OPERATIONS, latencies.length);
+    }
+
+    private long[] run(String prefix, int operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(operations);
+            for (int i = 0; i < operations; i++) {
+                futures.add(executor.submit(() -> timedOperation(prefix)));
+            }
+            long[] latencies = new long[operations];
+            for (int i = 0; i < operations; i++) {
+                latencies[i] = futures.get(i).get(1, TimeUnit.MINUTES);
+            }
+            return latencies;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long timedOperation(String prefix) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String owner = prefix + random.nextInt(WALLETS);
+        long start = System.nanoTime();
+        try {
+            switch (random.nextInt(3)) {
+                case 0 -> walletService.deposit(owner, BigDecimal.ONE, null);
+                case 1 -> walletService.withdraw(owner, BigDecimal.ONE, null);
+                default -> walletService.transfer(owner, prefix + random.nextInt(WALLETS), BigDecimal.ONE, null);
+            }
+        } catch (RuntimeException e) {
+            // Conflitos de lock otimista contam como operação concluída: o custo foi pago
+        }
+        return System.nanoTime() - start;
+    }
+
+    private double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.walletservice.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bench-default")
+@DirtiesContext
+class DefaultProfileLoadBenchmark extends AbstractLedgerLoadBenchmark {
+
+    @Override
+    protected String profileName() {
+        return "default";
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.walletservice.benchmark;
+
+import com.example.walletservice.dto.ErrorResponse;
+import com.example.walletservice.exception.GlobalExceptionHandler;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vazão de consultas bem-sucedidas comparada à de consultas a carteiras inexistentes, incluindo
+ * o tratamento pelo {@link GlobalExceptionHandler} (código, contador e log limitado), e o custo
+ * de criar a exceção com e sem stack trace. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bench-error-path",
+        "wallet.stats.enabled=false",
+        "logging.level.com.example.walletservice=INFO"
+})
+@DirtiesContext
+class ErrorPathBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+    private static final int CONSTRUCTIONS = 1_000_000;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Test
+    void errorPathThroughput() throws Exception {
+        walletService.createWallet("error-path-bench");
+
+        Runnable success = () -> walletService.getWalletByOwnerId("error-path-bench");
+        Runnable notFound = () -> {
+            try {
+                walletService.getWalletByOwnerId("error-path-missing");
+                fail("Carteira inexistente encontrada");
+            } catch (WalletNotFoundException e) {
+                ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleWalletNotFoundException(e);
+                assertEquals("WALLET_NOT_FOUND", response.getBody().getCode());
+            }
+        };
+
+        run(success, WARMUP_REQUESTS);
+        run(notFound, WARMUP_REQUESTS);
+        double successThroughput = run(success, MEASURED_REQUESTS);
+        double errorThroughput = run(notFound, MEASURED_REQUESTS);
+        System.out.printf("[benchmark] leitura ok=%.0f req/s, carteira inexistente=%.0f req/s (%.2fx)%n",
+                successThroughput, errorThroughput, errorThroughput / successThroughput);
+
+        long stackless = construct(() -> new WalletNotFoundException("Carteira não encontrada"));
+        long withStack = construct(() -> new IllegalStateException("Carteira não encontrada"));
+        System.out.printf("[benchmark] criação de exceção: sem stack=%.1fns, com stack=%.1fns%n",
+                (double) stackless / CONSTRUCTIONS, (double) withStack / CONSTRUCTIONS);
+        assertTrue(errorThroughput > 0);
+    }
+
+    private double run(Runnable request, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requests / THREADS; i++) {
+                        request.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return requests / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long construct(Supplier<RuntimeException> factory) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CONSTRUCTIONS; i++) {
+            checksum += factory.get().getMessage().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(checksum > 0);
+        return elapsed;
+    }
+}
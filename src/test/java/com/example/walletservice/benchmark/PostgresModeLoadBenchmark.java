@@ -0,0 +1,16 @@
+package com.example.walletservice.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bench-postgres;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@ActiveProfiles({"postgres-local", "production"})
+@DirtiesContext
+class PostgresModeLoadBenchmark extends AbstractLedgerLoadBenchmark {
+
+    @Override
+    protected String profileName() {
+        return "postgres-local";
+    }
+}
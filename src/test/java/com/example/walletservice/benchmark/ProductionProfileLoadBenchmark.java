@@ -0,0 +1,16 @@
+package com.example.walletservice.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bench-production")
+@ActiveProfiles("production")
+@DirtiesContext
+class ProductionProfileLoadBenchmark extends AbstractLedgerLoadBenchmark {
+
+    @Override
+    protected String profileName() {
+        return "production";
+    }
+}
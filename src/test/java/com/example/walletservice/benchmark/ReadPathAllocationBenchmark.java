@@ -0,0 +1,120 @@
+package com.example.walletservice.benchmark;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.Transaction;
+import com.example.walletservice.entity.Wallet;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara, por requisição, bytes alocados e tempo de CPU da thread entre carregar entidades
+ * gerenciadas e convertê-las em DTO e ler a projeção diretamente, ambos em transação somente
+ * leitura. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bench-read-path",
+        "wallet.stats.enabled=false"
+})
+@DirtiesContext
+class ReadPathAllocationBenchmark {
+
+    private static final int HISTORY_SIZE = 500;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 10_000;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void projectionsAllocateLessThanEntities() {
+        String ownerId = "read-path-bench";
+        walletService.createWallet(ownerId);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            walletService.deposit(ownerId, BigDecimal.ONE, "Depósito " + i);
+        }
+        Long walletId = walletRepository.findIdByOwnerId(ownerId).orElseThrow();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Cost walletEntity = measure("wallet/entidade", () -> readOnly.execute(status -> toDTO(walletRepository.findByOwnerId(ownerId).orElseThrow())));
+        Cost walletProjection = measure("wallet/projeção", () -> readOnly.execute(status -> walletRepository.findDTOByOwnerId(ownerId).orElseThrow()));
+        Cost historyEntity = measure("histórico/entidade", () -> readOnly.execute(status -> transactionRepository.findByWalletIdOrderByTimestampDesc(walletId)
+                .stream().map(this::toDTO).toList()));
+        Cost historyProjection = measure("histórico/projeção", () -> readOnly.execute(status -> transactionRepository.findDTOsByWalletId(walletId)));
+
+        assertTrue(historyProjection.bytesPerRequest() < historyEntity.bytesPerRequest(),
+                "A projeção do histórico deveria alocar menos que o carregamento de entidades");
+        assertTrue(walletProjection.bytesPerRequest() > 0 && walletEntity.bytesPerRequest() > 0);
+    }
+
+    private Cost measure(String name, Supplier<Object> request) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            assertNotNull(request.get());
+        }
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            request.get();
+        }
+        Cost cost = new Cost((threads.getThreadAllocatedBytes(threadId) - bytesBefore) / MEASURED_REQUESTS,
+                (threads.getCurrentThreadCpuTime() - cpuBefore) / MEASURED_REQUESTS);
+        System.out.printf("[benchmark] leitura=%s requisições=%d alocado=%d B/req cpu=%.1f µs/req%n",
+                name, MEASURED_REQUESTS, cost.bytesPerRequest(), cost.cpuNanosPerRequest() / 1e3);
+        return cost;
+    }
+
+    private WalletDTO toDTO(Wallet wallet) {
+        return WalletDTO.builder()
+                .id(wallet.getId())
+                .ownerId(wallet.getOwnerId())
+                .balance(wallet.getBalance())
+                .createdAt(wallet.getCreatedAt())
+                .updatedAt(wallet.getUpdatedAt())
+                .build();
+    }
+
+    private TransactionDTO toDTO(Transaction transaction) {
+        return TransactionDTO.builder()
+                .id(transaction.getId())
+                .walletId(transaction.getWallet().getId())
+                .amount(transaction.getAmount())
+                .type(transaction.getType())
+                .description(transaction.getDescription())
+                .timestamp(transaction.getTimestamp())
+                .balanceAfterTransaction(transaction.getBalanceAfterTransaction())
+                .relatedWalletId(transaction.getRelatedWalletId())
+                .build();
+    }
+
+    private record Cost(long bytesPerRequest, long cpuNanosPerRequest) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.walletservice.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tempo do lançamento da JVM até o primeiro depósito bem-sucedido, comparando o jar extraído em
+ * modo padrão com o perfil {@code fast-startup} (AOT e arquivo CDS). Cada execução sobe um
+ * processo novo em porta livre. Requer o build {@code mvn package -Pfast-startup -DskipTests};
+ * executar em seguida com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final Path APPLICATION_DIRECTORY = Path.of("target", "fast-startup");
+    private static final int RUNS = 5;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void timeToFirstDeposit() throws Exception {
+        Path jar = applicationJar();
+        assumeTrue(jar != null, "Executar antes mvn package -Pfast-startup -DskipTests");
+
+        List<String> baseline = List.of();
+        List<String> fastStartup = new ArrayList<>(List.of(
+                "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-startup"));
+        if (Files.exists(APPLICATION_DIRECTORY.resolve("application.jsa"))) {
+            fastStartup.add(0, "-XX:SharedArchiveFile=application.jsa");
+        }
+
+        long[] baselineMillis = measure(jar, baseline);
+        long[] fastStartupMillis = measure(jar, fastStartup);
+        report("padrão", baselineMillis);
+        report("fast-startup" + (fastStartup.size() > 2 ? "+cds" : ""), fastStartupMillis);
+        assertEquals(RUNS, fastStartupMillis.length);
+    }
+
+    private long[] measure(Path jar, List<String> jvmArguments) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = timeToFirstDeposit(jar, jvmArguments, "startup-" + i);
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private long timeToFirstDeposit(Path jar, List<String> jvmArguments, String ownerId) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.addAll(List.of("-jar", jar.getFileName().toString(),
+                "--server.port=" + port, "--spring.datasource.url=jdbc:h2:mem:startup-bench",
+                "--logging.level.root=WARN"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(APPLICATION_DIRECTORY.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            String base = "http://localhost:" + port + "/api/wallets";
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            boolean created = false;
+            while (System.nanoTime() < deadline) {
+                assertTrue(process.isAlive(), "Aplicação encerrou antes do primeiro depósito");
+                if (!created) {
+                    created = post(base + "?ownerId=" + ownerId) == 201;
+                }
+                if (created && post(base + "/" + ownerId + "/deposit?amount=10.00") == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(10);
+            }
+            return fail("Primeiro depósito não concluído em " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Status da requisição, ou -1 enquanto a porta ainda não aceita conexões
+     */
+    private int post(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (ConnectException e) {
+            return -1;
+        }
+    }
+
+    private static void report(String mode, long[] millis) {
+        System.out.printf("[benchmark] startup modo=%s execuções=%d primeiro-depósito p50=%dms min=%dms max=%dms%n",
+                mode, millis.length, millis[millis.length / 2], millis[0], millis[millis.length - 1]);
+    }
+
+    private static Path applicationJar() throws IOException {
+        if (!Files.isDirectory(APPLICATION_DIRECTORY)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(APPLICATION_DIRECTORY)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
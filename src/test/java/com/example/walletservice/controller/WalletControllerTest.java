@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -42,6 +43,9 @@ class WalletServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private WalletService walletService;
     
@@ -95,7 +99,7 @@ class WalletServiceTest {
 
     @Test
     void getWalletBalance_Success() {
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findBalanceByOwnerId(ownerId)).thenReturn(Optional.of(testWallet.getBalance()));
 
         BigDecimal balance = walletService.getWalletBalance(ownerId);
 
@@ -104,7 +108,7 @@ class WalletServiceTest {
 
     @Test
     void getWalletBalance_WalletNotFound() {
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.empty());
+        when(walletRepository.findBalanceByOwnerId(ownerId)).thenReturn(Optional.empty());
 
         assertThrows(WalletNotFoundException.class, () -> walletService.getWalletBalance(ownerId));
     }
@@ -114,7 +118,11 @@ class WalletServiceTest {
         LocalDateTime timestamp = LocalDateTime.now().minusDays(1);
         BigDecimal historicalBalance = BigDecimal.valueOf(50);
         
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findDTOByOwnerId(ownerId)).thenReturn(Optional.of(WalletDTO.builder()
+                .id(testWallet.getId())
+                .ownerId(ownerId)
+                .stripes(0)
+                .build()));
         when(transactionRepository.calculateBalanceAtTime(eq(1L), eq(timestamp)))
                 .thenReturn(historicalBalance);
 
@@ -126,7 +134,7 @@ class WalletServiceTest {
     @Test
     void getHistoricalBalance_WalletNotFound() {
         LocalDateTime timestamp = LocalDateTime.now().minusDays(1);
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.empty());
+        when(walletRepository.findDTOByOwnerId(ownerId)).thenReturn(Optional.empty());
 
         assertThrows(WalletNotFoundException.class, 
                 () -> walletService.getHistoricalBalance(ownerId, timestamp));
@@ -216,7 +224,7 @@ class WalletServiceTest {
 
         assertEquals(BigDecimal.valueOf(50), testWallet.getBalance());
         assertEquals(BigDecimal.valueOf(70), recipientWallet.getBalance());
-        verify(transactionRepository, times(2)).save(any());
+        verify(transactionRepository, times(1)).save(any());
         verify(walletRepository, times(2)).save(any(Wallet.class));
     }
 
@@ -0,0 +1,74 @@
+package com.example.walletservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolTunerTest {
+
+    @Test
+    void sizesPoolFromCoresAndSpindles() {
+        PoolTuningProperties properties = new PoolTuningProperties();
+        properties.setEffectiveSpindleCount(2);
+        HikariDataSource dataSource = dataSource("jdbc:h2:mem:tuner");
+
+        new HikariPoolTuner(properties, 4).tune(dataSource);
+
+        assertEquals(10, dataSource.getMaximumPoolSize());
+        assertEquals(10, dataSource.getMinimumIdle());
+        assertEquals("256", dataSource.getDataSourceProperties().getProperty("QUERY_CACHE_SIZE"));
+    }
+
+    @Test
+    void explicitPoolSizeWins() {
+        PoolTuningProperties properties = new PoolTuningProperties();
+        properties.setMaximumPoolSize(7);
+        HikariDataSource dataSource = dataSource("jdbc:h2:mem:tuner");
+
+        new HikariPoolTuner(properties, 32).tune(dataSource);
+
+        assertEquals(7, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void explicitHikariSettingsAreKept() {
+        HikariDataSource dataSource = dataSource("jdbc:h2:mem:tuner");
+        dataSource.setMaximumPoolSize(20);
+        dataSource.setMinimumIdle(5);
+
+        new HikariPoolTuner(new PoolTuningProperties(), 32).tune(dataSource);
+
+        assertEquals(20, dataSource.getMaximumPoolSize());
+        assertEquals(5, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void minimumIdleFollowsExplicitMaximum() {
+        HikariDataSource dataSource = dataSource("jdbc:h2:mem:tuner");
+        dataSource.setMaximumPoolSize(6);
+
+        new HikariPoolTuner(new PoolTuningProperties(), 32).tune(dataSource);
+
+        assertEquals(6, dataSource.getMaximumPoolSize());
+        assertEquals(6, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void enablesPostgresStatementCacheWithoutOverridingExplicitSettings() {
+        HikariDataSource dataSource = dataSource("jdbc:postgresql://localhost/wallet");
+        dataSource.addDataSourceProperty("prepareThreshold", "5");
+
+        new HikariPoolTuner(new PoolTuningProperties(), 2).tune(dataSource);
+
+        assertEquals("5", dataSource.getDataSourceProperties().getProperty("prepareThreshold"));
+        assertEquals("256", dataSource.getDataSourceProperties().getProperty("preparedStatementCacheQueries"));
+        assertFalse(dataSource.getDataSourceProperties().containsKey("QUERY_CACHE_SIZE"));
+    }
+
+    private HikariDataSource dataSource(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        return dataSource;
+    }
+}
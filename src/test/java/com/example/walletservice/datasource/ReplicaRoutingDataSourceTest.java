@@ -0,0 +1,138 @@
+package com.example.walletservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", "");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        createSchema(primaryJdbc, "primary");
+        createSchema(replicaJdbc, "replica");
+
+        lagMonitor = new ReplicaLagMonitor(primary, replica);
+        meterRegistry = new SimpleMeterRegistry();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor, Duration.ofSeconds(5), meterRegistry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        routedJdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConsistencyContext.clear();
+        primaryJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionUsesFreshReplica() {
+        // Given
+        replicate(Instant.now());
+
+        // When
+        String readOnlyTarget = readOnlyTransaction.execute(status -> currentDatabase());
+        String readWriteTarget = readWriteTransaction.execute(status -> currentDatabase());
+
+        // Then
+        assertEquals("replica", readOnlyTarget);
+        assertEquals("primary", readWriteTarget);
+        assertEquals(1.0, meterRegistry.counter("wallet.datasource.routing", "pool", "replica", "reason", "read_only").count());
+    }
+
+    @Test
+    void staleReplicaFallsBackToPrimary() {
+        // Given
+        replicate(Instant.now().minusSeconds(60));
+
+        // When
+        String target = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Then
+        assertEquals("primary", target);
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() {
+        // Given
+        replicaJdbc.execute("DROP TABLE replication_heartbeat");
+        lagMonitor.refresh();
+
+        // When
+        String target = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Then
+        assertNull(lagMonitor.getReplicatedUpTo());
+        assertEquals("primary", target);
+    }
+
+    @Test
+    void readYourWritesWaitsForReplicaToCatchUp() {
+        // Given
+        Instant replicatedUpTo = Instant.now().minusSeconds(1);
+        replicate(replicatedUpTo);
+        ConsistencyContext.require(replicatedUpTo.plusMillis(500));
+
+        // When
+        String target = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Then
+        assertEquals("primary", target);
+    }
+
+    @Test
+    void writeCommitProducesConsistencyToken() {
+        // When
+        readWriteTransaction.executeWithoutResult(status -> currentDatabase());
+
+        // Then
+        assertNotNull(ConsistencyContext.currentToken());
+    }
+
+    private void replicate(Instant upTo) {
+        replicaJdbc.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(upTo));
+        lagMonitor.refresh();
+    }
+
+    private String currentDatabase() {
+        return routedJdbc.queryForObject("SELECT name FROM database_marker", String.class);
+    }
+
+    private void createSchema(JdbcTemplate jdbc, String name) {
+        jdbc.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+        jdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP)");
+        jdbc.execute("CREATE TABLE database_marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO database_marker (name) VALUES (?)", name);
+    }
+}
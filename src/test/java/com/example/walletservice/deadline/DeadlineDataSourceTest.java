@@ -0,0 +1,65 @@
+package com.example.walletservice.deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DeadlineMetrics deadlineMetrics = new DeadlineMetrics(meterRegistry);
+        dataSource = DeadlineDataSource.wrap(
+                new DriverManagerDataSource("jdbc:h2:mem:deadline-datasource;DB_CLOSE_DELAY=-1", "sa", ""),
+                () -> deadlineMetrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void statementsWithoutDeadlineKeepTheDriverTimeout() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void remainingTimeBecomesTheQueryTimeoutRoundedUp() throws Exception {
+        RequestDeadline.set(Duration.ofMillis(1500));
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(2, statement.getQueryTimeout());
+            assertTrue(statement.executeQuery().next());
+        }
+    }
+
+    @Test
+    void expiredDeadlineRefusesNewStatements() throws Exception {
+        RequestDeadline.set(Duration.ZERO);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThrows(SQLTimeoutException.class, () -> connection.prepareStatement("SELECT 1"));
+            assertThrows(SQLTimeoutException.class, connection::createStatement);
+        }
+        assertEquals(2, meterRegistry.get("wallet.deadline.exceeded").tag("phase", "statement").counter().count());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.walletservice.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayReturnsRecordsInOrder() throws IOException {
+        // Given
+        try (LedgerJournal journal = new LedgerJournal(directory, false)) {
+            journal.open(1);
+            journal.append(deposit(1, 1000, 1000));
+            journal.append(deposit(2, 500, 1500));
+            journal.sync();
+        }
+
+        // When
+        List<JournalRecord> records = replayAll();
+
+        // Then
+        assertEquals(2, records.size());
+        assertEquals(deposit(2, 500, 1500), records.get(1));
+    }
+
+    @Test
+    void tornTailIsTruncatedAndAppendingContinues() throws IOException {
+        // Given
+        try (LedgerJournal journal = new LedgerJournal(directory, false)) {
+            journal.open(1);
+            journal.append(deposit(1, 1000, 1000));
+            journal.append(deposit(2, 500, 1500));
+            journal.sync();
+        }
+        Path file = LedgerJournal.files(directory).get(0);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        // When
+        List<JournalRecord> recovered = replayAll();
+        try (LedgerJournal journal = new LedgerJournal(directory, false)) {
+            journal.open(1);
+            journal.append(deposit(2, 200, 1200));
+            journal.sync();
+        }
+
+        // Then
+        assertEquals(1, recovered.size());
+        List<JournalRecord> records = replayAll();
+        assertEquals(2, records.size());
+        assertEquals(1200, records.get(1).getSourceBalance());
+    }
+
+    @Test
+    void corruptionBeforeTheLastFileFailsReplay() throws IOException {
+        // Given
+        try (LedgerJournal journal = new LedgerJournal(directory, false)) {
+            journal.open(1);
+            journal.append(deposit(1, 1000, 1000));
+            journal.rotate(2);
+            journal.append(deposit(2, 500, 1500));
+            journal.sync();
+        }
+        Path first = LedgerJournal.files(directory).get(0);
+        byte[] bytes = Files.readAllBytes(first);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(first, bytes);
+
+        // When / Then
+        assertThrows(IOException.class, () -> LedgerJournal.replay(first, false, record -> { }));
+    }
+
+    @Test
+    void snapshotRoundTripsAndCoveredJournalsAreDeleted() throws IOException {
+        // Given
+        BalanceMap balances = new BalanceMap(4);
+        for (long walletId = 1; walletId <= 100; walletId++) {
+            balances.put(walletId, walletId * 100);
+        }
+        try (LedgerJournal journal = new LedgerJournal(directory, false)) {
+            journal.open(1);
+            journal.append(deposit(1, 100, 100));
+            journal.rotate(2);
+        }
+
+        // When
+        LedgerSnapshots.write(directory, 1, balances);
+        LedgerJournal.deleteCovered(directory, 1);
+        LedgerSnapshots.Snapshot snapshot = LedgerSnapshots.loadLatest(directory);
+
+        // Then
+        assertEquals(1, snapshot.getSequence());
+        assertEquals(100, snapshot.getBalances().size());
+        assertEquals(5000, snapshot.getBalances().get(50));
+        assertEquals(List.of(2L), LedgerJournal.files(directory).stream().map(LedgerJournal::firstSequence).toList());
+    }
+
+    private List<JournalRecord> replayAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        List<Path> files = LedgerJournal.files(directory);
+        for (int i = 0; i < files.size(); i++) {
+            LedgerJournal.replay(files.get(i), i == files.size() - 1, records::add);
+        }
+        return records;
+    }
+
+    private static JournalRecord deposit(long sequence, long amount, long balance) {
+        return JournalRecord.builder()
+                .sequence(sequence)
+                .type(JournalRecord.Type.DEPOSIT)
+                .sourceWalletId(1)
+                .sourceOwnerId("owner")
+                .amount(amount)
+                .sourceBalance(balance)
+                .timestamp(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    }
+}
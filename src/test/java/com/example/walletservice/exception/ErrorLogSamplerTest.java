@@ -0,0 +1,38 @@
+package com.example.walletservice.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorLogSamplerTest {
+
+    @Test
+    void excessIsSuppressedPerCodeAndReportedLater() {
+        // Given
+        ErrorLogProperties properties = new ErrorLogProperties();
+        properties.setPermitsPerSecond(2);
+        ErrorLogSampler sampler = new ErrorLogSampler(properties);
+
+        // When
+        long first = sampler.tryAcquire(ErrorCode.WALLET_NOT_FOUND);
+        long second = sampler.tryAcquire(ErrorCode.WALLET_NOT_FOUND);
+        long third = sampler.tryAcquire(ErrorCode.WALLET_NOT_FOUND);
+        long otherCode = sampler.tryAcquire(ErrorCode.INSUFFICIENT_FUNDS);
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(-1, third);
+        assertEquals(0, otherCode);
+    }
+
+    @Test
+    void domainExceptionsDoNotCaptureStackTraces() {
+        // When
+        DomainException exception = new WalletNotFoundException("Carteira não encontrada para o usuário: x");
+
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ErrorCode.WALLET_NOT_FOUND, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.walletservice.hotspot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void hotKeysSurviveALongTailOfColdOnes() {
+        // Given
+        HeavyHitters hitters = new HeavyHitters(3, 1024, 4);
+
+        // When: 3 carteiras quentes no meio de 5.000 carteiras com um evento cada
+        for (int i = 0; i < 5_000; i++) {
+            hitters.record("cold-" + i);
+            if (i % 10 == 0) {
+                hitters.record("hot-a");
+                hitters.record("hot-a");
+                hitters.record("hot-b");
+            }
+            if (i % 50 == 0) {
+                hitters.record("hot-c");
+            }
+        }
+        List<Map.Entry<String, Long>> top = hitters.drain();
+
+        // Then
+        assertEquals(List.of("hot-a", "hot-b", "hot-c"), top.stream().map(Map.Entry::getKey).toList());
+        assertTrue(top.get(0).getValue() >= 1_000, "A estimativa nunca fica abaixo da contagem real");
+    }
+
+    @Test
+    void drainStartsANewWindow() {
+        // Given
+        HeavyHitters hitters = new HeavyHitters(2, 256, 4);
+        hitters.record("owner");
+
+        // When
+        hitters.drain();
+
+        // Then
+        assertTrue(hitters.drain().isEmpty());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.service.WalletService;
+import com.example.walletservice.service.WalletStripeService;
+import com.example.walletservice.support.SqlCountingTestConfiguration;
+import com.example.walletservice.support.SqlRecorder;
+import com.example.walletservice.support.SqlRecording;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-request-test",
+        "wallet.archive.cron=-"
+})
+@AutoConfigureMockMvc
+@Import(SqlCountingTestConfiguration.class)
+@DirtiesContext
+class ConditionalRequestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletStripeService walletStripeService;
+
+    @Test
+    void unchangedWalletAndHistoryAnswerNotModified() throws Exception {
+        walletService.createWallet("etag-owner");
+        walletService.deposit("etag-owner", new BigDecimal("10.00"));
+
+        String etag = mockMvc.perform(get("/api/wallets/etag-owner"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/wallets/etag-owner").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/wallets/etag-owner/transactions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        walletService.deposit("etag-owner", new BigDecimal("1.00"));
+
+        mockMvc.perform(get("/api/wallets/etag-owner/transactions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string(HttpHeaders.ETAG, walletETag("etag-owner")));
+    }
+
+    @Test
+    void ifMatchPerformsCompareAndSet() throws Exception {
+        walletService.createWallet("cas-owner");
+        walletService.deposit("cas-owner", new BigDecimal("10.00"));
+        String etag = walletETag("cas-owner");
+
+        String next = mockMvc.perform(post("/api/wallets/cas-owner/withdraw")
+                        .param("amount", "4.00")
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(6.00))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, next);
+        assertEquals(walletETag("cas-owner"), next, "O ETag da resposta já reflete a escrita");
+
+        // Um cliente com o ETag anterior não sobrescreve a escrita concorrente
+        mockMvc.perform(post("/api/wallets/cas-owner/withdraw")
+                        .param("amount", "4.00")
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"))
+                .andExpect(header().string(HttpHeaders.ETAG, next));
+        assertEquals(new BigDecimal("6.00"), walletService.getWalletBalance("cas-owner"));
+    }
+
+    @Test
+    void stripedCreditsChangeTheETag() throws Exception {
+        walletService.createWallet("striped-etag");
+        walletStripeService.configureStripes("striped-etag", 4);
+        String etag = walletETag("striped-etag");
+
+        walletService.deposit("striped-etag", new BigDecimal("5.00"));
+
+        assertNotEquals(etag, walletETag("striped-etag"));
+        mockMvc.perform(post("/api/wallets/striped-etag/deposit")
+                        .param("amount", "1.00")
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void staleIfMatchRejectsTransferWithoutMovingFunds() throws Exception {
+        walletService.createWallet("cas-source");
+        walletService.createWallet("cas-target");
+        walletService.deposit("cas-source", new BigDecimal("10.00"));
+        String etag = walletETag("cas-source");
+        walletService.deposit("cas-source", new BigDecimal("1.00"));
+
+        mockMvc.perform(post("/api/wallets/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceOwnerId\":\"cas-source\",\"targetOwnerId\":\"cas-target\",\"amount\":5.00}")
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, walletETag("cas-source")));
+        assertEquals(new BigDecimal("11.00"), walletService.getWalletBalance("cas-source"));
+        assertEquals(new BigDecimal("0.00"), walletService.getWalletBalance("cas-target"));
+
+        mockMvc.perform(post("/api/wallets/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceOwnerId\":\"cas-source\",\"targetOwnerId\":\"cas-target\",\"amount\":5.00}")
+                        .header(HttpHeaders.IF_MATCH, walletETag("cas-source")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(6.00));
+    }
+
+    @Test
+    void unchangedSearchAnswersNotModified() throws Exception {
+        walletService.createWallet("search-etag");
+        walletService.deposit("search-etag", new BigDecimal("3.00"));
+
+        String etag = mockMvc.perform(get("/api/wallets/search-etag/transactions/search").param("minAmount", "1.00"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(walletETag("search-etag"), etag);
+
+        mockMvc.perform(get("/api/wallets/search-etag/transactions/search")
+                        .param("minAmount", "1.00")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void ifMatchSweepsStripesOnce() throws Exception {
+        walletService.createWallet("striped-cas");
+        walletStripeService.configureStripes("striped-cas", 4);
+        walletService.deposit("striped-cas", new BigDecimal("10.00"));
+        String etag = walletETag("striped-cas");
+
+        try (SqlRecording sql = SqlRecorder.start()) {
+            mockMvc.perform(post("/api/wallets/striped-cas/withdraw")
+                            .param("amount", "1.00")
+                            .header(HttpHeaders.IF_MATCH, etag))
+                    .andExpect(status().isOk());
+
+            assertEquals(1, sql.getExecutions().stream()
+                    .filter(execution -> execution.sql().toLowerCase().contains("wallet_stripes")
+                            && execution.sql().toLowerCase().contains("for update"))
+                    .count(), "As faixas são bloqueadas uma única vez");
+        }
+    }
+
+    private String walletETag(String ownerId) throws Exception {
+        return mockMvc.perform(get("/api/wallets/" + ownerId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.DailyStatsDTO;
+import com.example.walletservice.dto.WalletStatsDTO;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.repository.WalletDailyStatRepository;
+import com.example.walletservice.service.WalletService;
+import com.example.walletservice.service.WalletStatsService;
+import com.example.walletservice.stats.DailyStatsAggregator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:daily-stats-test",
+        "wallet.stats.settle-delay=0s",
+        "wallet.stats.poll-interval-ms=3600000"
+})
+@DirtiesContext
+class DailyStatsIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletStatsService walletStatsService;
+
+    @Autowired
+    private DailyStatsAggregator dailyStatsAggregator;
+
+    @Autowired
+    private WalletDailyStatRepository walletDailyStatRepository;
+
+    @Test
+    void rollupsFollowTheLedgerIncrementallyAndCanBeRecomputed() {
+        LocalDate today = LocalDate.now();
+        walletService.createWallet("stats-source");
+        walletService.createWallet("stats-target");
+        walletService.deposit("stats-source", new BigDecimal("100.00"), null);
+        walletService.deposit("stats-source", new BigDecimal("50.00"), null);
+        walletService.withdraw("stats-source", new BigDecimal("20.00"), null);
+
+        assertEquals(3, dailyStatsAggregator.aggregateBatch());
+        assertEquals(0, dailyStatsAggregator.aggregateBatch());
+
+        walletService.transfer("stats-source", "stats-target", new BigDecimal("30.00"), null);
+        walletService.deposit("stats-source", new BigDecimal("5.00"), null);
+        // A transferência é um único lançamento, contado nas duas carteiras
+        assertEquals(2, dailyStatsAggregator.aggregateBatch());
+
+        assertSourceTotals(walletStatsService.getDailyStats("stats-source", today.minusDays(7), today));
+        assertTargetTotals(walletStatsService.getDailyStats("stats-target", today.minusDays(7), today));
+
+        walletDailyStatRepository.deleteAll();
+        assertEquals(4, dailyStatsAggregator.recompute(today, today));
+        assertSourceTotals(walletStatsService.getDailyStats("stats-source", today.minusDays(7), today));
+        assertTargetTotals(walletStatsService.getDailyStats("stats-target", today.minusDays(7), today));
+    }
+
+    @Test
+    void rangeWithoutActivityIsEmpty() {
+        walletService.createWallet("stats-idle");
+        LocalDate lastYear = LocalDate.now().minusYears(1);
+
+        WalletStatsDTO stats = walletStatsService.getDailyStats("stats-idle", lastYear, lastYear.plusDays(30));
+
+        assertTrue(stats.getDays().isEmpty());
+        assertTrue(stats.getTotals().isEmpty());
+    }
+
+    private void assertSourceTotals(WalletStatsDTO stats) {
+        assertEquals(3, stats.getDays().size());
+        Map<TransactionType, DailyStatsDTO> totals = stats.getTotals().stream()
+                .collect(Collectors.toMap(DailyStatsDTO::getType, Function.identity()));
+
+        DailyStatsDTO deposits = totals.get(TransactionType.DEPOSIT);
+        assertEquals(0, new BigDecimal("155.00").compareTo(deposits.getInflow()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(deposits.getOutflow()));
+        assertEquals(3, deposits.getCount());
+
+        DailyStatsDTO withdrawals = totals.get(TransactionType.WITHDRAWAL);
+        assertEquals(0, new BigDecimal("20.00").compareTo(withdrawals.getOutflow()));
+        assertEquals(1, withdrawals.getCount());
+
+        DailyStatsDTO transfers = totals.get(TransactionType.TRANSFER_OUT);
+        assertEquals(0, new BigDecimal("30.00").compareTo(transfers.getOutflow()));
+        assertEquals(1, transfers.getCount());
+    }
+
+    private void assertTargetTotals(WalletStatsDTO stats) {
+        assertEquals(1, stats.getTotals().size());
+        DailyStatsDTO received = stats.getTotals().get(0);
+        assertEquals(TransactionType.TRANSFER_IN, received.getType());
+        assertEquals(0, new BigDecimal("30.00").compareTo(received.getInflow()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(received.getOutflow()));
+        assertEquals(1, received.getCount());
+    }
+}
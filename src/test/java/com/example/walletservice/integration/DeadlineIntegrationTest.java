@@ -0,0 +1,94 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.deadline.DeadlinePhase;
+import com.example.walletservice.deadline.RequestDeadline;
+import com.example.walletservice.exception.DeadlineExceededException;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:deadline-test",
+        "wallet.archive.cron=-"
+})
+@DirtiesContext
+class DeadlineIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void expiredRequestIsRejectedBeforeTouchingTheDatabase() {
+        walletService.createWallet("deadline-queue");
+        RequestDeadline.set(Duration.ZERO);
+
+        DeadlineExceededException ex = assertThrows(DeadlineExceededException.class,
+                () -> walletService.deposit("deadline-queue", new BigDecimal("10.00")));
+
+        assertEquals(DeadlinePhase.QUEUE, ex.getPhase());
+        assertEquals(1, exceeded("queue"));
+    }
+
+    @Test
+    void statementsAfterTheDeadlineAreRefused() {
+        RequestDeadline.set(Duration.ZERO);
+
+        assertThrows(QueryTimeoutException.class, () -> walletRepository.existsByOwnerId("deadline-statement"));
+        assertTrue(exceeded("statement") >= 1);
+    }
+
+    @Test
+    void writeTransactionPastTheDeadlineIsRolledBack() {
+        RequestDeadline.set(Duration.ofMillis(300));
+
+        DeadlineExceededException ex = assertThrows(DeadlineExceededException.class,
+                () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    walletService.createWallet("deadline-commit");
+                    sleep(400);
+                }));
+        RequestDeadline.clear();
+
+        assertEquals(DeadlinePhase.COMMIT, ex.getPhase());
+        assertFalse(walletRepository.existsByOwnerId("deadline-commit"));
+        assertEquals(1, exceeded("commit"));
+    }
+
+    private double exceeded(String phase) {
+        return meterRegistry.get("wallet.deadline.exceeded").tag("phase", phase).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.controller.WalletController;
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Perfil {@code fast-startup} sem AOT: o fluxo do livro-razão roda sobre o schema criado só
+ * pelas migrations e o caminho do depósito fica fora da inicialização preguiçosa.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fast-startup-test")
+@ActiveProfiles("fast-startup")
+@DirtiesContext
+class FastStartupIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void ledgerFlowRunsOnMigratedSchema() {
+        walletService.createWallet("fast-source");
+        walletService.createWallet("fast-target");
+        walletService.deposit("fast-source", new BigDecimal("100.00"), "Depósito");
+        walletService.transfer("fast-source", "fast-target", new BigDecimal("40.00"), null);
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(walletService.getWalletBalance("fast-source")));
+        List<TransactionDTO> history = transactionService.getTransactionsByOwnerId("fast-target");
+        assertEquals(1, history.size());
+
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"success\" = TRUE", Integer.class);
+        assertNotNull(applied);
+        assertTrue(applied >= 12);
+    }
+
+    @Test
+    void depositPathIsInitializedEagerly() {
+        String controller = beanFactory.getBeanNamesForType(WalletController.class)[0];
+
+        assertFalse(beanFactory.getBeanDefinition(controller).isLazyInit());
+        assertTrue(beanFactory.containsSingleton(controller), "Controller criado no refresh, antes do primeiro uso");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.hotspot.HotWalletMetric;
+import com.example.walletservice.hotspot.HotWalletReport;
+import com.example.walletservice.hotspot.HotWalletTracker;
+import com.example.walletservice.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-wallet-test",
+        "wallet.archive.cron=-",
+        "wallet.hot-wallets.operation-sample-rate=1",
+        "wallet.hot-wallets.window-ms=3600000"
+})
+@DirtiesContext
+class HotWalletIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private HotWalletTracker hotWalletTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void walletServiceOperationsAreRankedPerWindow() {
+        walletService.createWallet("hot-merchant");
+        walletService.createWallet("quiet-customer");
+        hotWalletTracker.closeWindow();
+
+        for (int i = 0; i < 10; i++) {
+            walletService.deposit("hot-merchant", new BigDecimal("1.00"));
+        }
+        walletService.transfer("hot-merchant", "quiet-customer", new BigDecimal("2.00"));
+        assertThrows(InsufficientFundsException.class,
+                () -> walletService.withdraw("quiet-customer", new BigDecimal("50.00"), null));
+
+        HotWalletReport report = hotWalletTracker.closeWindow();
+
+        List<HotWalletReport.HotWallet> operations = report.getRankings().get(HotWalletMetric.OPERATIONS);
+        assertEquals("hot-merchant", operations.get(0).getOwnerId());
+        assertEquals(11, operations.get(0).getCount());
+        assertEquals("quiet-customer", report.getRankings().get(HotWalletMetric.INSUFFICIENT_FUNDS).get(0).getOwnerId());
+        assertNotNull(meterRegistry.find("wallet.hot.rate")
+                .tags("ownerId", "hot-merchant", "metric", "operations").gauge());
+    }
+}
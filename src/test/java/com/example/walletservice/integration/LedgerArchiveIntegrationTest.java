@@ -0,0 +1,112 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.config.ArchiveProperties;
+import com.example.walletservice.datasource.DatabaseFeatures;
+import com.example.walletservice.repository.ArchivedTransactionRepository;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.service.LedgerArchiveService;
+import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "wallet.archive.boundary-ttl=0s")
+@DirtiesContext
+class LedgerArchiveIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerArchiveService ledgerArchiveService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DatabaseFeatures databaseFeatures;
+
+    private final String ownerId = "archive-test-owner";
+
+    @BeforeEach
+    void setUp() {
+        archivedTransactionRepository.deleteAll();
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+        ledgerArchiveService.refreshArchiveBoundary();
+    }
+
+    @Test
+    void archivedTransactionsRemainVisibleInHistory() {
+        // Given
+        walletService.createWallet(ownerId);
+        walletService.deposit(ownerId, BigDecimal.valueOf(100), "Initial deposit");
+        walletService.withdraw(ownerId, BigDecimal.valueOf(30), "Test withdrawal");
+        LocalDateTime afterOperations = LocalDateTime.now();
+
+        // When
+        int moved = ledgerArchiveService.archiveOlderThan(LocalDateTime.now().plusSeconds(1));
+
+        // Then
+        Long walletId = walletRepository.findByOwnerId(ownerId).orElseThrow().getId();
+        assertEquals(2, moved);
+        assertTrue(transactionRepository.findByWalletIdOrderByTimestampDesc(walletId).isEmpty());
+        assertEquals(2, transactionService.getTransactionsByOwnerId(ownerId).size());
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(walletService.getHistoricalBalance(ownerId, afterOperations)));
+    }
+
+    @Test
+    void rowsArchivedByAnotherInstanceAreVisibleOnceTheBoundaryExpires() {
+        // Given: esta instância já consultou o histórico com o arquivo vazio
+        walletService.createWallet(ownerId);
+        walletService.deposit(ownerId, BigDecimal.valueOf(100), "Initial deposit");
+        assertEquals(1, transactionService.getTransactionsByOwnerId(ownerId).size());
+        LedgerArchiveService otherInstance = new LedgerArchiveService(transactionRepository,
+                archivedTransactionRepository, archiveProperties, transactionTemplate, meterRegistry, databaseFeatures);
+
+        // When
+        otherInstance.archiveOlderThan(LocalDateTime.now().plusSeconds(1));
+
+        // Then
+        assertEquals(1, transactionService.getTransactionsByOwnerId(ownerId).size());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(walletService.getHistoricalBalance(ownerId, LocalDateTime.now())));
+    }
+
+    @Test
+    void emptyArchiveIsNotQueried() {
+        // When
+        boolean spansArchive = ledgerArchiveService.mayContain(LocalDateTime.now());
+
+        // Then
+        assertFalse(spansArchive);
+    }
+}
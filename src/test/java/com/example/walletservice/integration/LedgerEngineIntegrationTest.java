@@ -0,0 +1,128 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.engine.LedgerEngine;
+import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledger-engine-test",
+        "wallet.archive.cron=-",
+        "wallet.engine.enabled=true",
+        "wallet.engine.directory=${java.io.tmpdir}/ledger-engine-it-${random.uuid}",
+        "wallet.engine.fsync=false",
+        "wallet.engine.snapshot-interval=50"
+})
+@DirtiesContext
+class LedgerEngineIntegrationTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void operationsAreConfirmedByTheEngineAndProjectedToTheTables() throws Exception {
+        walletService.createWallet("engine-a");
+        walletService.createWallet("engine-b");
+
+        WalletDTO afterDeposit = walletService.deposit("engine-a", new BigDecimal("100.00"), "Salário");
+        assertEquals(0, new BigDecimal("100.00").compareTo(afterDeposit.getBalance()));
+
+        walletService.transfer("engine-a", "engine-b", new BigDecimal("30.00"));
+        assertEquals(0, new BigDecimal("60.00").compareTo(walletService.withdraw("engine-a", new BigDecimal("10.00"))));
+        assertThrows(InsufficientFundsException.class,
+                () -> walletService.withdraw("engine-b", new BigDecimal("30.01"), null));
+        IllegalArgumentException invalidTransfer = assertThrows(IllegalArgumentException.class,
+                () -> walletService.transfer("engine-a", "engine-b", BigDecimal.ZERO));
+        assertEquals("O valor da transferência deve ser maior que zero", invalidTransfer.getMessage());
+
+        // O read model converge para os saldos confirmados pelo motor
+        awaitBalance("engine-a", "60.00");
+        awaitBalance("engine-b", "30.00");
+        // Depósito, saque e a transferência em um único lançamento
+        await(() -> transactionCount() == 3L);
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions t JOIN wallets w ON w.id = t.wallet_id "
+                        + "WHERE w.owner_id = 'engine-b' AND t.type = 'WITHDRAWAL'", Long.class));
+    }
+
+    @Test
+    void concurrentTransfersKeepTheTotalAndSurviveARestart() throws Exception {
+        walletService.createWallet("engine-hub");
+        walletService.deposit("engine-hub", new BigDecimal("1000.00"), null);
+        for (int i = 0; i < 4; i++) {
+            walletService.createWallet("engine-spoke-" + i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> transfers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String ownerId = "engine-spoke-" + i;
+                transfers.add(executor.submit(() -> {
+                    for (int n = 0; n < 25; n++) {
+                        walletService.transfer("engine-hub", ownerId, new BigDecimal("1.50"));
+                    }
+                }));
+            }
+            for (Future<?> transfer : transfers) {
+                transfer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Reinicia o motor: o estado é reconstruído do snapshot e do journal, não do banco
+        ledgerEngine.stop();
+        ledgerEngine.start();
+
+        assertEquals(0, new BigDecimal("850.50").compareTo(
+                walletService.deposit("engine-hub", new BigDecimal("0.50"))));
+        awaitBalance("engine-hub", "850.50");
+        for (int i = 0; i < 4; i++) {
+            awaitBalance("engine-spoke-" + i, "37.50");
+        }
+    }
+
+    private void awaitBalance(String ownerId, String expected) throws InterruptedException {
+        await(() -> new BigDecimal(expected).compareTo(walletService.getWalletBalance(ownerId)) == 0);
+    }
+
+    private long transactionCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions t JOIN wallets w ON w.id = t.wallet_id "
+                        + "WHERE w.owner_id IN ('engine-a', 'engine-b')", Long.class);
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.get()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Read model não convergiu em " + TIMEOUT_MS + " ms");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
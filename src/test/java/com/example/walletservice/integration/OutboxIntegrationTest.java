@@ -0,0 +1,77 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.entity.OutboxEvent;
+import com.example.walletservice.outbox.InMemoryQueueOutboxSink;
+import com.example.walletservice.outbox.OutboxRelay;
+import com.example.walletservice.repository.OutboxEventRepository;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-test",
+        "wallet.outbox.enabled=true",
+        "wallet.outbox.settle-delay=0s",
+        "wallet.outbox.poll-interval-ms=3600000"
+})
+@DirtiesContext
+class OutboxIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryQueueOutboxSink outboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relayBatch();
+        outboxSink.getQueue().clear();
+    }
+
+    @Test
+    void ledgerEntriesAreWrittenToOutboxAndRelayedOnce() {
+        walletService.createWallet("outbox-source");
+        walletService.createWallet("outbox-target");
+        walletService.deposit("outbox-source", new BigDecimal("100.00"), "Depósito");
+        walletService.transfer("outbox-source", "outbox-target", new BigDecimal("40.00"), null);
+
+        assertEquals(3, outboxEventRepository.count());
+
+        assertEquals(3, outboxRelay.relayBatch());
+        assertEquals(0, outboxRelay.relayBatch());
+
+        List<OutboxEvent> published = new ArrayList<>();
+        outboxSink.getQueue().drainTo(published);
+        assertEquals(List.of("DEPOSIT", "TRANSFER_OUT", "TRANSFER_IN"),
+                published.stream().map(OutboxEvent::getEventType).toList());
+        assertEquals("outbox-target", published.get(2).getAggregateId());
+        assertTrue(published.get(2).getPayload().contains("\"balance\":40.00"));
+    }
+
+    @Test
+    void failedLedgerWriteLeavesNoOutboxEvent() {
+        walletService.createWallet("outbox-poor");
+        long before = outboxEventRepository.count();
+
+        assertThrows(RuntimeException.class,
+                () -> walletService.withdraw("outbox-poor", new BigDecimal("10.00"), null));
+
+        assertEquals(before, outboxEventRepository.count());
+    }
+}
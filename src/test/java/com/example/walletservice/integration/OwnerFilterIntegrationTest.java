@@ -0,0 +1,62 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.service.WalletService;
+import com.example.walletservice.support.SqlCountingTestConfiguration;
+import com.example.walletservice.support.SqlRecorder;
+import com.example.walletservice.support.SqlRecording;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:owner-filter-test",
+        "wallet.archive.cron=-",
+        "wallet.stats.enabled=false",
+        "wallet.owner-filter.enabled=true",
+        "wallet.owner-filter.refresh-interval-ms=3600000"
+})
+@Import(SqlCountingTestConfiguration.class)
+@DirtiesContext
+class OwnerFilterIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void unknownOwnersAreRejectedWithoutQueries() {
+        double rejectedBefore = bloomRejections();
+        try (SqlRecording sql = SqlRecorder.start()) {
+            assertThrows(WalletNotFoundException.class, () -> walletService.getWalletByOwnerId("ghost-owner"));
+            assertThrows(WalletNotFoundException.class,
+                    () -> walletService.deposit("ghost-owner", new BigDecimal("10.00"), null));
+            assertEquals(0, sql.total());
+        }
+        assertEquals(2.0, bloomRejections() - rejectedBefore);
+    }
+
+    @Test
+    void createdWalletsAreVisibleImmediately() {
+        assertThrows(WalletNotFoundException.class, () -> walletService.getWalletBalance("late-owner"));
+
+        walletService.createWallet("late-owner");
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletService.getWalletBalance("late-owner")));
+        walletService.deposit("late-owner", new BigDecimal("5.00"), null);
+        assertEquals(0, new BigDecimal("5.00").compareTo(walletService.getWalletBalance("late-owner")));
+    }
+
+    private double bloomRejections() {
+        return meterRegistry.counter("wallet.owner-filter.rejections", "source", "bloom").count();
+    }
+}
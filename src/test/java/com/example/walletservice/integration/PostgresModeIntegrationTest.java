@@ -0,0 +1,91 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.repository.ArchivedTransactionRepository;
+import com.example.walletservice.repository.TransactionRepository;
+import com.example.walletservice.service.LedgerArchiveService;
+import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa o fluxo do livro-razão sobre o schema criado só pelas migrations, em H2 no modo
+ * PostgreSQL, como o perfil {@code postgres} faz em produção.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:postgres-mode-test;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@ActiveProfiles("postgres-local")
+@DirtiesContext
+class PostgresModeIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerArchiveService ledgerArchiveService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ledgerFlowRunsOnMigratedSchema() {
+        walletService.createWallet("pg-source");
+        walletService.createWallet("pg-target");
+        walletService.deposit("pg-source", new BigDecimal("100.00"), "Depósito");
+        walletService.transfer("pg-source", "pg-target", new BigDecimal("30.00"), null);
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(walletService.getWalletBalance("pg-source")));
+        assertEquals(0, new BigDecimal("70.00").compareTo(
+                walletService.getHistoricalBalance("pg-source", LocalDateTime.now())));
+
+        int archived = ledgerArchiveService.archiveOlderThan(LocalDateTime.now().plusSeconds(1));
+        // Depósito e uma única linha TRANSFER, que guarda também a perna do destino
+        assertEquals(2, archived);
+        assertEquals(0, transactionRepository.count());
+        assertEquals(2, archivedTransactionRepository.count());
+        BigDecimal targetBalanceAfter = jdbcTemplate.queryForObject(
+                "SELECT a.related_balance_after FROM transactions_archive a JOIN wallets w ON w.id = a.related_wallet_id "
+                        + "WHERE a.type = 'TRANSFER' AND w.owner_id = 'pg-target'", BigDecimal.class);
+        assertEquals(0, new BigDecimal("30.00").compareTo(targetBalanceAfter));
+
+        List<TransactionDTO> history = transactionService.getTransactionsByOwnerId("pg-source");
+        assertEquals(2, history.size());
+        assertEquals(1, transactionService.getTransactionsByOwnerId("pg-target").size());
+    }
+
+    @Test
+    void ownerIdIsUniqueInMigratedSchema() {
+        walletService.createWallet("pg-unique");
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO wallets (owner_id, balance, created_at, updated_at, version) VALUES ('pg-unique', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)"));
+    }
+
+    @Test
+    void schemaComesFromMigrationsOnly() {
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE success = TRUE", Integer.class);
+        assertNotNull(applied);
+        assertTrue(applied >= 8);
+    }
+}
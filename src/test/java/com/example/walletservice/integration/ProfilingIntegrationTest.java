@@ -0,0 +1,77 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.profiling.ProfilingRecorder;
+import com.example.walletservice.profiling.ProfilingStatus;
+import com.example.walletservice.service.WalletService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:profiling-test",
+        "wallet.archive.cron=-",
+        "wallet.profiling.enabled=true",
+        "wallet.profiling.settings=default",
+        "wallet.profiling.directory=target/profiling-test"
+})
+@DirtiesContext
+class ProfilingIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private ProfilingRecorder profilingRecorder;
+
+    @Test
+    void walletOperationsAreRecordedAsJfrEvents() throws Exception {
+        walletService.createWallet("profiled-source");
+        walletService.createWallet("profiled-target");
+
+        ProfilingStatus.RecordingInfo recording = profilingRecorder.start(Duration.ofMinutes(1), null);
+        walletService.deposit("profiled-source", new BigDecimal("10.00"));
+        walletService.transfer("profiled-source", "profiled-target", new BigDecimal("4.00"));
+        assertThrows(InsufficientFundsException.class,
+                () -> walletService.withdraw("profiled-target", new BigDecimal("50.00"), null));
+        profilingRecorder.stop();
+
+        Path file = profilingRecorder.export(recording.getId()).orElseThrow();
+        List<RecordedEvent> allEvents = RecordingFile.readAllEvents(file);
+        assertTrue(allEvents.stream().noneMatch(event -> event.getEventType().getName().startsWith("jdk.Initial")
+                        || event.getEventType().getName().equals("jdk.JVMInformation")),
+                "Ambiente, propriedades e argumentos da JVM ficam fora da gravação");
+        List<RecordedEvent> events = allEvents.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.wallet.Operation"))
+                .toList();
+
+        RecordedEvent transfer = events.stream()
+                .filter(event -> "transfer".equals(event.getString("operation")))
+                .findFirst().orElseThrow();
+        assertEquals("OK", transfer.getString("outcome"));
+        assertNotEquals(0, transfer.getLong("ownerHash"));
+        assertNotEquals(transfer.getLong("ownerHash"), transfer.getLong("targetOwnerHash"));
+        assertTrue(transfer.getLong("walletId") > 0);
+        assertTrue(transfer.getLong("targetWalletId") > 0);
+        assertNotEquals(transfer.getLong("walletId"), transfer.getLong("targetWalletId"));
+        assertEquals(1, transfer.getInt("transactions"));
+        assertTrue(transfer.getInt("sqlStatements") > 0, "Statements do Hibernate são contados");
+        assertTrue(transfer.getDuration("completionDuration").toNanos() > 0);
+
+        RecordedEvent rejected = events.stream()
+                .filter(event -> "withdraw".equals(event.getString("operation")))
+                .findFirst().orElseThrow();
+        assertEquals("INSUFFICIENT_FUNDS", rejected.getString("outcome"));
+        assertEquals(0, rejected.getLong("targetOwnerHash"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.entity.JobCheckpoint;
+import com.example.walletservice.reconciliation.ReconciliationMismatch;
+import com.example.walletservice.reconciliation.ReconciliationReport;
+import com.example.walletservice.reconciliation.ReconciliationService;
+import com.example.walletservice.repository.JobCheckpointRepository;
+import com.example.walletservice.service.LedgerArchiveService;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconciliation-test",
+        "wallet.archive.cron=-",
+        "wallet.reconciliation.chunk-size=2",
+        "wallet.reconciliation.parallelism=4"
+})
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReconciliationIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private LedgerArchiveService ledgerArchiveService;
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        for (int i = 0; i < 7; i++) {
+            String ownerId = "recon-" + i;
+            walletService.createWallet(ownerId);
+            walletService.deposit(ownerId, new BigDecimal("100.00"), null);
+        }
+        // Parte do livro-razão vai para o arquivo frio antes dos demais lançamentos
+        ledgerArchiveService.archiveOlderThan(LocalDateTime.now().plusSeconds(1));
+        walletService.withdraw("recon-1", new BigDecimal("30.00"), null);
+        walletService.transfer("recon-2", "recon-3", new BigDecimal("25.00"), null);
+
+        jdbcTemplate.update("UPDATE wallets SET balance = balance + 1 WHERE owner_id = ?", "recon-4");
+        // O último lançamento de recon-3 é a perna de entrada da transferência, gravada na linha da origem
+        jdbcTemplate.update("UPDATE transactions SET related_balance_after = 0 "
+                + "WHERE type = 'TRANSFER' AND related_wallet_id = (SELECT id FROM wallets WHERE owner_id = ?)",
+                "recon-3");
+    }
+
+    @Test
+    void reportsWalletsWhoseBalanceDisagreesWithTheLedger() {
+        ReconciliationReport report = reconciliationService.run(false);
+
+        assertEquals(ReconciliationReport.Status.COMPLETED, report.getStatus());
+        assertEquals(7, report.getWalletsChecked());
+        assertEquals(1.0, report.getProgress());
+        assertEquals(2, report.getMismatchCount());
+
+        Map<String, ReconciliationMismatch> byOwner = report.getMismatches().stream()
+                .collect(Collectors.toMap(ReconciliationMismatch::getOwnerId, mismatch -> mismatch));
+        assertEquals(ReconciliationMismatch.Reason.LEDGER_SUM, byOwner.get("recon-4").getReason());
+        assertEquals(0, new BigDecimal("100.00").compareTo(byOwner.get("recon-4").getLedgerTotal()));
+        assertEquals(ReconciliationMismatch.Reason.LAST_BALANCE, byOwner.get("recon-3").getReason());
+        assertEquals(0, new BigDecimal("125.00").compareTo(byOwner.get("recon-3").getLedgerTotal()));
+        assertEquals(2, byOwner.get("recon-3").getEntries());
+    }
+
+    @Test
+    void resumesAfterTheCheckpointedWallet() {
+        Long recon4Id = jdbcTemplate.queryForObject("SELECT id FROM wallets WHERE owner_id = ?", Long.class, "recon-4");
+        jobCheckpointRepository.save(JobCheckpoint.builder()
+                .name("reconciliation")
+                .position(recon4Id)
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        ReconciliationReport report = reconciliationService.run(true);
+
+        assertEquals(ReconciliationReport.Status.COMPLETED, report.getStatus());
+        assertEquals(2, report.getWalletsChecked());
+        assertEquals(0, report.getMismatchCount());
+        assertEquals(0L, jobCheckpointRepository.findById("reconciliation").orElseThrow().getPosition());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.TransferDTO;
+import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletBalanceService;
+import com.example.walletservice.service.WalletService;
+import com.example.walletservice.support.SqlCountingTestConfiguration;
+import com.example.walletservice.support.SqlRecorder;
+import com.example.walletservice.support.SqlRecording;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Idas ao banco de cada operação de {@link WalletService} e {@link TransactionService}, com
+ * transações confirmadas e batching JDBC habilitado como em produção.
+ * Uma mudança que acrescente consultas faz este teste falhar.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-count-test",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "wallet.archive.cron=-",
+        "wallet.stats.enabled=false"
+})
+@Import(SqlCountingTestConfiguration.class)
+@DirtiesContext
+class ServiceQueryCountTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletBalanceService walletBalanceService;
+
+    private String ownerId;
+    private String otherOwnerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = "query-count-" + SEQUENCE.incrementAndGet();
+        otherOwnerId = "query-count-" + SEQUENCE.incrementAndGet();
+        walletService.createWallet(ownerId);
+        walletService.createWallet(otherOwnerId);
+        walletService.deposit(ownerId, new BigDecimal("100.00"), null);
+    }
+
+    @Test
+    void createWallet() {
+        try (SqlRecording sql = SqlRecorder.start()) {
+            walletService.createWallet("query-count-new-" + SEQUENCE.incrementAndGet());
+            // Verificação de existência e INSERT
+            sql.assertSelects(1).assertInserts(1).assertTotal(2);
+        }
+    }
+
+    @Test
+    void reads() {
+        try (SqlRecording sql = SqlRecorder.start()) {
+            walletService.getWalletByOwnerId(ownerId);
+            sql.assertSelects(1).assertTotal(1);
+
+            sql.reset();
+            walletService.getWalletBalance(ownerId);
+            sql.assertSelects(1).assertTotal(1);
+
+            sql.reset();
+            walletService.getHistoricalBalance(ownerId, LocalDateTime.now());
+            sql.assertSelects(2).assertNoRepeatedSelects().assertTotal(2);
+
+            sql.reset();
+            walletService.getHistoricalWalletDTO(ownerId, LocalDateTime.now());
+            sql.assertSelects(2).assertNoRepeatedSelects().assertTotal(2);
+        }
+    }
+
+    @Test
+    void depositAndWithdraw() {
+        try (SqlRecording sql = SqlRecorder.start()) {
+            walletService.deposit(ownerId, BigDecimal.TEN, null);
+            // Carteira, lançamento e UPDATE da carteira no commit
+            sql.assertSelects(1).assertInserts(1).assertUpdates(1).assertTotal(3);
+
+            sql.reset();
+            walletService.withdraw(ownerId, BigDecimal.TEN, null);
+            sql.assertSelects(1).assertInserts(1).assertUpdates(1).assertTotal(3);
+        }
+    }
+
+    @Test
+    void transfer() {
+        try (SqlRecording sql = SqlRecorder.start()) {
+            walletService.transfer(ownerId, otherOwnerId, BigDecimal.TEN, null);
+            // Uma busca por carteira e um lançamento; os dois UPDATEs vão em um único lote
+            sql.assertSelects(2).assertMaxSelectRepeats(2)
+                    .assertInserts(1)
+                    .assertUpdates(1).assertBatchSizes(SqlRecording.Type.UPDATE, 2)
+                    .assertTotal(4);
+
+            sql.reset();
+            transactionService.transfer(TransferDTO.builder()
+                    .sourceOwnerId(ownerId)
+                    .targetOwnerId(otherOwnerId)
+                    .amount(BigDecimal.TEN)
+                    .build());
+            sql.assertTotal(4);
+        }
+    }
+
+    @Test
+    void transactionHistoryHasNoNPlusOne() {
+        walletService.deposit(ownerId, BigDecimal.ONE, null);
+        walletService.withdraw(ownerId, BigDecimal.ONE, null);
+
+        try (SqlRecording sql = SqlRecorder.start()) {
+            assertEquals(3, transactionService.getTransactionsByOwnerId(ownerId).size());
+            // Carteira e histórico; o arquivo frio vazio não é consultado
+            sql.assertSelects(2).assertNoRepeatedSelects().assertTotal(2);
+        }
+    }
+
+    @Test
+    void batchBalancesQueryPerInListChunk() {
+        List<String> ownerIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ownerIds.add(i % 2 == 0 ? ownerId : "query-count-missing-" + i);
+        }
+        ownerIds.add(otherOwnerId);
+
+        try (SqlRecording sql = SqlRecorder.start()) {
+            walletBalanceService.getBalances(ownerIds, null);
+            // 102 IDs distintos: um bloco de 128
+            sql.assertSelects(1).assertTotal(1);
+
+            sql.reset();
+            walletBalanceService.getBalances(ownerIds, LocalDateTime.now());
+            // Carteiras e saldos com janela; o arquivo frio vazio não é consultado
+            sql.assertSelects(2).assertTotal(2);
+        }
+    }
+}
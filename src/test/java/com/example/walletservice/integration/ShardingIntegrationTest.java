@@ -0,0 +1,130 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.TransferDTO;
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.TransferSaga;
+import com.example.walletservice.entity.TransferSagaStatus;
+import com.example.walletservice.exception.InsufficientFundsException;
+import com.example.walletservice.repository.TransferSagaRepository;
+import com.example.walletservice.repository.WalletRepository;
+import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletService;
+import com.example.walletservice.sharding.ConsistentHashRing;
+import com.example.walletservice.sharding.ShardContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "wallet.sharding.enabled=true",
+        "wallet.sharding.shards[0].name=shard-a",
+        "wallet.sharding.shards[0].url=jdbc:h2:mem:wallet-shard-a;DB_CLOSE_DELAY=-1",
+        "wallet.sharding.shards[0].username=sa",
+        "wallet.sharding.shards[0].password=",
+        "wallet.sharding.shards[1].name=shard-b",
+        "wallet.sharding.shards[1].url=jdbc:h2:mem:wallet-shard-b;DB_CLOSE_DELAY=-1",
+        "wallet.sharding.shards[1].username=sa",
+        "wallet.sharding.shards[1].password=",
+        "wallet.sharding.shards[2].name=shard-c",
+        "wallet.sharding.shards[2].url=jdbc:h2:mem:wallet-shard-c;DB_CLOSE_DELAY=-1",
+        "wallet.sharding.shards[2].username=sa",
+        "wallet.sharding.shards[2].password="
+})
+@DirtiesContext
+class ShardingIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransferSagaRepository transferSagaRepository;
+
+    @Autowired
+    private ConsistentHashRing shardRing;
+
+    @Test
+    void walletIsStoredOnlyInItsShard() {
+        // Given
+        String ownerId = "sharding-test-owner";
+        String ownerShard = shardRing.shardFor(ownerId);
+        String otherShard = shardRing.getShards().stream()
+                .filter(shard -> !shard.equals(ownerShard))
+                .findFirst()
+                .orElseThrow();
+
+        // When
+        walletService.createWallet(ownerId);
+
+        // Then
+        assertTrue(ShardContext.callIn(ownerShard, () -> walletRepository.existsByOwnerId(ownerId)));
+        assertFalse(ShardContext.callIn(otherShard, () -> walletRepository.existsByOwnerId(ownerId)));
+    }
+
+    @Test
+    void crossShardTransferRunsAsSaga() {
+        // Given
+        String sourceOwnerId = "sharding-saga-source";
+        String targetOwnerId = ownerOnAnotherShard(sourceOwnerId, "sharding-saga-target-");
+        walletService.createWallet(sourceOwnerId);
+        walletService.createWallet(targetOwnerId);
+        walletService.deposit(sourceOwnerId, BigDecimal.valueOf(100), "Initial deposit");
+
+        // When
+        WalletDTO sourceWallet = transactionService.transfer(transfer(sourceOwnerId, targetOwnerId, BigDecimal.valueOf(30)));
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(sourceWallet.getBalance()));
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(walletService.getWalletBalance(targetOwnerId)));
+        assertEquals(2, transactionService.getTransactionsByOwnerId(sourceOwnerId).size());
+        assertEquals(1, transactionService.getTransactionsByOwnerId(targetOwnerId).size());
+
+        List<TransferSaga> sagas = ShardContext.callIn(shardRing.shardFor(sourceOwnerId), transferSagaRepository::findAll);
+        assertEquals(1, sagas.size());
+        assertEquals(TransferSagaStatus.COMPLETED, sagas.get(0).getStatus());
+    }
+
+    @Test
+    void crossShardTransferWithInsufficientFundsChangesNothing() {
+        // Given
+        String sourceOwnerId = "sharding-poor-source";
+        String targetOwnerId = ownerOnAnotherShard(sourceOwnerId, "sharding-poor-target-");
+        walletService.createWallet(sourceOwnerId);
+        walletService.createWallet(targetOwnerId);
+
+        // When / Then
+        assertThrows(InsufficientFundsException.class,
+                () -> transactionService.transfer(transfer(sourceOwnerId, targetOwnerId, BigDecimal.TEN)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletService.getWalletBalance(sourceOwnerId)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletService.getWalletBalance(targetOwnerId)));
+    }
+
+    private String ownerOnAnotherShard(String ownerId, String prefix) {
+        String ownerShard = shardRing.shardFor(ownerId);
+        for (int i = 0; ; i++) {
+            String candidate = prefix + i;
+            if (!shardRing.shardFor(candidate).equals(ownerShard)) {
+                return candidate;
+            }
+        }
+    }
+
+    private TransferDTO transfer(String sourceOwnerId, String targetOwnerId, BigDecimal amount) {
+        return TransferDTO.builder()
+                .sourceOwnerId(sourceOwnerId)
+                .targetOwnerId(targetOwnerId)
+                .amount(amount)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.reconciliation.ReconciliationReport;
+import com.example.walletservice.reconciliation.ReconciliationService;
+import com.example.walletservice.service.WalletBalanceService;
+import com.example.walletservice.service.WalletService;
+import com.example.walletservice.service.WalletStripeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:striped-wallet-test",
+        "wallet.archive.cron=-"
+})
+@DirtiesContext
+class StripedWalletIntegrationTest {
+
+    private static final int PAYERS = 8;
+    private static final int TRANSFERS_PER_PAYER = 5;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletStripeService walletStripeService;
+
+    @Autowired
+    private WalletBalanceService walletBalanceService;
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentCreditsSpreadOverStripesAndDebitsSweepThem() throws Exception {
+        walletService.createWallet("merchant");
+        WalletDTO configured = walletStripeService.configureStripes("merchant", 4);
+        assertEquals(4, configured.getStripes());
+        for (int payer = 0; payer < PAYERS; payer++) {
+            walletService.createWallet("payer-" + payer);
+            walletService.deposit("payer-" + payer, new BigDecimal("100.00"), null);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(PAYERS);
+        try {
+            List<Future<?>> transfers = new ArrayList<>();
+            for (int payer = 0; payer < PAYERS; payer++) {
+                String ownerId = "payer-" + payer;
+                transfers.add(executor.submit(() -> {
+                    for (int i = 0; i < TRANSFERS_PER_PAYER; i++) {
+                        walletService.transfer(ownerId, "merchant", new BigDecimal("2.50"));
+                    }
+                }));
+            }
+            for (Future<?> transfer : transfers) {
+                transfer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 40 créditos em round-robin: a linha da carteira não foi alterada e cada faixa recebeu 10
+        Long walletId = walletService.getWalletByOwnerId("merchant").getId();
+        assertEquals(0, BigDecimal.ZERO.compareTo(baseBalance(walletId)));
+        assertEquals(List.of(new BigDecimal("25.00"), new BigDecimal("25.00"), new BigDecimal("25.00"), new BigDecimal("25.00")),
+                jdbcTemplate.queryForList("SELECT balance FROM wallet_stripes WHERE wallet_id = ? ORDER BY stripe_index",
+                        BigDecimal.class, walletId));
+        assertEquals(0, new BigDecimal("100.00").compareTo(walletService.getWalletBalance("merchant")));
+
+        Thread.sleep(5);
+        LocalDateTime beforeWithdrawal = LocalDateTime.now();
+        Thread.sleep(5);
+
+        WalletDTO afterWithdrawal = walletService.withdraw("merchant", new BigDecimal("60.00"), null);
+        assertEquals(0, new BigDecimal("40.00").compareTo(afterWithdrawal.getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(baseBalance(walletId)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(jdbcTemplate.queryForObject(
+                "SELECT SUM(balance) FROM wallet_stripes WHERE wallet_id = ?", BigDecimal.class, walletId)));
+
+        walletService.deposit("merchant", new BigDecimal("1.00"), null);
+        assertEquals(0, new BigDecimal("41.00").compareTo(walletService.getWalletBalance("merchant")));
+        assertEquals(0, new BigDecimal("100.00").compareTo(walletService.getHistoricalBalance("merchant", beforeWithdrawal)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(
+                walletBalanceService.getBalances(List.of("merchant"), beforeWithdrawal).getBalances().get(0).getBalance()));
+
+        ReconciliationReport report = reconciliationService.run(false);
+        assertEquals(ReconciliationReport.Status.COMPLETED, report.getStatus());
+        assertTrue(report.getMismatches().isEmpty(), () -> "Divergências: " + report.getMismatches());
+    }
+
+    private BigDecimal baseBalance(Long walletId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM wallets WHERE id = ?", BigDecimal.class, walletId);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.TransactionPageDTO;
+import com.example.walletservice.dto.TransactionSearchCriteria;
+import com.example.walletservice.dto.TransactionSortOrder;
+import com.example.walletservice.entity.TransactionType;
+import com.example.walletservice.service.LedgerArchiveService;
+import com.example.walletservice.service.TransactionService;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction-search-test",
+        "wallet.archive.cron=-"
+})
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerArchiveService ledgerArchiveService;
+
+    private final String ownerId = "search-owner";
+
+    @BeforeAll
+    void setUp() {
+        walletService.createWallet(ownerId);
+        walletService.createWallet("search-counterparty");
+        walletService.deposit(ownerId, new BigDecimal("500.00"), "Salário março");
+        walletService.withdraw(ownerId, new BigDecimal("40.00"), "Mercado");
+        // Os três primeiros lançamentos vão para o arquivo frio
+        ledgerArchiveService.archiveOlderThan(LocalDateTime.now().plusSeconds(1));
+        walletService.transfer(ownerId, "search-counterparty", new BigDecimal("75.00"), "Aluguel 50%");
+        walletService.deposit(ownerId, new BigDecimal("10.00"), "Reembolso mercado");
+        walletService.withdraw(ownerId, new BigDecimal("5.00"), null);
+    }
+
+    @Test
+    void filtersCombineAcrossHotAndArchivedLedger() {
+        TransactionPageDTO byAmount = search(TransactionSearchCriteria.builder()
+                .minAmount(new BigDecimal("40.00"))
+                .maxAmount(new BigDecimal("100.00"))
+                .build(), null, null);
+        assertEquals(List.of(new BigDecimal("-75.00"), new BigDecimal("-40.00")),
+                byAmount.getItems().stream().map(TransactionDTO::getAmount).toList());
+        assertNull(byAmount.getNextCursor());
+
+        TransactionPageDTO byDescription = search(TransactionSearchCriteria.builder()
+                .descriptionContains("MERCADO")
+                .types(Set.of(TransactionType.DEPOSIT))
+                .build(), null, null);
+        assertEquals(1, byDescription.getItems().size());
+        assertEquals("Reembolso mercado", byDescription.getItems().get(0).getDescription());
+
+        TransactionPageDTO literalPercent = search(TransactionSearchCriteria.builder()
+                .descriptionContains("50%")
+                .build(), null, null);
+        assertEquals(1, literalPercent.getItems().size());
+        assertEquals(TransactionType.TRANSFER_OUT, literalPercent.getItems().get(0).getType());
+        assertNotNull(literalPercent.getItems().get(0).getRelatedWalletId());
+    }
+
+    @Test
+    void keysetPagesVisitEveryEntryOnceInOrder() {
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .sort(TransactionSortOrder.LARGEST_FIRST)
+                .build();
+
+        List<BigDecimal> amounts = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPageDTO page = search(criteria, cursor, 2);
+            page.getItems().forEach(item -> amounts.add(item.getAmount()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(new BigDecimal("500.00"), new BigDecimal("10.00"), new BigDecimal("-5.00"),
+                new BigDecimal("-40.00"), new BigDecimal("-75.00")), amounts);
+    }
+
+    @Test
+    void singleRowTransferIsListedForBothWallets() {
+        walletService.createWallet("search-payer");
+        walletService.createWallet("search-payee");
+        walletService.deposit("search-payer", new BigDecimal("20.00"), null);
+        walletService.transfer("search-payer", "search-payee", new BigDecimal("12.50"), null);
+
+        List<TransactionDTO> payerHistory = transactionService.getTransactionsByOwnerId("search-payer");
+        assertEquals(TransactionType.TRANSFER_OUT, payerHistory.get(0).getType());
+        assertEquals(new BigDecimal("-12.50"), payerHistory.get(0).getAmount());
+        assertEquals("Transferência para search-payee", payerHistory.get(0).getDescription());
+
+        TransactionPageDTO received = transactionService.searchTransactions("search-payee", TransactionSearchCriteria.builder()
+                .types(Set.of(TransactionType.TRANSFER_IN))
+                .build(), null, null);
+        assertEquals(1, received.getItems().size());
+        TransactionDTO incoming = received.getItems().get(0);
+        assertEquals(payerHistory.get(0).getId(), incoming.getId());
+        assertEquals(new BigDecimal("12.50"), incoming.getAmount());
+        assertEquals(0, new BigDecimal("12.50").compareTo(incoming.getBalanceAfterTransaction()));
+        assertEquals("Transferência de search-payer", incoming.getDescription());
+        assertEquals(incoming, transactionService.getTransactionsByOwnerId("search-payee").get(0));
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        TransactionPageDTO first = search(TransactionSearchCriteria.builder().build(), null, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> search(TransactionSearchCriteria.builder()
+                .sort(TransactionSortOrder.OLDEST_FIRST)
+                .build(), first.getNextCursor(), 1));
+    }
+
+    private TransactionPageDTO search(TransactionSearchCriteria criteria, String cursor, Integer limit) {
+        return transactionService.searchTransactions(ownerId, criteria, cursor, limit);
+    }
+}
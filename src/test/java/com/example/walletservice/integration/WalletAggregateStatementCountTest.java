@@ -0,0 +1,73 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.service.WalletService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que as operações de escrita tocam só a carteira e os novos lançamentos: sem carregar
+ * o histórico, sem buscas extras por associações.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:aggregate-test",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "wallet.archive.cron=-",
+        "wallet.stats.enabled=false"
+})
+@DirtiesContext
+class WalletAggregateStatementCountTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void depositExecutesFixedStatements() {
+        walletService.createWallet("aggregate-deposit");
+        walletService.deposit("aggregate-deposit", new BigDecimal("10.00"), null);
+        statistics.clear();
+
+        walletService.deposit("aggregate-deposit", new BigDecimal("10.00"), null);
+
+        // SELECT da carteira, INSERT do lançamento e UPDATE da carteira
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    void transferExecutesFixedStatements() {
+        walletService.createWallet("aggregate-source");
+        walletService.createWallet("aggregate-target");
+        walletService.deposit("aggregate-source", new BigDecimal("100.00"), null);
+        statistics.clear();
+
+        walletService.transfer("aggregate-source", "aggregate-target", new BigDecimal("10.00"), null);
+
+        // SELECT e UPDATE para cada carteira, e um único INSERT do lançamento
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+}
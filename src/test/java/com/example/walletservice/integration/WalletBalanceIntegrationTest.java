@@ -0,0 +1,74 @@
+package com.example.walletservice.integration;
+
+import com.example.walletservice.dto.WalletBalanceDTO;
+import com.example.walletservice.dto.WalletBalancesDTO;
+import com.example.walletservice.service.LedgerArchiveService;
+import com.example.walletservice.service.WalletBalanceService;
+import com.example.walletservice.service.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:wallet-balances-test",
+        "wallet.archive.cron=-"
+})
+@DirtiesContext
+class WalletBalanceIntegrationTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletBalanceService walletBalanceService;
+
+    @Autowired
+    private LedgerArchiveService ledgerArchiveService;
+
+    @Test
+    void currentAndHistoricalBalancesForManyWallets() throws InterruptedException {
+        walletService.createWallet("batch-a");
+        walletService.createWallet("batch-b");
+        walletService.deposit("batch-a", new BigDecimal("100.00"), null);
+        walletService.deposit("batch-b", new BigDecimal("40.00"), null);
+        // O saldo de batch-b até este momento só existirá no arquivo frio
+        ledgerArchiveService.archiveOlderThan(LocalDateTime.now().plusSeconds(1));
+        Thread.sleep(5);
+        LocalDateTime asOf = LocalDateTime.now();
+        Thread.sleep(5);
+
+        walletService.deposit("batch-a", new BigDecimal("5.00"), null);
+        walletService.createWallet("batch-c");
+        walletService.deposit("batch-c", new BigDecimal("7.00"), null);
+
+        List<String> ownerIds = List.of("batch-c", "batch-missing", "batch-a", "batch-b", "batch-a");
+
+        WalletBalancesDTO current = walletBalanceService.getBalances(ownerIds, null);
+        assertEquals(List.of("batch-c", "batch-a", "batch-b"), owners(current));
+        assertEquals(List.of("batch-missing"), current.getNotFound());
+        assertBalances(current, "7.00", "105.00", "40.00");
+
+        WalletBalancesDTO historical = walletBalanceService.getBalances(ownerIds, asOf);
+        assertEquals(asOf, historical.getAsOf());
+        assertEquals(List.of("batch-c", "batch-a", "batch-b"), owners(historical));
+        assertBalances(historical, "0", "100.00", "40.00");
+    }
+
+    private List<String> owners(WalletBalancesDTO result) {
+        return result.getBalances().stream().map(WalletBalanceDTO::getOwnerId).toList();
+    }
+
+    private void assertBalances(WalletBalancesDTO result, String... expected) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(0, new BigDecimal(expected[i]).compareTo(result.getBalances().get(i).getBalance()),
+                    "Saldo de " + result.getBalances().get(i).getOwnerId());
+        }
+    }
+}
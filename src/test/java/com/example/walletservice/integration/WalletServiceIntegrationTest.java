@@ -1,23 +1,33 @@
 package com.example.walletservice.integration;
 
+import com.example.walletservice.dto.TransactionDTO;
 import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.TransactionType;
 import com.example.walletservice.entity.Wallet;
 import com.example.walletservice.repository.TransactionRepository;
 import com.example.walletservice.repository.WalletRepository;
 import com.example.walletservice.service.WalletService;
+import com.example.walletservice.support.SqlCountingTestConfiguration;
+import com.example.walletservice.support.SqlRecorder;
+import com.example.walletservice.support.SqlRecording;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
+@Import(SqlCountingTestConfiguration.class)
 @Transactional
 @DirtiesContext // Adicionado para reiniciar o contexto após cada teste
 class WalletServiceIntegrationTest {
@@ -31,6 +41,9 @@ class WalletServiceIntegrationTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final String sourceOwnerId = "integration-test-source";
     private final String targetOwnerId = "integration-test-target";
 
@@ -54,19 +67,38 @@ class WalletServiceIntegrationTest {
         assertEquals(BigDecimal.ZERO, sourceWallet.getBalance());
         assertEquals(BigDecimal.ZERO, targetWallet.getBalance());
         
-        // 2. Deposit funds
-        WalletDTO updatedSourceWallet = walletService.deposit(sourceOwnerId, BigDecimal.valueOf(100), "Initial deposit");
+        // 2. Deposit funds (o flush atribui o UPDATE da carteira à própria operação)
+        WalletDTO updatedSourceWallet;
+        try (SqlRecording sql = SqlRecorder.start()) {
+            updatedSourceWallet = walletService.deposit(sourceOwnerId, BigDecimal.valueOf(100), "Initial deposit");
+            entityManager.flush();
+            sql.assertSelects(1).assertInserts(1).assertUpdates(1).assertTotal(3);
+        }
         assertEquals(0, BigDecimal.valueOf(100).compareTo(updatedSourceWallet.getBalance()));
         
         // 3. Transfer funds
-        WalletDTO afterTransferSourceWallet = walletService.transfer(sourceOwnerId, targetOwnerId, BigDecimal.valueOf(30), "Test transfer");
-        WalletDTO afterTransferTargetWallet = walletService.getWalletByOwnerId(targetOwnerId);
+        WalletDTO afterTransferSourceWallet;
+        try (SqlRecording sql = SqlRecorder.start()) {
+            afterTransferSourceWallet = walletService.transfer(sourceOwnerId, targetOwnerId, BigDecimal.valueOf(30), "Test transfer");
+            entityManager.flush();
+            sql.assertSelects(2).assertMaxSelectRepeats(2).assertInserts(1).assertUpdates(2).assertTotal(5);
+        }
+        WalletDTO afterTransferTargetWallet;
+        try (SqlRecording sql = SqlRecorder.start()) {
+            afterTransferTargetWallet = walletService.getWalletByOwnerId(targetOwnerId);
+            sql.assertSelects(1).assertTotal(1);
+        }
         
         assertEquals(0, BigDecimal.valueOf(70).compareTo(afterTransferSourceWallet.getBalance()));
         assertEquals(0, BigDecimal.valueOf(30).compareTo(afterTransferTargetWallet.getBalance()));
         
         // 4. Withdraw funds
-        WalletDTO afterWithdrawSourceWallet = walletService.withdraw(sourceOwnerId, BigDecimal.valueOf(20), "Test withdrawal");
+        WalletDTO afterWithdrawSourceWallet;
+        try (SqlRecording sql = SqlRecorder.start()) {
+            afterWithdrawSourceWallet = walletService.withdraw(sourceOwnerId, BigDecimal.valueOf(20), "Test withdrawal");
+            entityManager.flush();
+            sql.assertSelects(1).assertInserts(1).assertUpdates(1).assertTotal(3);
+        }
         assertEquals(0, BigDecimal.valueOf(50).compareTo(afterWithdrawSourceWallet.getBalance()));
         
         // 5. Verify transaction count
@@ -76,7 +108,13 @@ class WalletServiceIntegrationTest {
         // Source wallet should have 3 transactions: deposit, transfer out, withdrawal
         assertEquals(3, transactionRepository.findByWalletIdOrderByTimestampDesc(sourceWalletEntity.getId()).size());
         
-        // Target wallet should have 1 transaction: transfer in
-        assertEquals(1, transactionRepository.findByWalletIdOrderByTimestampDesc(targetWalletEntity.getId()).size());
+        // The transfer is a single row owned by the source; the target sees it as a transfer in
+        assertEquals(0, transactionRepository.findByWalletIdOrderByTimestampDesc(targetWalletEntity.getId()).size());
+        List<TransactionDTO> targetHistory = transactionRepository.findDTOsByWalletId(targetWalletEntity.getId());
+        assertEquals(1, targetHistory.size());
+        assertEquals(TransactionType.TRANSFER_IN, targetHistory.get(0).getType());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(targetHistory.get(0).getAmount()));
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(targetHistory.get(0).getBalanceAfterTransaction()));
+        assertEquals(sourceWalletEntity.getId(), targetHistory.get(0).getRelatedWalletId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.walletservice.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    private static final int OWNERS = 50_000;
+    private static final int PROBES = 100_000;
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // When
+        for (int i = 0; i < OWNERS; i++) {
+            filter.add("owner-" + i);
+        }
+
+        // Then
+        for (int i = 0; i < OWNERS; i++) {
+            assertTrue(filter.mightContain("owner-" + i), "Falso negativo para owner-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysWithinTargetWhileGrowing() {
+        // Given: capacidade inicial 50x menor que o total, forçando vários estágios
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < OWNERS; i++) {
+            filter.add("owner-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then: a soma das taxas dos estágios converge para 1%; 20% de margem para a amostragem
+        assertTrue(falsePositives < PROBES * 0.012, "Falsos positivos: " + falsePositives);
+        assertTrue(filter.bitSize() > 1_000 * 8, "O filtro deveria ter crescido");
+    }
+
+    @Test
+    void duplicatesAreNotCountedTwice() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+        // When
+        filter.add("owner");
+        filter.add("owner");
+
+        // Then
+        assertEquals(1, filter.size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.walletservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletETagTest {
+
+    @Test
+    void plainWalletsAreIdentifiedByVersionAlone() {
+        assertEquals("\"7\"", WalletETag.of(7L, 0, new BigDecimal("10.00")));
+        assertEquals(WalletETag.of(7L, 0, new BigDecimal("10.00")), WalletETag.of(7L, 0, new BigDecimal("99.00")));
+        assertNull(WalletETag.of(null, 0, BigDecimal.ONE));
+    }
+
+    @Test
+    void stripedWalletsChangeWithEveryCredit() {
+        // Créditos em faixas não incrementam a versão, só o saldo total
+        String before = WalletETag.of(3L, 4, new BigDecimal("10.00"));
+        String after = WalletETag.of(3L, 4, new BigDecimal("10.50"));
+
+        assertNotEquals(before, after);
+        assertEquals(before, WalletETag.of(3L, 4, new BigDecimal("10.0")));
+    }
+
+    @Test
+    void ifMatchUsesStrongComparisonAndIfNoneMatchWeak() {
+        String current = WalletETag.of(5L, 0, BigDecimal.ZERO);
+
+        assertTrue(WalletETag.matches("\"5\"", current, true));
+        assertTrue(WalletETag.matches("\"4\", \"5\"", current, true));
+        assertTrue(WalletETag.matches("*", current, true));
+        assertFalse(WalletETag.matches("W/\"5\"", current, true));
+        assertTrue(WalletETag.matches("W/\"5\"", current, false));
+        assertFalse(WalletETag.matches("\"4\"", current, false));
+        assertFalse(WalletETag.matches(null, current, false));
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -41,6 +42,9 @@ class WalletServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private WalletService walletService;
     
@@ -94,7 +98,7 @@ class WalletServiceTest {
 
     @Test
     void getWalletBalance_Success() {
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findBalanceByOwnerId(ownerId)).thenReturn(Optional.of(testWallet.getBalance()));
 
         BigDecimal balance = walletService.getWalletBalance(ownerId);
 
@@ -103,7 +107,7 @@ class WalletServiceTest {
 
     @Test
     void getWalletBalance_WalletNotFound() {
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.empty());
+        when(walletRepository.findBalanceByOwnerId(ownerId)).thenReturn(Optional.empty());
 
         assertThrows(WalletNotFoundException.class, () -> walletService.getWalletBalance(ownerId));
     }
@@ -113,7 +117,11 @@ class WalletServiceTest {
         LocalDateTime timestamp = LocalDateTime.now().minusDays(1);
         BigDecimal historicalBalance = BigDecimal.valueOf(50);
         
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findDTOByOwnerId(ownerId)).thenReturn(Optional.of(WalletDTO.builder()
+                .id(testWallet.getId())
+                .ownerId(ownerId)
+                .stripes(0)
+                .build()));
         when(transactionRepository.calculateBalanceAtTime(eq(1L), eq(timestamp)))
                 .thenReturn(historicalBalance);
 
@@ -125,7 +133,7 @@ class WalletServiceTest {
     @Test
     void getHistoricalBalance_WalletNotFound() {
         LocalDateTime timestamp = LocalDateTime.now().minusDays(1);
-        when(walletRepository.findByOwnerId(ownerId)).thenReturn(Optional.empty());
+        when(walletRepository.findDTOByOwnerId(ownerId)).thenReturn(Optional.empty());
 
         assertThrows(WalletNotFoundException.class, 
                 () -> walletService.getHistoricalBalance(ownerId, timestamp));
@@ -221,7 +229,7 @@ class WalletServiceTest {
 
         assertEquals(BigDecimal.valueOf(50), testWallet.getBalance());
         assertEquals(BigDecimal.valueOf(70), recipientWallet.getBalance());
-        verify(transactionRepository, times(2)).save(any());
+        verify(transactionRepository, times(1)).save(any());
         verify(walletRepository, times(2)).save(any(Wallet.class));
     }
 
@@ -272,4 +280,13 @@ class WalletServiceTest {
         verify(walletRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
+
+    @Test
+    void transfer_NonPositiveAmount() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> walletService.transfer(ownerId, "user456", BigDecimal.ZERO, null));
+
+        assertEquals("O valor da transferência deve ser maior que zero", exception.getMessage());
+        verify(walletRepository, never()).findByOwnerId(any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.walletservice.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void sameKeyAlwaysMapsToSameShard() {
+        // Given
+        ConsistentHashRing ring = ringWith("shard-a", "shard-b", "shard-c");
+
+        // When
+        String first = ring.shardFor("owner-42");
+        String second = ring.shardFor("owner-42");
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void keysAreSpreadAcrossShards() {
+        // Given
+        ConsistentHashRing ring = ringWith("shard-a", "shard-b", "shard-c");
+
+        // When
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.shardFor("owner-" + i), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 5, "Distribuição desbalanceada: " + counts));
+    }
+
+    @Test
+    void addingShardOnlyMovesKeysToNewShard() {
+        // Given
+        ConsistentHashRing ring = ringWith("shard-a", "shard-b", "shard-c");
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            before.put("owner-" + i, ring.shardFor("owner-" + i));
+        }
+
+        // When
+        ring.addShard("shard-d");
+
+        // Then
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String after = ring.shardFor(entry.getKey());
+            if (!after.equals(entry.getValue())) {
+                assertEquals("shard-d", after);
+                moved++;
+            }
+        }
+        assertTrue(moved < KEYS / 2, "Chaves movidas demais: " + moved);
+    }
+
+    @Test
+    void emptyRingIsRejected() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(16);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> ring.shardFor("owner-1"));
+    }
+
+    private ConsistentHashRing ringWith(String... shards) {
+        ConsistentHashRing ring = new ConsistentHashRing(160);
+        for (String shard : shards) {
+            ring.addShard(shard);
+        }
+        return ring;
+    }
+}
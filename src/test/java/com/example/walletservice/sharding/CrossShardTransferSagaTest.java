@@ -0,0 +1,87 @@
+package com.example.walletservice.sharding;
+
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.exception.WalletNotFoundException;
+import com.example.walletservice.repository.TransferSagaRepository;
+import com.example.walletservice.service.WalletService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CrossShardTransferSagaTest {
+
+    @Mock
+    private ConsistentHashRing shardRing;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private TransferSagaSteps transferSagaSteps;
+
+    @Mock
+    private TransferSagaRepository transferSagaRepository;
+
+    private CrossShardTransferSaga saga;
+
+    private final String sourceOwnerId = "saga-source";
+    private final String targetOwnerId = "saga-target";
+
+    @BeforeEach
+    void setUp() {
+        saga = new CrossShardTransferSaga(shardRing, walletService, transferSagaSteps, transferSagaRepository,
+                new ShardingProperties(), new SimpleMeterRegistry());
+
+        when(walletService.getWalletByOwnerId(targetOwnerId))
+                .thenReturn(WalletDTO.builder().id(2L).ownerId(targetOwnerId).balance(BigDecimal.ZERO).build());
+        when(transferSagaSteps.debit(eq(sourceOwnerId), any()))
+                .thenReturn(WalletDTO.builder().id(1L).ownerId(sourceOwnerId).balance(BigDecimal.valueOf(70)).build());
+    }
+
+    @Test
+    void transfer_Success() {
+        WalletDTO result = saga.transfer(sourceOwnerId, targetOwnerId, BigDecimal.valueOf(30), null);
+
+        assertEquals(BigDecimal.valueOf(70), result.getBalance());
+        verify(transferSagaSteps).credit(eq(targetOwnerId), any());
+        verify(transferSagaSteps).complete(eq(sourceOwnerId), anyString());
+        verify(transferSagaSteps, never()).compensate(anyString(), anyString());
+    }
+
+    @Test
+    void transfer_CreditRejectedIsCompensated() {
+        when(transferSagaSteps.credit(eq(targetOwnerId), any()))
+                .thenThrow(new WalletNotFoundException("Carteira não encontrada para o usuário: " + targetOwnerId));
+
+        assertThrows(WalletNotFoundException.class,
+                () -> saga.transfer(sourceOwnerId, targetOwnerId, BigDecimal.valueOf(30), null));
+
+        verify(transferSagaSteps).compensate(eq(sourceOwnerId), anyString());
+        verify(transferSagaSteps, never()).complete(anyString(), anyString());
+    }
+
+    @Test
+    void transfer_AmbiguousCreditFailureStaysPending() {
+        when(transferSagaSteps.credit(eq(targetOwnerId), any()))
+                .thenThrow(new DataAccessResourceFailureException("timeout"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> saga.transfer(sourceOwnerId, targetOwnerId, BigDecimal.valueOf(30), null));
+
+        verify(transferSagaSteps, never()).compensate(anyString(), anyString());
+        verify(transferSagaSteps, never()).complete(anyString(), anyString());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.walletservice.stream;
+
+import com.example.walletservice.dto.TransactionDTO;
+import com.example.walletservice.dto.WalletDTO;
+import com.example.walletservice.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletSubscriberTest {
+
+    private final WalletSubscriber subscriber = new WalletSubscriber("owner", new SseEmitter(), 2);
+
+    @Test
+    void rejectsUpdatesBeyondBuffer() {
+        assertTrue(subscriber.offer(wallet("10.00"), transaction("10.00")));
+        assertTrue(subscriber.offer(wallet("20.00"), transaction("10.00")));
+        assertFalse(subscriber.offer(wallet("30.00"), transaction("10.00")));
+    }
+
+    @Test
+    void flushSendsPendingUpdatesOnce() throws IOException {
+        subscriber.offer(wallet("10.00"), transaction("10.00"));
+        subscriber.offer(wallet("20.00"), transaction("10.00"));
+
+        assertTrue(subscriber.hasPending());
+        assertTrue(subscriber.flush());
+        assertFalse(subscriber.hasPending());
+        assertFalse(subscriber.flush());
+
+        assertTrue(subscriber.offer(wallet("30.00"), transaction("10.00")));
+        assertTrue(subscriber.offer(wallet("40.00"), transaction("10.00")));
+    }
+
+    @Test
+    void walletOnlyUpdatesAreCoalescedWithoutUsingBuffer() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(subscriber.offer(wallet(i + ".00"), null));
+        }
+        assertTrue(subscriber.hasPending());
+    }
+
+    @Test
+    void heartbeatIsPendingUntilFlushed() throws IOException {
+        assertFalse(subscriber.hasPending());
+        subscriber.requestHeartbeat();
+        assertTrue(subscriber.hasPending());
+        assertTrue(subscriber.flush());
+        assertFalse(subscriber.hasPending());
+    }
+
+    private WalletDTO wallet(String balance) {
+        return WalletDTO.builder().id(1L).ownerId("owner").balance(new BigDecimal(balance)).build();
+    }
+
+    private TransactionDTO transaction(String amount) {
+        return TransactionDTO.builder().walletId(1L).amount(new BigDecimal(amount)).type(TransactionType.DEPOSIT).build();
+    }
+}
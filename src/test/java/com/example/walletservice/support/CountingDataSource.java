@@ -0,0 +1,109 @@
+package com.example.walletservice.support;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envolve um {@link DataSource} em proxies JDK que repassam ao {@link SqlRecorder} cada
+ * statement executado pelas conexões obtidas dele. Nada é alterado no comportamento do driver.
+ */
+public final class CountingDataSource {
+
+    private CountingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target) {
+        List<Class<?>> interfaces = new ArrayList<>(List.of(DataSource.class));
+        if (target instanceof Closeable) {
+            interfaces.add(Closeable.class);
+        }
+        return (DataSource) Proxy.newProxyInstance(
+                CountingDataSource.class.getClassLoader(),
+                interfaces.toArray(Class<?>[]::new),
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Connection connection) {
+                        return wrapConnection(connection);
+                    }
+                    return result;
+                });
+    }
+
+    private static Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                CountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return wrapStatement(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement wrapStatement(Statement target, String preparedSql) {
+        Class<?>[] interfaces = target instanceof CallableStatement
+                ? new Class<?>[]{CallableStatement.class}
+                : target instanceof PreparedStatement
+                ? new Class<?>[]{PreparedStatement.class}
+                : new Class<?>[]{Statement.class};
+        return (Statement) Proxy.newProxyInstance(
+                CountingDataSource.class.getClassLoader(),
+                interfaces,
+                new StatementHandler(target, preparedSql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final List<String> batch = new ArrayList<>();
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batch.add(args != null && args.length == 1 ? (String) args[0] : preparedSql);
+            } else if (name.equals("clearBatch")) {
+                batch.clear();
+            }
+
+            Object result = CountingDataSource.invoke(target, method, args);
+
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                if (!batch.isEmpty()) {
+                    SqlRecorder.record(batch.get(0), batch.size());
+                }
+                batch.clear();
+            } else if (name.startsWith("execute")) {
+                SqlRecorder.record(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql, 1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.walletservice.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Importar em testes que usam {@link SqlRecorder}: envolve o {@code dataSource} da aplicação
+ * com o {@link CountingDataSource}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlCountingTestConfiguration {
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return CountingDataSource.wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
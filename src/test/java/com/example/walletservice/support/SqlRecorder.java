@@ -0,0 +1,30 @@
+package com.example.walletservice.support;
+
+/**
+ * Registro dos statements executados pela thread atual. Só grava enquanto houver uma
+ * {@link SqlRecording} aberta na thread, de modo que jobs em segundo plano não interferem.
+ */
+public final class SqlRecorder {
+
+    private static final ThreadLocal<SqlRecording> CURRENT = new ThreadLocal<>();
+
+    private SqlRecorder() {
+    }
+
+    /**
+     * Inicia a gravação na thread atual
+     * @return Gravação a ser fechada ao final do trecho medido
+     */
+    public static SqlRecording start() {
+        SqlRecording recording = new SqlRecording(CURRENT::remove);
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static void record(String sql, int batchSize) {
+        SqlRecording recording = CURRENT.get();
+        if (recording != null && sql != null) {
+            recording.add(sql, batchSize);
+        }
+    }
+}
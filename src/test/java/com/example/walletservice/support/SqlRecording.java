@@ -0,0 +1,146 @@
+package com.example.walletservice.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statements executados durante um trecho de teste. Cada execução conta como uma ida ao banco:
+ * um {@code executeBatch} com N comandos conta uma vez, com tamanho de lote N.
+ */
+public class SqlRecording implements AutoCloseable {
+
+    public enum Type { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    public record Execution(Type type, String sql, int batchSize) {
+    }
+
+    private final Runnable onClose;
+    private final List<Execution> executions = Collections.synchronizedList(new ArrayList<>());
+
+    SqlRecording(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    void add(String sql, int batchSize) {
+        executions.add(new Execution(classify(sql), sql, batchSize));
+    }
+
+    public List<Execution> getExecutions() {
+        return List.copyOf(executions);
+    }
+
+    public long count(Type type) {
+        return executions.stream().filter(execution -> execution.type() == type).count();
+    }
+
+    public int total() {
+        return executions.size();
+    }
+
+    /**
+     * Tamanhos dos lotes JDBC executados, na ordem em que ocorreram
+     */
+    public List<Integer> batchSizes(Type type) {
+        return executions.stream()
+                .filter(execution -> execution.type() == type && execution.batchSize() > 1)
+                .map(Execution::batchSize)
+                .toList();
+    }
+
+    /**
+     * Maior número de execuções de um mesmo SELECT; acima do esperado indica N+1
+     */
+    public int maxSelectRepeats() {
+        Map<String, Integer> repeats = new LinkedHashMap<>();
+        executions.stream()
+                .filter(execution -> execution.type() == Type.SELECT)
+                .forEach(execution -> repeats.merge(execution.sql(), 1, Integer::sum));
+        return repeats.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    public SqlRecording assertSelects(int expected) {
+        return assertCount(Type.SELECT, expected);
+    }
+
+    public SqlRecording assertInserts(int expected) {
+        return assertCount(Type.INSERT, expected);
+    }
+
+    public SqlRecording assertUpdates(int expected) {
+        return assertCount(Type.UPDATE, expected);
+    }
+
+    public SqlRecording assertDeletes(int expected) {
+        return assertCount(Type.DELETE, expected);
+    }
+
+    public SqlRecording assertTotal(int expected) {
+        assertEquals(expected, total(), () -> "Statements executados: " + describe());
+        return this;
+    }
+
+    public SqlRecording assertNoRepeatedSelects() {
+        return assertMaxSelectRepeats(1);
+    }
+
+    public SqlRecording assertMaxSelectRepeats(int expected) {
+        assertEquals(expected, maxSelectRepeats(), () -> "SELECTs repetidos: " + describe());
+        return this;
+    }
+
+    public SqlRecording assertBatchSizes(Type type, Integer... expected) {
+        assertEquals(List.of(expected), batchSizes(type), () -> "Lotes de " + type + ": " + describe());
+        return this;
+    }
+
+    /**
+     * Descarta o que foi gravado até aqui, mantendo a gravação aberta
+     */
+    public void reset() {
+        executions.clear();
+    }
+
+    @Override
+    public void close() {
+        onClose.run();
+    }
+
+    private SqlRecording assertCount(Type type, int expected) {
+        assertEquals(expected, count(type), () -> type + " executados: " + describe());
+        return this;
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder();
+        for (Execution execution : getExecutions()) {
+            description.append(System.lineSeparator()).append("  ").append(execution.type());
+            if (execution.batchSize() > 1) {
+                description.append(" [lote ").append(execution.batchSize()).append(']');
+            }
+            description.append(": ").append(execution.sql().replaceAll("\\s+", " ").trim());
+        }
+        return description.toString();
+    }
+
+    private static Type classify(String sql) {
+        String statement = sql.stripLeading();
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            statement = end < 0 ? "" : statement.substring(end + 2).stripLeading();
+        }
+        String keyword = statement.split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "SELECT" -> Type.SELECT;
+            case "INSERT" -> Type.INSERT;
+            case "UPDATE" -> Type.UPDATE;
+            case "DELETE" -> Type.DELETE;
+            default -> Type.OTHER;
+        };
+    }
+}